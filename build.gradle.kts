@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -23,6 +24,10 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    // reactive 프로파일(Netty + ReactivePointController), 기본은 서블릿(Tomcat)으로 실행된다.
+    implementation(libs.spring.boot.starter.webflux)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -30,12 +35,21 @@ dependencies {
 }
 
 // about source and compilation
+// -PjavaVersion=21 : Java 21 toolchain 으로 컴파일/테스트 (가상 스레드 모드, application.yml 의 virtual 프로파일)
+val javaVersion = findProperty("javaVersion")?.toString()?.toInt()
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    if (javaVersion != null) {
+        toolchain {
+            languageVersion.set(JavaLanguageVersion.of(javaVersion))
+        }
+    } else {
+        sourceCompatibility = JavaVersion.VERSION_17
+    }
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    // Java 21 클래스 파일은 0.8.11 부터 지원
+    toolVersion = if ((javaVersion ?: 17) >= 21) "0.8.11" else "0.8.7"
 }
 
 // bundling tasks
@@ -45,8 +59,21 @@ tasks.getByName("bootJar") {
 tasks.getByName("jar") {
     enabled = false
 }
+// benchmark tasks (src/jmh)
+// ./gradlew jmh                                    : 전체 벤치마크
+// ./gradlew jmh -PjmhIncludes=PointWriteBenchmark  : 일부 벤치마크만 실행
+jmh {
+    jmhVersion.set(libs.versions.jmh.core.get())
+    findProperty("jmhIncludes")?.let { includes.add(it.toString()) }
+    resultFormat.set("JSON")
+}
+
 // test tasks
 tasks.test {
     ignoreFailures = true
     useJUnitPlatform()
+    if ((javaVersion ?: 17) >= 21) {
+        // 가상 스레드가 캐리어 스레드를 고정(pin)하는 지점을 출력
+        jvmArgs("-Djdk.tracePinnedThreads=short")
+    }
 }
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.database;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WalUserPointStore 벤치마크
+ * - insertOrUpdate : 여러 스레드가 동시에 잔고를 바꿀 때 응답(디스크 반영)까지의 지연 분포 (SampleTime 의 p99 확인)
+ * - recover : records 건의 WAL 을 replay 하는 재시작 시간 (스냅샷 없음, 최악의 경우)
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class WalUserPointStoreBenchmark {
+
+    @Param({"1", "2"})
+    public long flushIntervalMillis;
+
+    @Param({"512"})
+    public int flushBatchSize;
+
+    private Path directory;
+    private WalUserPointStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("point-balance-bench");
+        store = new WalUserPointStore(directory.toString(), flushBatchSize, flushIntervalMillis, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Threads(16)
+    public Object insertOrUpdate() {
+        long userId = ThreadLocalRandom.current().nextLong(1, 100_000);
+        return store.insertOrUpdate(userId, ThreadLocalRandom.current().nextLong(0, 1000));
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoveryState {
+        @Param({"1000000"})
+        public int records;
+
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("point-balance-recovery-bench");
+            // 응답 대기 없이 WAL 에 바로 쌓아 시드 데이터를 빠르게 만든다. (close 시 남은 레코드까지 반영)
+            try (BalanceWal wal = new BalanceWal(directory, WalUserPointStore.ChannelOpener.DEFAULT, 0, 4096, 1, (userId, point, updateMillis) -> {})) {
+                for (int i = 0; i < records; i++) {
+                    wal.append(i % 100_000 + 1, i, i, () -> {});
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object recover(RecoveryState state) throws IOException {
+        WalUserPointStore recovered = new WalUserPointStore(state.directory.toString(), flushBatchSize, flushIntervalMillis, 0);
+        recovered.close();
+        return recovered;
+    }
+}
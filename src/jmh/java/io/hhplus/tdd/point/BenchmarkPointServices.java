@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.UserPointStore;
+
+/**
+ * 벤치마크용 PointService 조립 (스프링 컨텍스트 없이 설정값만 바꿔 구성)
+ */
+record BenchmarkPointServices(
+        PointService pointService,
+        PointCommandExecutor pointCommandExecutor
+) {
+
+    static BenchmarkPointServices create(UserPointStore userPointStore, PointHistoryStore pointHistoryStore,
+                                         String mode, int cacheSize) {
+        return create(userPointStore, pointHistoryStore, mode, cacheSize, 0);
+    }
+
+    static BenchmarkPointServices create(UserPointStore userPointStore, PointHistoryStore pointHistoryStore,
+                                         String mode, int cacheSize, int lockStripes) {
+        PointMetrics pointMetrics = PointMetrics.noop();
+        UserLockRegistry userLockRegistry = new UserLockRegistry(lockStripes);
+        UserPointCache userPointCache = new UserPointCache(cacheSize);
+        PointHistoryOutbox pointHistoryOutbox = new PointHistoryOutbox(pointHistoryStore);
+        PointSummaryAggregator pointSummaryAggregator = new PointSummaryAggregator(pointHistoryStore);
+        PointReservationRegistry pointReservationRegistry = new PointReservationRegistry(100);
+        PointPolicyEngine pointPolicyEngine = new PointPolicyEngine(PointPolicyRules.DEFAULT);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointStore, pointHistoryOutbox, userPointCache, pointSummaryAggregator, pointReservationRegistry, pointPolicyEngine, pointMetrics);
+        PointCommandExecutor pointCommandExecutor = switch (mode) {
+            case "lock" -> new LockPointCommandExecutor(userLockRegistry, pointCommandProcessor, pointMetrics);
+            case "batch" -> new GroupCommitPointCommandExecutor(userLockRegistry, pointCommandProcessor, pointMetrics, 100);
+            case "actor" -> new MailboxPointCommandExecutor(pointCommandProcessor, userLockRegistry, pointMetrics, 8);
+            case "optimistic" -> new OptimisticPointCommandExecutor(userPointStore, userLockRegistry, pointCommandProcessor, pointMetrics, 4, 1000);
+            default -> throw new IllegalArgumentException("알 수 없는 실행 방식입니다. " + mode);
+        };
+        PointService pointService = new PointService(userPointStore, pointHistoryStore, new PointValidation(),
+                pointCommandExecutor, userPointCache, pointHistoryOutbox, pointSummaryAggregator, new PointIdempotencyCache(10_000, 60_000), pointMetrics);
+        return new BenchmarkPointServices(pointService, pointCommandExecutor);
+    }
+
+    void close() {
+        if (pointCommandExecutor instanceof MailboxPointCommandExecutor mailbox) {
+            mailbox.shutdown();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 벤치마크용 테이블
+ * - throttled : 실제 UserPointTable / PointHistoryTable (지연 포함)
+ * - stub : 같은 동작을 지연 없이 수행하는 테이블 (락, 할당, 스캔 비용만 측정)
+ */
+final class BenchmarkTables {
+
+    private BenchmarkTables() {
+    }
+
+    static UserPointTable userPointTable(String tables) {
+        return switch (tables) {
+            case "throttled" -> new UserPointTable();
+            case "stub" -> new ZeroLatencyUserPointTable();
+            default -> throw new IllegalArgumentException("알 수 없는 테이블 종류입니다. " + tables);
+        };
+    }
+
+    static PointHistoryTable pointHistoryTable(String tables) {
+        return switch (tables) {
+            case "throttled" -> new PointHistoryTable();
+            case "stub" -> new ZeroLatencyPointHistoryTable();
+            default -> throw new IllegalArgumentException("알 수 없는 테이블 종류입니다. " + tables);
+        };
+    }
+
+    static final class ZeroLatencyUserPointTable extends UserPointTable {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    static final class ZeroLatencyPointHistoryTable extends PointHistoryTable {
+        private final List<PointHistory> table = new ArrayList<>();
+        private long cursor = 1;
+
+        @Override
+        public synchronized PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+
+        @Override
+        public synchronized List<PointHistory> selectAllByUserId(long userId) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        }
+    }
+}
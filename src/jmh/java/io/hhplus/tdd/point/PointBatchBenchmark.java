@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일괄 충전/사용(POST /point/batch) 벤치마크
+ * - 10만 건의 요청을 users 명에게 고르게 나눠 한 번에 처리하고, 모두 반영될 때까지의 시간을 측정한다. (목표 : 수 초 이내)
+ * - users = 100000 : 사용자마다 1건 (작업자가 사용자를 나눠 가져가는 비용)
+ * - users = 1000 : 사용자마다 100건 (같은 사용자의 요청을 한 번에 반영하는 비용)
+ * - 플랫폼 스레드 모드의 고정 풀(concurrency)로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PointBatchBenchmark {
+    private static final int ITEMS = 100_000;
+
+    @Param({"100000", "1000"})
+    public int users;
+
+    @Param({"lock", "batch"})
+    public String mode;
+
+    @Param({"64"})
+    public int concurrency;
+
+    private List<PointBatchItem> items;
+    private BenchmarkPointServices services;
+    private PointBatchService pointBatchService;
+
+    // 충전 3, 사용 1 을 번갈아 넣어 잔고가 최대 잔고나 0 에 걸리지 않게 한다.
+    @Setup(Level.Trial)
+    public void setUpItems() {
+        items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            long userId = i % users + 1;
+            items.add((i / users) % 2 == 0
+                    ? new PointBatchItem(userId, TransactionType.CHARGE, 3L)
+                    : new PointBatchItem(userId, TransactionType.USE, 1L));
+        }
+    }
+
+    // 반복마다 빈 저장소로 시작한다.
+    @Setup(Level.Iteration)
+    public void setUpService() {
+        services = BenchmarkPointServices.create(new ConcurrentUserPointStore(), new ConcurrentPointHistoryStore(), mode, 0);
+        pointBatchService = new PointBatchService(new PointValidation(), services.pointCommandExecutor(),
+                PointMetrics.noop(), concurrency, ITEMS, false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        pointBatchService.shutdown();
+        services.close();
+    }
+
+    @Benchmark
+    public int processAll() {
+        return pointBatchService.process(items).size();
+    }
+}
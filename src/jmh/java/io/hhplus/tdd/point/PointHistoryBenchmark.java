@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.MappedPointHistoryStore;
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.TableUserPointStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내역 조회(getPointHistories) 벤치마크
+ * - rows 건의 내역을 users 명에게 고르게 나눠 넣은 뒤 임의의 사용자 내역을 조회한다.
+ * - scan : PointHistoryTable.selectAllByUserId 로 전체 테이블을 훑는다.
+ * - indexed : TablePointHistoryStore (사용자별 세그먼트)
+ * - concurrent : ConcurrentPointHistoryStore
+ * - mapped : MappedPointHistoryStore (임시 디렉터리의 메모리 매핑 파일)
+ * - columnar : ColumnarPointHistoryStore
+ * - getPointHistoriesByTime : 임의의 사용자 내역 중 약 10건이 들어가는 시간 범위를 조회한다.
+ *   scan 은 기본 구현(사용자 내역 전체를 걸러 정렬), 나머지는 시각 인덱스로 범위 안의 내역만 읽는다.
+ * - PointHistoryTable.insert 는 지연이 있으므로 시드 데이터는 지연 없는 테이블로 넣는다. (조회에는 원래 지연이 없다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointHistoryBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    @Param({"scan", "indexed", "concurrent", "mapped", "columnar"})
+    public String store;
+
+    @Param({"1000"})
+    public int users;
+
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PointHistoryStore pointHistoryStore = createStore();
+        for (int i = 0; i < rows; i++) {
+            long userId = i % users + 1;
+            pointHistoryStore.insert(userId, 100L, i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, i);
+        }
+        pointService = BenchmarkPointServices.create(new TableUserPointStore(BenchmarkTables.userPointTable("stub"), PointMetrics.noop()),
+                pointHistoryStore, "lock", 0).pointService();
+    }
+
+    @Benchmark
+    public List<PointHistory> getPointHistories() {
+        long userId = ThreadLocalRandom.current().nextLong(1, users + 1);
+        return pointService.getPointHistories(userId);
+    }
+
+    @Benchmark
+    public List<PointHistory> getPointHistoriesByTime() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = random.nextLong(1, users + 1);
+        // 내역 i 의 updateMillis 는 i 이므로 users * 10 구간에 사용자마다 약 10건이 들어간다.
+        long from = random.nextLong(0, Math.max(1, rows - users * 10L));
+        return pointService.getPointHistoriesByTime(userId, from, from + users * 10L, 100, false);
+    }
+
+    private PointHistoryStore createStore() throws IOException {
+        return switch (store) {
+            case "scan" -> new ScanPointHistoryStore(BenchmarkTables.pointHistoryTable("stub"));
+            case "indexed" -> new TablePointHistoryStore(BenchmarkTables.pointHistoryTable("stub"), PointMetrics.noop());
+            case "concurrent" -> new ConcurrentPointHistoryStore();
+            case "mapped" -> new MappedPointHistoryStore(Files.createTempDirectory("point-history-bench").toString(), 64 << 20, false);
+            case "columnar" -> new ColumnarPointHistoryStore();
+            default -> throw new IllegalArgumentException("알 수 없는 저장소입니다. " + store);
+        };
+    }
+
+    // 인덱스 없이 테이블을 그대로 훑는 저장소 (비교 기준)
+    private record ScanPointHistoryStore(PointHistoryTable pointHistoryTable) implements PointHistoryStore {
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return pointHistoryTable.selectAllByUserId(userId);
+        }
+    }
+}
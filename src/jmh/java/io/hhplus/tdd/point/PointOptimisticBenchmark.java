@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 락(lock)과 낙관적 실행(optimistic) 비교 벤치마크
+ * - compare-and-set 을 지원하는 ConcurrentUserPointStore 로 측정한다.
+ * - users = 1 은 모든 스레드가 한 사용자에 몰리는 높은 경합, users = 4096 은 충돌이 거의 없는 낮은 경합이다.
+ * - 요청마다 임의의 사용자에게 충전 또는 사용을 보내며, 한도/잔고로 거절된 요청도 한 번의 처리로 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointOptimisticBenchmark {
+
+    @Param({"lock", "optimistic"})
+    public String mode;
+
+    @Param({"1", "16", "4096"})
+    public int users;
+
+    private BenchmarkPointServices services;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConcurrentUserPointStore userPointStore = new ConcurrentUserPointStore();
+        for (long userId = 1; userId <= users; userId++) {
+            userPointStore.insertOrUpdate(userId, 500L);
+        }
+        services = BenchmarkPointServices.create(userPointStore, new ConcurrentPointHistoryStore(), mode, 10_000);
+        pointService = services.pointService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        services.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint chargeOrUse() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = random.nextLong(1, users + 1L);
+        try {
+            return random.nextBoolean()
+                    ? pointService.patchPointCharge(userId, 10L, System.currentTimeMillis())
+                    : pointService.patchPointUse(userId, 10L, System.currentTimeMillis());
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.TableUserPointStore;
+import io.hhplus.tdd.database.UserPointTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔고 조회(getUserPoint) 벤치마크
+ * - users 명의 사용자 중 임의의 사용자를 조회한다.
+ * - cacheSize = 0 이면 매 조회가 저장소를 거친다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointReadBenchmark {
+
+    @Param({"stub", "throttled"})
+    public String tables;
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    @Param({"1000"})
+    public int users;
+
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserPointTable userPointTable = BenchmarkTables.userPointTable(tables);
+        TableUserPointStore userPointStore = new TableUserPointStore(userPointTable, PointMetrics.noop());
+        // 시드 데이터는 지연 없는 테이블 여부와 관계없이 미리 넣어 둔다.
+        for (long userId = 1; userId <= users; userId++) {
+            userPointTable.insertOrUpdate(userId, 500L);
+        }
+        pointService = BenchmarkPointServices.create(userPointStore,
+                new TablePointHistoryStore(BenchmarkTables.pointHistoryTable("stub"), PointMetrics.noop()), "lock", cacheSize).pointService();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UserPoint getUserPoint() {
+        long userId = ThreadLocalRandom.current().nextLong(1, users + 1);
+        return pointService.getUserPoint(userId);
+    }
+}
@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 이체(transfer) 벤치마크
+ * - 요청마다 임의의 두 사용자를 골라 서로 반대 방향 이체가 섞이도록 하며, 두 락을 정해진 순서로 잡으므로 교착 없이 끝나야 한다.
+ * - users = 2 는 모든 이체가 같은 두 사용자의 락을 다투는 높은 경합, users = 4096 은 충돌이 거의 없는 낮은 경합이다.
+ * - lockStripes = 16 은 서로 다른 사용자가 같은 스트라이프 락을 공유하는 경우다.
+ * - 잔고 부족/한도 초과로 거절된 이체도 한 번의 처리로 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointTransferBenchmark {
+
+    @Param({"lock", "batch"})
+    public String mode;
+
+    @Param({"2", "64", "4096"})
+    public int users;
+
+    @Param({"0", "16"})
+    public int lockStripes;
+
+    private BenchmarkPointServices services;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConcurrentUserPointStore userPointStore = new ConcurrentUserPointStore();
+        for (long userId = 1; userId <= users; userId++) {
+            userPointStore.insertOrUpdate(userId, 500L);
+        }
+        services = BenchmarkPointServices.create(userPointStore, new ConcurrentPointHistoryStore(), mode, 10_000, lockStripes);
+        pointService = services.pointService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        services.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public PointTransferResult transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long senderId = random.nextLong(1, users + 1L);
+        long receiverId = random.nextLong(1, users);
+        if (receiverId >= senderId) {
+            receiverId++;
+        }
+        try {
+            return pointService.transfer(senderId, receiverId, 10L, System.currentTimeMillis());
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+}
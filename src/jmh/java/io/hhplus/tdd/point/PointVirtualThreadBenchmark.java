@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플랫폼 스레드 풀 / 가상 스레드 동시 충전 벤치마크
+ * - 조회/저장마다 latencyMillis 만큼 막히는 저장소로, users 명의 충전을 한 번에 제출하고 모두 끝날 때까지의 시간을 측정한다.
+ * - platform : Tomcat 기본 최대 스레드 수(200) 크기의 풀, 동시 처리 수가 풀 크기에 묶인다.
+ * - virtual : 요청마다 가상 스레드, 대기 중에는 캐리어 스레드를 반납한다.
+ * - virtual 은 Java 21 이상에서만 실행된다. (./gradlew jmh -PjavaVersion=21 -PjmhIncludes=PointVirtualThreadBenchmark)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PointVirtualThreadBenchmark {
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"2000"})
+    public int users;
+
+    @Param({"50"})
+    public long latencyMillis;
+
+    private ExecutorService platformExecutor;
+    private SimpleAsyncTaskExecutor virtualExecutor;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUpExecutor() {
+        if ("virtual".equals(threads)) {
+            virtualExecutor = new SimpleAsyncTaskExecutor("point-virtual-");
+            virtualExecutor.setVirtualThreads(true);
+        } else {
+            platformExecutor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        }
+    }
+
+    // 반복마다 빈 저장소로 시작해 최대 잔고에 걸리지 않게 한다.
+    @Setup(Level.Iteration)
+    public void setUpService() {
+        ConcurrentUserPointStore userPointStore = new ConcurrentUserPointStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                sleep();
+                return super.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                sleep();
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        pointService = BenchmarkPointServices.create(userPointStore, new ConcurrentPointHistoryStore(), "lock", 0).pointService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int chargeAll() throws Exception {
+        List<Future<UserPoint>> results = new ArrayList<>(users);
+        for (long userId = 1; userId <= users; userId++) {
+            long id = userId;
+            results.add(submit(() -> pointService.patchPointCharge(id, 10L, System.currentTimeMillis())));
+        }
+        for (Future<UserPoint> result : results) {
+            result.get();
+        }
+        return results.size();
+    }
+
+    private Future<UserPoint> submit(Callable<UserPoint> task) {
+        return platformExecutor != null ? platformExecutor.submit(task) : virtualExecutor.submit(task);
+    }
+
+    private void sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
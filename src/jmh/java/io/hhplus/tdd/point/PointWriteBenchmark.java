@@ -0,0 +1,119 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.TableUserPointStore;
+import io.hhplus.tdd.database.UserPointTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 충전/사용(patchPointCharge, patchPointUse) 벤치마크
+ * - contended : 한 사용자에게 충전/사용 요청이 몰리는 경우 (사용자 락 경합)
+ * - uncontended : 스레드마다 다른 사용자로 충전 후 사용하는 경우
+ * - 잔고 한도/부족으로 거절된 요청(IllegalStateException)도 한 번의 처리로 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointWriteBenchmark {
+    private static final long HOT_USER_ID = 1L;
+    // 스레드별 사용자 id 범위 (UserPointTable 의 HashMap 이 측정 중 커지지 않도록 미리 넣어 둔다)
+    private static final int MAX_USERS = 256;
+
+    @Param({"stub", "throttled"})
+    public String tables;
+
+    @Param({"lock", "batch", "actor"})
+    public String mode;
+
+    private BenchmarkPointServices services;
+    private PointService pointService;
+    private final AtomicLong userSequence = new AtomicLong(HOT_USER_ID);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserPointTable userPointTable = BenchmarkTables.userPointTable(tables);
+        for (long userId = 1; userId <= MAX_USERS; userId++) {
+            userPointTable.insertOrUpdate(userId, 500L);
+        }
+        services = BenchmarkPointServices.create(new TableUserPointStore(userPointTable, PointMetrics.noop()),
+                new TablePointHistoryStore(BenchmarkTables.pointHistoryTable(tables), PointMetrics.noop()), mode, 10_000);
+        pointService = services.pointService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        services.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadUser {
+        long userId;
+
+        @Setup(Level.Trial)
+        public void setUp(PointWriteBenchmark benchmark) {
+            userId = benchmark.userSequence.incrementAndGet();
+            if (userId > MAX_USERS) {
+                throw new IllegalStateException("벤치마크 스레드 수가 사용자 범위를 넘었습니다.");
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public UserPoint contendedCharge() {
+        return charge(HOT_USER_ID, 10L);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public UserPoint contendedUse() {
+        return use(HOT_USER_ID, 10L);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void uncontendedChargeAndUse(ThreadUser user, Blackhole blackhole) {
+        blackhole.consume(charge(user.userId, 10L));
+        blackhole.consume(use(user.userId, 10L));
+    }
+
+    private UserPoint charge(long userId, long amount) {
+        try {
+            return pointService.patchPointCharge(userId, amount, System.currentTimeMillis());
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private UserPoint use(long userId, long amount) {
+        try {
+            return pointService.patchPointUse(userId, amount, System.currentTimeMillis());
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package io.hhplus.tdd.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 잔고 변경 write-ahead log (wal-00000001.log, ...)
+ * - 레코드는 userId(8) + 잔고(8) + updateMillis(8) + 체크섬(4) + 예약(4) 의 32바이트 고정 길이이며, 변경 후 잔고 자체를 기록한다.
+ * - 쓰기는 메모리 버퍼에 쌓고, 전용 스레드가 flush-batch-size 건이 모이거나 flush-interval 이 지나면
+ *   한 번의 write + fsync 로 묶어 디스크에 반영한다. (group commit)
+ * - 요청 스레드는 자기 레코드가 반영될 때까지 awaitDurable 로 기다리므로 요청마다 fsync 하지 않고도 응답 전에 영속화된다.
+ * - rotate 는 새 세대 파일로 넘어가며, 이전 세대의 레코드는 모두 디스크에 반영된 상태가 된다. (스냅샷 이후 이전 세대 삭제용)
+ * - 디스크 쓰기에 실패하면 그 배치를 파일에서 잘라내고 이후 모든 쓰기를 거절한다. (isFailed 로 읽는 쪽도 알 수 있다)
+ */
+class BalanceWal implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(BalanceWal.class);
+
+    static final int RECORD_BYTES = 32;
+    private static final String FILE_PREFIX = "wal-";
+    private static final String FILE_SUFFIX = ".log";
+
+    @FunctionalInterface
+    interface RecordConsumer {
+        void accept(long userId, long point, long updateMillis);
+    }
+
+    private final Path directory;
+    private final WalUserPointStore.ChannelOpener channelOpener;
+    private final int flushBatchSize;
+    private final long flushIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushNeeded = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    // 아래 상태는 모두 lock 안에서만 읽고 쓴다.
+    private ByteBuffer pending;
+    private ByteBuffer writing;
+    private int pendingRecords;
+    private long appendedSequence;
+    private long durableSequence;
+    private boolean flushing;
+    private boolean running = true;
+    private FileChannel channel;
+    private long generation;
+    // lock 안에서만 쓰고, 읽는 쪽이 락 없이 확인할 수 있도록 volatile 로 둔다.
+    private volatile IOException failure;
+
+    private final Thread flusher;
+
+    // fromGeneration 이상의 로그를 순서대로 replay 한 뒤, 마지막 세대 파일의 유효한 끝에 이어서 기록한다.
+    BalanceWal(Path directory, WalUserPointStore.ChannelOpener channelOpener, long fromGeneration,
+               int flushBatchSize, long flushIntervalMillis, RecordConsumer replay) throws IOException {
+        if (flushBatchSize <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("WAL 반영 주기 설정이 유효하지 않습니다.");
+        }
+        this.directory = directory;
+        this.channelOpener = channelOpener;
+        this.flushBatchSize = flushBatchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        // 버퍼가 가득 차면 쓰는 쪽이 반영을 기다리므로, 배치 크기의 여러 배로 잡아 둔다.
+        this.pending = ByteBuffer.allocateDirect(flushBatchSize * 4 * RECORD_BYTES);
+        this.writing = ByteBuffer.allocateDirect(flushBatchSize * 4 * RECORD_BYTES);
+
+        List<Long> generations = generations(directory).stream().filter(g -> g >= fromGeneration).toList();
+        long validBytes = 0;
+        for (long g : generations) {
+            validBytes = replay(path(g), replay);
+        }
+        this.generation = generations.isEmpty() ? Math.max(fromGeneration, 1) : generations.get(generations.size() - 1);
+        this.channel = channelOpener.open(path(generation));
+        // 기록 도중 중단된 마지막 레코드는 잘라내고 그 뒤에 이어서 기록한다.
+        channel.truncate(validBytes);
+        channel.position(validBytes);
+
+        this.flusher = new Thread(this::runFlusher, "point-wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // 레코드를 버퍼에 넣고 같은 락 안에서 apply 를 실행한 뒤 순번을 반환한다.
+    // apply 를 로그 순서와 같은 순서로 실행해야 rotate 시점에 이전 세대의 변경이 모두 반영되어 있음을 보장할 수 있다.
+    long append(long userId, long point, long updateMillis, Runnable apply) {
+        lock.lock();
+        try {
+            checkFailure();
+            while (pending.remaining() < RECORD_BYTES) {
+                flushNeeded.signal();
+                flushed.awaitUninterruptibly();
+                checkFailure();
+            }
+            pending.putLong(userId);
+            pending.putLong(point);
+            pending.putLong(updateMillis);
+            pending.putInt(checksum(userId, point, updateMillis));
+            pending.putInt(0);
+            apply.run();
+            pendingRecords++;
+            long sequence = ++appendedSequence;
+            // 비어 있던 버퍼에 처음 들어왔거나 배치가 찼을 때만 깨운다.
+            if (pendingRecords == 1 || pendingRecords >= flushBatchSize) {
+                flushNeeded.signal();
+            }
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 디스크 쓰기에 실패해 이후 쓰기를 거절하는 상태인지
+    boolean isFailed() {
+        return failure != null;
+    }
+
+    // 해당 순번까지 디스크에 반영될 때까지 기다린다.
+    void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                checkFailure();
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 지금까지의 레코드를 모두 반영하고 새 세대 파일로 넘어간 뒤 새 세대 번호를 반환한다.
+    long rotate() throws IOException {
+        lock.lock();
+        try {
+            checkFailure();
+            flushLocked();
+            checkFailure();
+            FileChannel next = channelOpener.open(path(generation + 1));
+            channel.close();
+            channel = next;
+            generation++;
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 스냅샷에 모두 반영된 이전 세대 파일을 지운다.
+    void deleteBefore(long generation) throws IOException {
+        for (long g : generations(directory)) {
+            if (g < generation) {
+                Files.deleteIfExists(path(g));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            running = false;
+            flushNeeded.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        lock.lock();
+        try {
+            while (true) {
+                if (pendingRecords == 0) {
+                    if (!running) {
+                        return;
+                    }
+                    flushNeeded.awaitUninterruptibly();
+                    continue;
+                }
+                // 배치가 덜 찼으면 주기만큼 더 모은다.
+                if (running && pendingRecords < flushBatchSize) {
+                    flushNeeded.awaitNanos(flushIntervalNanos);
+                }
+                flushLocked();
+                if (failure != null) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock 을 잡은 상태에서 호출한다. 디스크 쓰기 동안에는 락을 풀어 다음 레코드가 계속 쌓이게 한다.
+    private void flushLocked() {
+        // 다른 스레드가 버퍼를 쓰는 중이면 끝날 때까지 기다린다. (버퍼 두 개를 번갈아 쓰므로 동시에 하나만 쓸 수 있다)
+        while (flushing) {
+            flushed.awaitUninterruptibly();
+        }
+        if (pendingRecords == 0) {
+            return;
+        }
+        ByteBuffer buffer = pending;
+        pending = writing;
+        writing = buffer;
+        long target = appendedSequence;
+        pendingRecords = 0;
+        flushing = true;
+        FileChannel targetChannel = channel;
+        lock.unlock();
+        IOException error = null;
+        long start = -1;
+        try {
+            start = targetChannel.position();
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                targetChannel.write(buffer);
+            }
+            targetChannel.force(false);
+        } catch (IOException e) {
+            error = e;
+            discard(targetChannel, start);
+        } finally {
+            buffer.clear();
+            lock.lock();
+        }
+        flushing = false;
+        if (error != null) {
+            log.error("잔고 WAL 기록에 실패했습니다. 이후 잔고 변경을 거절합니다.", error);
+            failure = error;
+        } else {
+            durableSequence = target;
+        }
+        flushed.signalAll();
+    }
+
+    // 반영에 실패한 배치를 파일에서 잘라낸다. 요청 쪽은 실패로 응답하고 맵을 되돌리므로, 재시작 후 replay 되지 않도록 한다.
+    // 잘라내기도 실패하면 더 할 수 있는 것이 없으므로 기록만 남긴다.
+    private static void discard(FileChannel channel, long start) {
+        if (start < 0) {
+            return;
+        }
+        try {
+            channel.truncate(start);
+            channel.force(false);
+        } catch (IOException e) {
+            log.warn("반영에 실패한 잔고 WAL 배치를 잘라내지 못했습니다. ({} 바이트 이후)", start, e);
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("잔고 WAL 기록에 실패한 상태입니다.", failure);
+        }
+    }
+
+    private Path path(long generation) {
+        return directory.resolve(String.format("%s%08d%s", FILE_PREFIX, generation, FILE_SUFFIX));
+    }
+
+    // 유효한 레코드를 순서대로 넘기고, 유효한 마지막 레코드 끝 위치를 반환한다.
+    private static long replay(Path path, RecordConsumer replay) throws IOException {
+        long validBytes = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 4096);
+            while (channel.read(buffer) > 0 || buffer.position() > 0) {
+                buffer.flip();
+                if (buffer.remaining() < RECORD_BYTES) {
+                    // 파일 끝의 잘린 레코드
+                    break;
+                }
+                while (buffer.remaining() >= RECORD_BYTES) {
+                    long userId = buffer.getLong();
+                    long point = buffer.getLong();
+                    long updateMillis = buffer.getLong();
+                    int checksum = buffer.getInt();
+                    buffer.getInt();
+                    if (checksum != checksum(userId, point, updateMillis)) {
+                        log.warn("잔고 WAL 의 손상된 레코드 이후를 버립니다. {} ({} 바이트)", path, validBytes);
+                        return validBytes;
+                    }
+                    replay.accept(userId, point, updateMillis);
+                    validBytes += RECORD_BYTES;
+                }
+                buffer.compact();
+            }
+        }
+        return validBytes;
+    }
+
+    static List<Long> generations(Path directory) throws IOException {
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // 0 으로 채워진 영역과 구분되도록 0 이 아닌 값을 반환한다.
+    private static int checksum(long userId, long point, long updateMillis) {
+        long hash = userId;
+        hash = hash * 0x9E3779B97F4A7C15L + point;
+        hash = hash * 0x9E3779B97F4A7C15L + updateMillis;
+        int result = (int) (hash ^ (hash >>> 32));
+        return result != 0 ? result : 1;
+    }
+}
@@ -0,0 +1,227 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryTotals;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 열(column) 단위 배열에 내역을 저장하는 내역 저장소
+ * - 내역 하나를 객체로 두지 않고 userId, amount, updateMillis, 같은 사용자의 이전 행 번호를 long 배열에, 거래 유형을 byte 배열에 나누어 저장한다.
+ * - 배열은 고정 크기(CHUNK_ROWS) 청크 단위로 늘어나므로 기존 데이터를 복사하지 않는다.
+ * - id 는 1부터 순차 발급되므로 행 번호 + 1 과 같아 따로 저장하지 않는다.
+ * - 사용자별 조회는 힙 밖 인덱스(userId -> 마지막 행)에서 이전 행을 따라가 행 번호만 모으고,
+ *   PointHistory 는 반환된 리스트에서 원소를 꺼낼 때 만든다.
+ * - 합계 조회(sumByUserId, sumAll)는 PointHistory 를 만들지 않고 열 배열을 바로 읽는다.
+ * - 시간 범위 조회는 시각 인덱스(PointHistoryTimeIndex)로 처리한다. 인덱스는 (시각, id) 만 보관하고,
+ *   내역은 꺼낼 때 행 번호(id - 1)로 열 배열에서 읽어 만든다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "history", havingValue = "columnar")
+public class ColumnarPointHistoryStore implements PointHistoryStore {
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OffHeapUserIndex index = new OffHeapUserIndex();
+    private final PointHistoryTimeIndex timeIndex = new PointHistoryTimeIndex((userId, id) -> selectByRow(id - 1));
+
+    // 아래 상태는 lock 안에서만 읽고 쓴다. (청크에 한 번 기록된 칸은 변경되지 않는다)
+    private Chunk[] chunks = new Chunk[16];
+    private long rows;
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory;
+        lock.writeLock().lock();
+        try {
+            long row = rows;
+            Chunk chunk = chunkForWrite(row);
+            int offset = (int) (row & CHUNK_MASK);
+            chunk.userIds[offset] = userId;
+            chunk.amounts[offset] = amount;
+            chunk.updateMillis[offset] = updateMillis;
+            chunk.previousRows[offset] = index.head(userId);
+            chunk.types[offset] = (byte) type.ordinal();
+            index.append(userId, row);
+            rows = row + 1;
+            pointHistory = new PointHistory(row + 1, userId, amount, type, updateMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        timeIndex.add(userId, pointHistory.id(), updateMillis);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        lock.readLock().lock();
+        try {
+            return new RowView(rowsOf(userId), chunks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<PointHistory> streamByUserIdAndTime(long userId, long fromMillis, long toMillis) {
+        return timeIndex.range(userId, fromMillis, toMillis);
+    }
+
+    @Override
+    public Stream<PointHistory> streamByTime(long fromMillis, long toMillis) {
+        return timeIndex.range(fromMillis, toMillis);
+    }
+
+    @Override
+    public PointHistoryTotals sumByUserId(long userId, Long fromMillis, Long toMillis) {
+        long from = fromMillis != null ? fromMillis : Long.MIN_VALUE;
+        long to = toMillis != null ? toMillis : Long.MAX_VALUE;
+        long chargeAmount = 0, chargeCount = 0, useAmount = 0, useCount = 0;
+        lock.readLock().lock();
+        try {
+            long row = index.head(userId);
+            while (row >= 0) {
+                Chunk chunk = chunks[(int) (row >>> CHUNK_SHIFT)];
+                int offset = (int) (row & CHUNK_MASK);
+                long updateMillis = chunk.updateMillis[offset];
+                if (updateMillis >= from && updateMillis < to) {
+                    if (chunk.types[offset] == TransactionType.CHARGE.ordinal()) {
+                        chargeAmount += chunk.amounts[offset];
+                        chargeCount++;
+                    } else {
+                        useAmount += chunk.amounts[offset];
+                        useCount++;
+                    }
+                }
+                row = chunk.previousRows[offset];
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PointHistoryTotals(chargeAmount, chargeCount, useAmount, useCount);
+    }
+
+    // 전체 사용자의 updateMillis 범위(fromMillis 이상 ~ toMillis 미만, null 이면 제한 없음) 내 충전/사용 합계
+    public PointHistoryTotals sumAll(Long fromMillis, Long toMillis) {
+        long from = fromMillis != null ? fromMillis : Long.MIN_VALUE;
+        long to = toMillis != null ? toMillis : Long.MAX_VALUE;
+        long chargeAmount = 0, chargeCount = 0, useAmount = 0, useCount = 0;
+        byte charge = (byte) TransactionType.CHARGE.ordinal();
+        lock.readLock().lock();
+        try {
+            // 청크 단위로 열 배열을 순서대로 훑는다.
+            for (long start = 0; start < rows; start += CHUNK_ROWS) {
+                Chunk chunk = chunks[(int) (start >>> CHUNK_SHIFT)];
+                int length = (int) Math.min(CHUNK_ROWS, rows - start);
+                long[] updateMillis = chunk.updateMillis;
+                long[] amounts = chunk.amounts;
+                byte[] types = chunk.types;
+                for (int i = 0; i < length; i++) {
+                    if (updateMillis[i] < from || updateMillis[i] >= to) {
+                        continue;
+                    }
+                    if (types[i] == charge) {
+                        chargeAmount += amounts[i];
+                        chargeCount++;
+                    } else {
+                        useAmount += amounts[i];
+                        useCount++;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PointHistoryTotals(chargeAmount, chargeCount, useAmount, useCount);
+    }
+
+    // 저장된 전체 내역 수
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PointHistory selectByRow(long row) {
+        lock.readLock().lock();
+        try {
+            return RowView.read(chunks, row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 사용자의 행 번호를 오름차순으로 모은다. (읽기 락 안에서 호출)
+    private long[] rowsOf(long userId) {
+        long[] userRows = new long[Math.toIntExact(index.count(userId))];
+        long row = index.head(userId);
+        for (int i = userRows.length - 1; i >= 0; i--) {
+            userRows[i] = row;
+            Chunk chunk = chunks[(int) (row >>> CHUNK_SHIFT)];
+            row = chunk.previousRows[(int) (row & CHUNK_MASK)];
+        }
+        return userRows;
+    }
+
+    private Chunk chunkForWrite(long row) {
+        int chunkIndex = Math.toIntExact(row >>> CHUNK_SHIFT);
+        if (chunkIndex == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        if (chunks[chunkIndex] == null) {
+            chunks[chunkIndex] = new Chunk();
+        }
+        return chunks[chunkIndex];
+    }
+
+    private static final class Chunk {
+        private final long[] userIds = new long[CHUNK_ROWS];
+        private final long[] amounts = new long[CHUNK_ROWS];
+        private final long[] updateMillis = new long[CHUNK_ROWS];
+        private final long[] previousRows = new long[CHUNK_ROWS];
+        private final byte[] types = new byte[CHUNK_ROWS];
+    }
+
+    // 행 번호만 들고 있다가 원소를 꺼낼 때 PointHistory 를 만드는 읽기 전용 뷰
+    // 조회 시점의 청크 배열을 잡아 두므로, 이후 청크 배열이 늘어나도 조회한 행은 그대로 읽힌다.
+    private static final class RowView extends AbstractList<PointHistory> implements RandomAccess {
+        private final long[] rows;
+        private final Chunk[] chunks;
+
+        private RowView(long[] rows, Chunk[] chunks) {
+            this.rows = rows;
+            this.chunks = chunks;
+        }
+
+        @Override
+        public PointHistory get(int index) {
+            return read(chunks, rows[index]);
+        }
+
+        private static PointHistory read(Chunk[] chunks, long row) {
+            Chunk chunk = chunks[(int) (row >>> CHUNK_SHIFT)];
+            int offset = (int) (row & CHUNK_MASK);
+            return new PointHistory(row + 1, chunk.userIds[offset], chunk.amounts[offset],
+                    TYPES[chunk.types[offset]], chunk.updateMillis[offset]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+}
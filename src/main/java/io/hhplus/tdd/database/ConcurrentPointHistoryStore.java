@@ -0,0 +1,55 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 원자적으로 id 를 발급하는 내역 저장소
+ * - id 는 AtomicLong 으로 발급해 여러 스레드가 동시에 써도 중복되지 않는다.
+ * - 내역은 사용자별 세그먼트에만 저장하므로 조회 비용은 해당 사용자 내역 수에 비례한다.
+ * - 시간 범위 조회는 시각 인덱스(PointHistoryTimeIndex)로 범위 안의 내역만 순회한다.
+ *   인덱스는 (시각, id) 만 보관하고, 내역은 사용자 세그먼트에서 id 로 찾는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "history", havingValue = "concurrent")
+public class ConcurrentPointHistoryStore implements PointHistoryStore {
+
+    private final ConcurrentHashMap<Long, PointHistorySegment> segments = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+    private final PointHistoryTimeIndex timeIndex = new PointHistoryTimeIndex(this::selectById);
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistorySegment segment = segments.computeIfAbsent(userId, id -> PointHistorySegment.loaded());
+        PointHistory pointHistory = segment.appendNew(() -> new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis));
+        timeIndex.add(userId, pointHistory.id(), updateMillis);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        PointHistorySegment segment = segments.get(userId);
+        return segment != null ? segment.view() : List.of();
+    }
+
+    private PointHistory selectById(long userId, long id) {
+        return segments.get(userId).findById(id);
+    }
+
+    @Override
+    public Stream<PointHistory> streamByUserIdAndTime(long userId, long fromMillis, long toMillis) {
+        return timeIndex.range(userId, fromMillis, toMillis);
+    }
+
+    @Override
+    public Stream<PointHistory> streamByTime(long fromMillis, long toMillis) {
+        return timeIndex.range(fromMillis, toMillis);
+    }
+}
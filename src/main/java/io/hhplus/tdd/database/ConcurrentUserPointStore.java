@@ -0,0 +1,56 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ConcurrentHashMap 기반 잔고 저장소
+ * - 서로 다른 사용자의 동시 쓰기에도 맵이 깨지지 않는다.
+ * - 같은 사용자의 읽기-계산-쓰기 순서는 PointService 의 사용자별 락이 보장한다.
+ * - 잔고마다 버전을 함께 두어 낙관적 실행 방식의 compare-and-set 을 지원한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "balance", havingValue = "concurrent")
+public class ConcurrentUserPointStore implements UserPointStore {
+
+    private final ConcurrentHashMap<Long, VersionedUserPoint> table = new ConcurrentHashMap<>();
+
+    @Override
+    public UserPoint selectById(long id) {
+        VersionedUserPoint versioned = table.get(id);
+        return versioned != null ? versioned.userPoint() : UserPoint.empty(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.compute(id, (key, current) -> new VersionedUserPoint(userPoint, current != null ? current.version() + 1 : 1));
+        return userPoint;
+    }
+
+    @Override
+    public boolean supportsCompareAndSet() {
+        return true;
+    }
+
+    @Override
+    public VersionedUserPoint selectVersionedById(long id) {
+        VersionedUserPoint versioned = table.get(id);
+        return versioned != null ? versioned : new VersionedUserPoint(UserPoint.empty(id), 0);
+    }
+
+    @Override
+    public UserPoint compareAndSet(long id, long expectedVersion, long amount) {
+        VersionedUserPoint current = table.get(id);
+        if ((current != null ? current.version() : 0) != expectedVersion) {
+            return null;
+        }
+        VersionedUserPoint next = new VersionedUserPoint(new UserPoint(id, amount, System.currentTimeMillis()), expectedVersion + 1);
+        // 버전은 사용자별로 한 번씩만 쓰이므로 값 비교로 교체해도 ABA 가 생기지 않는다.
+        boolean swapped = current == null ? table.putIfAbsent(id, next) == null : table.replace(id, current, next);
+        return swapped ? next.userPoint() : null;
+    }
+}
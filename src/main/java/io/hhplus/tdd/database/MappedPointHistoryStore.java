@@ -0,0 +1,346 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 매핑 파일에 내역을 append-only 로 기록하는 영속 내역 저장소
+ * - 내역은 고정 길이(48바이트) 레코드로 세그먼트 파일(history-00000.log, ...)에 순서대로 기록되며,
+ *   세그먼트가 가득 차면 다음 파일로 넘어간다.
+ * - 레코드는 같은 사용자의 이전 레코드 위치를 함께 기록해 사용자별 연결 목록을 이룬다.
+ *   사용자별 조회는 힙 밖 인덱스(userId -> 마지막 위치)에서 시작해 이 연결을 따라가므로 해당 사용자의 내역 수에 비례한다.
+ * - 시간 범위 조회는 시각 인덱스(PointHistoryTimeIndex)로 처리한다. 인덱스는 (시각, id) 만 보관하고,
+ *   내역은 꺼낼 때 위치(id - 1)의 레코드를 읽어 만든다.
+ * - 재시작 시 세그먼트를 처음부터 읽어 인덱스, 시각 인덱스와 다음 id 를 복구한다.
+ *   체크섬이 맞지 않는 레코드(기록 도중 중단된 마지막 레코드 등)부터는 버리고 그 위치부터 다시 기록한다.
+ *   버린 위치 뒤에 남은 레코드는 id 를 지워(0) 두어, 새로 기록한 레코드 뒤에서 다음 id 와 우연히 맞아 다시 복구되지 않게 한다.
+ * - 기록은 OS 페이지 캐시를 거치므로 프로세스가 비정상 종료돼도 남지만, 장비 전원이 꺼지는 경우까지 보장하려면
+ *   point.store.mapped.force-on-write = true 로 레코드마다 디스크에 반영한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "history", havingValue = "mapped")
+public class MappedPointHistoryStore implements PointHistoryStore {
+    private static final Logger log = LoggerFactory.getLogger(MappedPointHistoryStore.class);
+
+    // 레코드 구성 : id(8) userId(8) amount(8) updateMillis(8) 이전 위치(8) type(1) 예약(3) 체크섬(4)
+    static final int RECORD_BYTES = 48;
+    private static final int ID_OFFSET = 0;
+    private static final int USER_ID_OFFSET = 8;
+    private static final int AMOUNT_OFFSET = 16;
+    private static final int UPDATE_MILLIS_OFFSET = 24;
+    private static final int PREVIOUS_OFFSET = 32;
+    private static final int TYPE_OFFSET = 40;
+    private static final int CHECKSUM_OFFSET = 44;
+
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final boolean forceOnWrite;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OffHeapUserIndex index = new OffHeapUserIndex();
+    private final PointHistoryTimeIndex timeIndex = new PointHistoryTimeIndex((userId, id) -> selectByPosition(id - 1));
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    // 다음에 발급할 id 와 다음 레코드를 기록할 위치 (쓰기 락 안에서만 변경)
+    private long nextId = 1;
+    private long nextPosition;
+
+    public MappedPointHistoryStore(@Value("${point.store.mapped.dir:./data/point-history}") String directory,
+                                   @Value("${point.store.mapped.segment-bytes:67108864}") int segmentBytes,
+                                   @Value("${point.store.mapped.force-on-write:false}") boolean forceOnWrite) {
+        if (segmentBytes < RECORD_BYTES) {
+            throw new IllegalArgumentException("세그먼트 크기가 유효하지 않습니다.");
+        }
+        this.directory = Path.of(directory);
+        this.recordsPerSegment = segmentBytes / RECORD_BYTES;
+        this.forceOnWrite = forceOnWrite;
+        try {
+            Files.createDirectories(this.directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 파일을 열 수 없습니다. " + this.directory, e);
+        }
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory;
+        lock.writeLock().lock();
+        try {
+            long position = nextPosition;
+            MappedByteBuffer segment = segmentFor(position);
+            int offset = offsetOf(position);
+            long id = nextId;
+            long previous = index.head(userId);
+
+            segment.putLong(offset + ID_OFFSET, id);
+            segment.putLong(offset + USER_ID_OFFSET, userId);
+            segment.putLong(offset + AMOUNT_OFFSET, amount);
+            segment.putLong(offset + UPDATE_MILLIS_OFFSET, updateMillis);
+            segment.putLong(offset + PREVIOUS_OFFSET, previous);
+            segment.put(offset + TYPE_OFFSET, (byte) type.ordinal());
+            // 체크섬을 마지막에 기록해 중간에 멈춘 레코드는 복구 시 버려지게 한다.
+            segment.putInt(offset + CHECKSUM_OFFSET, checksum(id, userId, amount, updateMillis, previous, (byte) type.ordinal()));
+            if (forceOnWrite) {
+                segment.force(offset, RECORD_BYTES);
+            }
+
+            index.append(userId, position);
+            nextId = id + 1;
+            nextPosition = position + 1;
+            pointHistory = new PointHistory(id, userId, amount, type, updateMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        timeIndex.add(userId, pointHistory.id(), updateMillis);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        lock.readLock().lock();
+        try {
+            long count = index.count(userId);
+            if (count == 0) {
+                return List.of();
+            }
+            // 마지막 레코드부터 이전 위치를 따라가며 뒤에서부터 채워 id 오름차순 배열을 만든다.
+            PointHistory[] histories = new PointHistory[Math.toIntExact(count)];
+            long position = index.head(userId);
+            for (int i = histories.length - 1; i >= 0; i--) {
+                MappedByteBuffer segment = segments.get(segmentIndexOf(position));
+                int offset = offsetOf(position);
+                histories[i] = read(segment, offset);
+                position = segment.getLong(offset + PREVIOUS_OFFSET);
+            }
+            return Arrays.asList(histories);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<PointHistory> streamByUserIdAndTime(long userId, long fromMillis, long toMillis) {
+        return timeIndex.range(userId, fromMillis, toMillis);
+    }
+
+    @Override
+    public Stream<PointHistory> streamByTime(long fromMillis, long toMillis) {
+        return timeIndex.range(fromMillis, toMillis);
+    }
+
+    @Override
+    public void replay(Consumer<PointHistory> consumer) {
+        lock.readLock().lock();
+        try {
+            for (long position = 0; position < nextPosition; position++) {
+                consumer.accept(read(segment(position), offsetOf(position)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PointHistory selectByPosition(long position) {
+        lock.readLock().lock();
+        try {
+            return read(segment(position), offsetOf(position));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 현재까지 기록된 전체 레코드 수
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return nextPosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 세그먼트 파일을 순서대로 읽어 인덱스, 다음 id, 다음 기록 위치를 복구한다.
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            if (!files.get(i).equals(segmentPath(i))) {
+                throw new IllegalStateException("포인트 내역 세그먼트 파일이 연속되지 않습니다. " + files.get(i));
+            }
+            segments.add(map(i));
+        }
+
+        long position = 0;
+        long total = (long) segments.size() * recordsPerSegment;
+        while (position < total) {
+            MappedByteBuffer segment = segments.get(segmentIndexOf(position));
+            int offset = offsetOf(position);
+            if (!isValid(segment, offset, nextId)) {
+                break;
+            }
+            long userId = segment.getLong(offset + USER_ID_OFFSET);
+            index.append(userId, position);
+            timeIndex.add(userId, nextId, segment.getLong(offset + UPDATE_MILLIS_OFFSET));
+            nextId++;
+            position++;
+        }
+        nextPosition = position;
+        long discarded = clearTail(position, total);
+        if (discarded > 0) {
+            log.warn("포인트 내역 파일 끝의 손상된 레코드 {}건을 버리고 위치 {} 부터 다시 기록합니다.", discarded, position);
+        }
+        log.info("포인트 내역 {}건, 사용자 {}명을 복구했습니다. ({})", position, index.size(), directory);
+    }
+
+    // from 부터 끝까지 남아 있는 레코드를 지우고 지운 레코드 수를 반환한다.
+    // 이미 비어 있는 레코드는 건드리지 않으므로 정상 종료 후 재시작할 때는 파일에 쓰지 않는다.
+    private long clearTail(long from, long total) {
+        long cleared = 0;
+        int dirtySegment = -1;
+        for (long position = from; position < total; position++) {
+            MappedByteBuffer segment = segment(position);
+            int offset = offsetOf(position);
+            if (segment.getLong(offset + ID_OFFSET) == 0) {
+                continue;
+            }
+            for (int i = 0; i < RECORD_BYTES; i += Long.BYTES) {
+                segment.putLong(offset + i, 0L);
+            }
+            cleared++;
+            int segmentIndex = segmentIndexOf(position);
+            if (dirtySegment >= 0 && dirtySegment != segmentIndex) {
+                segments.get(dirtySegment).force();
+            }
+            dirtySegment = segmentIndex;
+        }
+        if (dirtySegment >= 0) {
+            // 새 레코드를 기록하기 전에 지운 내용을 디스크에 반영한다.
+            segments.get(dirtySegment).force();
+        }
+        return cleared;
+    }
+
+    private boolean isValid(MappedByteBuffer segment, int offset, long expectedId) {
+        long id = segment.getLong(offset + ID_OFFSET);
+        if (id != expectedId) {
+            return false;
+        }
+        byte type = segment.get(offset + TYPE_OFFSET);
+        if (type < 0 || type >= TYPES.length) {
+            return false;
+        }
+        int expected = checksum(id,
+                segment.getLong(offset + USER_ID_OFFSET),
+                segment.getLong(offset + AMOUNT_OFFSET),
+                segment.getLong(offset + UPDATE_MILLIS_OFFSET),
+                segment.getLong(offset + PREVIOUS_OFFSET),
+                type);
+        return segment.getInt(offset + CHECKSUM_OFFSET) == expected;
+    }
+
+    private PointHistory read(MappedByteBuffer segment, int offset) {
+        return new PointHistory(
+                segment.getLong(offset + ID_OFFSET),
+                segment.getLong(offset + USER_ID_OFFSET),
+                segment.getLong(offset + AMOUNT_OFFSET),
+                TYPES[segment.get(offset + TYPE_OFFSET)],
+                segment.getLong(offset + UPDATE_MILLIS_OFFSET));
+    }
+
+    // 기록할 위치의 세그먼트 (가득 찼다면 다음 세그먼트 파일을 만든다)
+    private MappedByteBuffer segmentFor(long position) {
+        int segmentIndex = segmentIndexOf(position);
+        if (segmentIndex < segments.size()) {
+            return segments.get(segmentIndex);
+        }
+        try {
+            if (!segments.isEmpty()) {
+                // 다 쓴 세그먼트는 넘어가기 전에 디스크에 반영한다.
+                segments.get(segments.size() - 1).force();
+            }
+            MappedByteBuffer segment = map(segmentIndex);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 세그먼트를 만들 수 없습니다.", e);
+        }
+    }
+
+    private MappedByteBuffer segment(long position) {
+        return segments.get(segmentIndexOf(position));
+    }
+
+    private MappedByteBuffer map(int segmentIndex) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segmentIndex),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 매핑은 채널을 닫은 뒤에도 유지된다. 파일이 짧으면 세그먼트 크기만큼 늘어나며 0 으로 채워진다.
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_BYTES);
+        }
+    }
+
+    private Path segmentPath(int segmentIndex) {
+        return directory.resolve(String.format("%s%05d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX));
+    }
+
+    private int segmentIndexOf(long position) {
+        return Math.toIntExact(position / recordsPerSegment);
+    }
+
+    private int offsetOf(long position) {
+        return (int) (position % recordsPerSegment) * RECORD_BYTES;
+    }
+
+    // 0 으로 채워진 빈 레코드와 구분되도록 0 이 아닌 값을 반환한다.
+    private static int checksum(long id, long userId, long amount, long updateMillis, long previous, byte type) {
+        long hash = id;
+        hash = hash * 0x9E3779B97F4A7C15L + userId;
+        hash = hash * 0x9E3779B97F4A7C15L + amount;
+        hash = hash * 0x9E3779B97F4A7C15L + updateMillis;
+        hash = hash * 0x9E3779B97F4A7C15L + previous;
+        hash = hash * 0x9E3779B97F4A7C15L + type;
+        int result = (int) (hash ^ (hash >>> 32));
+        return result != 0 ? result : 1;
+    }
+}
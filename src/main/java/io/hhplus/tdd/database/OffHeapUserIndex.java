@@ -0,0 +1,120 @@
+package io.hhplus.tdd.database;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 힙 밖(direct buffer)에 두는 사용자별 내역 위치 인덱스 (userId -> 마지막 내역 위치, 내역 수)
+ * - 선형 탐사 open addressing 해시 테이블이며, 슬롯은 userId(8) + 마지막 위치(8) + 내역 수(8) 로 구성된다.
+ * - 내역 수가 0 인 슬롯은 비어 있는 슬롯이다. (삭제는 지원하지 않는다)
+ * - 사용자가 늘어도 힙에 엔트리 객체가 쌓이지 않아 GC 대상이 되지 않는다.
+ * - 동기화는 하지 않으므로 호출하는 쪽에서 읽기/쓰기 락으로 보호해야 한다.
+ */
+class OffHeapUserIndex {
+    private static final int SLOT_BYTES = 24;
+    private static final int USER_ID_OFFSET = 0;
+    private static final int HEAD_OFFSET = 8;
+    private static final int COUNT_OFFSET = 16;
+    private static final int INITIAL_SLOTS = 1024;
+
+    private ByteBuffer slots;
+    private int mask;
+    private int size;
+
+    OffHeapUserIndex() {
+        allocate(INITIAL_SLOTS);
+    }
+
+    // 사용자의 마지막 내역 위치 (없으면 -1)
+    long head(long userId) {
+        int slot = find(userId);
+        return slot >= 0 ? slots.getLong(slot * SLOT_BYTES + HEAD_OFFSET) : -1;
+    }
+
+    // 사용자의 내역 수 (없으면 0)
+    long count(long userId) {
+        int slot = find(userId);
+        return slot >= 0 ? slots.getLong(slot * SLOT_BYTES + COUNT_OFFSET) : 0;
+    }
+
+    // 새 내역을 사용자의 마지막 위치로 기록하고 내역 수를 1 늘린다.
+    void append(long userId, long position) {
+        // 적재율 0.5 를 넘기 전에 늘린다.
+        if ((size + 1) * 2 > mask + 1) {
+            resize();
+        }
+        int slot = indexOf(userId);
+        while (true) {
+            int base = slot * SLOT_BYTES;
+            long count = slots.getLong(base + COUNT_OFFSET);
+            if (count == 0) {
+                slots.putLong(base + USER_ID_OFFSET, userId);
+                slots.putLong(base + HEAD_OFFSET, position);
+                slots.putLong(base + COUNT_OFFSET, 1);
+                size++;
+                return;
+            }
+            if (slots.getLong(base + USER_ID_OFFSET) == userId) {
+                slots.putLong(base + HEAD_OFFSET, position);
+                slots.putLong(base + COUNT_OFFSET, count + 1);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int find(long userId) {
+        int slot = indexOf(userId);
+        while (true) {
+            int base = slot * SLOT_BYTES;
+            if (slots.getLong(base + COUNT_OFFSET) == 0) {
+                return -1;
+            }
+            if (slots.getLong(base + USER_ID_OFFSET) == userId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int indexOf(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(int slotCount) {
+        // allocateDirect 는 0 으로 초기화된 버퍼를 반환하므로 모든 슬롯이 비어 있다.
+        this.slots = ByteBuffer.allocateDirect(slotCount * SLOT_BYTES);
+        this.mask = slotCount - 1;
+        this.size = 0;
+    }
+
+    private void resize() {
+        ByteBuffer previous = slots;
+        int previousSlots = mask + 1;
+        if (previousSlots > Integer.MAX_VALUE / 2 / SLOT_BYTES) {
+            throw new IllegalStateException("내역 인덱스 크기가 최대치를 초과하였습니다.");
+        }
+        allocate(previousSlots * 2);
+        for (int i = 0; i < previousSlots; i++) {
+            int base = i * SLOT_BYTES;
+            long count = previous.getLong(base + COUNT_OFFSET);
+            if (count == 0) {
+                continue;
+            }
+            long userId = previous.getLong(base + USER_ID_OFFSET);
+            int slot = indexOf(userId);
+            while (slots.getLong(slot * SLOT_BYTES + COUNT_OFFSET) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            int target = slot * SLOT_BYTES;
+            slots.putLong(target + USER_ID_OFFSET, userId);
+            slots.putLong(target + HEAD_OFFSET, previous.getLong(base + HEAD_OFFSET));
+            slots.putLong(target + COUNT_OFFSET, count);
+            size++;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 한 사용자의 포인트 내역만 모아두는 append-only 세그먼트
+ * - 내역은 id 오름차순으로만 추가되며, 이미 추가된 원소는 변경되지 않는다.
+ * - 조회는 배열 참조와 크기만 잡아 복사 없이 읽기 전용 뷰를 반환한다.
+ */
+class PointHistorySegment {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile PointHistory[] entries = new PointHistory[INITIAL_CAPACITY];
+    private volatile int size;
+    private volatile boolean loaded;
+
+    // 원본 테이블 없이 처음부터 이 세그먼트가 원본인 경우 사용
+    static PointHistorySegment loaded() {
+        PointHistorySegment segment = new PointHistorySegment();
+        segment.loaded = true;
+        return segment;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    // 새 내역 추가 (이미 반영된 id 이하의 내역은 중복으로 보고 무시)
+    void append(PointHistory pointHistory) {
+        writeLock.lock();
+        try {
+            if (size > 0 && entries[size - 1].id() >= pointHistory.id()) {
+                return;
+            }
+            add(pointHistory);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // id 발급과 추가를 같은 락 안에서 수행해 세그먼트 내 id 오름차순을 보장한다.
+    PointHistory appendNew(Supplier<PointHistory> factory) {
+        writeLock.lock();
+        try {
+            PointHistory pointHistory = factory.get();
+            add(pointHistory);
+            return pointHistory;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void add(PointHistory pointHistory) {
+        PointHistory[] current = entries;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+            entries = current;
+        }
+        current[size] = pointHistory;
+        // 원소를 채운 뒤 크기를 공개해야 읽는 쪽이 비어 있는 칸을 보지 않는다.
+        size = size + 1;
+    }
+
+    // 최초 1회 원본 테이블 내역으로 세그먼트를 채운다.
+    // 적재 중에 append 된 내역과 합치며 id 기준으로 중복을 제거한다.
+    // 원본이 null 이면 적재하지 않고 false 를 반환한다.
+    boolean loadIfAbsent(Supplier<List<PointHistory>> loader) {
+        if (loaded) {
+            return true;
+        }
+        writeLock.lock();
+        try {
+            if (loaded) {
+                return true;
+            }
+            List<PointHistory> source = loader.get();
+            if (source == null) {
+                return false;
+            }
+            TreeMap<Long, PointHistory> merged = new TreeMap<>();
+            for (PointHistory pointHistory : source) {
+                merged.put(pointHistory.id(), pointHistory);
+            }
+            for (int i = 0; i < size; i++) {
+                merged.put(entries[i].id(), entries[i]);
+            }
+            PointHistory[] rebuilt = merged.values().toArray(new PointHistory[Math.max(INITIAL_CAPACITY, merged.size())]);
+            entries = rebuilt;
+            size = merged.size();
+            loaded = true;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 현재 시점까지 추가된 내역의 읽기 전용 뷰
+    List<PointHistory> view() {
+        // size 를 먼저 읽어야 그 크기까지 채워진 배열(또는 더 최신 배열)을 보게 된다.
+        int snapshotSize = size;
+        return new SegmentView(entries, snapshotSize);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // id 로 내역을 찾는다. (id 오름차순이므로 이진 탐색, 없으면 null)
+    PointHistory findById(long id) {
+        int snapshotSize = size;
+        PointHistory[] snapshot = entries;
+        int low = 0;
+        int high = snapshotSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = snapshot[mid].id();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return snapshot[mid];
+            }
+        }
+        return null;
+    }
+
+    private static final class SegmentView extends AbstractList<PointHistory> implements RandomAccess {
+        private final PointHistory[] entries;
+        private final int size;
+
+        private SegmentView(PointHistory[] entries, int size) {
+            this.entries = entries;
+            this.size = size;
+        }
+
+        @Override
+        public PointHistory get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return entries[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
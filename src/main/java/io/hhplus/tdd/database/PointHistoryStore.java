@@ -0,0 +1,73 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointHistoryTotals;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 포인트 충전/이용 내역 저장소
+ * - point.store.history 설정으로 구현체를 선택한다. (table | concurrent | mapped | columnar)
+ * - id 는 저장소 전체에서 1부터 순차적으로 발급된다.
+ */
+public interface PointHistoryStore {
+
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    List<PointHistory> selectAllByUserId(long userId);
+
+    // 조건에 맞는 내역을 지연 평가 스트림으로 반환한다. (사용자 내역을 찾을 수 없으면 null)
+    // 기본 구현은 selectAllByUserId 결과(id 오름차순)에서 커서 위치를 이진 탐색해 필요한 구간만 순회한다.
+    default Stream<PointHistory> streamByUserId(long userId, PointHistoryQuery query) {
+        List<PointHistory> histories = selectAllByUserId(userId);
+        return histories != null ? query.slice(histories) : null;
+    }
+
+    // 사용자의 updateMillis 범위(fromMillis 이상 ~ toMillis 미만) 내역을 (updateMillis, id) 오름차순 스트림으로 반환한다.
+    // 기본 구현은 사용자 내역을 모두 걸러 정렬하며, 시각 인덱스를 둔 저장소는 범위 안의 내역만 순회한다.
+    default Stream<PointHistory> streamByUserIdAndTime(long userId, long fromMillis, long toMillis) {
+        List<PointHistory> histories = selectAllByUserId(userId);
+        if (histories == null) {
+            return Stream.empty();
+        }
+        return histories.stream()
+                .filter(history -> history.updateMillis() >= fromMillis && history.updateMillis() < toMillis)
+                .sorted(PointHistoryTimeIndex.ORDER);
+    }
+
+    // 전체 사용자의 updateMillis 범위(fromMillis 이상 ~ toMillis 미만) 내역을 (updateMillis, id) 오름차순 스트림으로 반환한다.
+    default Stream<PointHistory> streamByTime(long fromMillis, long toMillis) {
+        throw new UnsupportedOperationException("전체 내역 시간 범위 조회를 지원하지 않는 저장소입니다.");
+    }
+
+    // 사용자의 updateMillis 범위(fromMillis 이상 ~ toMillis 미만, null 이면 제한 없음) 내 충전/사용 합계
+    default PointHistoryTotals sumByUserId(long userId, Long fromMillis, Long toMillis) {
+        List<PointHistory> histories = selectAllByUserId(userId);
+        if (histories == null) {
+            return PointHistoryTotals.EMPTY;
+        }
+        long chargeAmount = 0, chargeCount = 0, useAmount = 0, useCount = 0;
+        for (PointHistory history : histories) {
+            if ((fromMillis != null && history.updateMillis() < fromMillis) || (toMillis != null && history.updateMillis() >= toMillis)) {
+                continue;
+            }
+            if (history.type() == TransactionType.CHARGE) {
+                chargeAmount += history.amount();
+                chargeCount++;
+            } else {
+                useAmount += history.amount();
+                useCount++;
+            }
+        }
+        return new PointHistoryTotals(chargeAmount, chargeCount, useAmount, useCount);
+    }
+
+    // 재시작 후에도 남아 있는 내역을 id 순서로 넘긴다. (요약 등 파생 상태 복구용)
+    // 메모리 저장소는 시작 시 비어 있으므로 기본 구현은 아무것도 넘기지 않는다.
+    default void replay(Consumer<PointHistory> consumer) {
+    }
+}
@@ -0,0 +1,313 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 내역 시각(updateMillis) 순서 인덱스 (시간 범위 조회용)
+ * - 내역 객체를 보관하지 않고 (updateMillis, id) 를 정렬된 long 배열 청크(CHUNK_CAPACITY 칸)에 보관한다.
+ *   전체 인덱스는 userId 열을 함께 두며, 사용자별 인덱스는 사용자마다 따로 둔다. (항목당 전체 24바이트 + 사용자별 16바이트)
+ * - 대부분의 내역은 시각 순서대로 들어오므로 마지막 청크 끝에 붙고, 시각이 앞선 내역만 해당 청크 안에서 자리를 옮긴다.
+ *   가득 찬 청크의 중간에 들어오면 청크를 반으로 나눈다.
+ * - 범위 조회는 시작 위치를 이진 탐색으로 찾은 뒤 (userId, id) 를 READ_BATCH 개씩 복사해 순회하고,
+ *   PointHistory 는 스트림에서 꺼낼 때 저장소(Resolver)에서 읽어 만든다. 비용은 실제로 꺼낸 내역 수에 비례한다.
+ * - 다음 묶음은 마지막으로 읽은 (updateMillis, id) 다음 위치를 다시 찾아 읽으므로, 순회 중 청크가 나뉘어도 빠지거나 겹치지 않는다.
+ *   (순회 중 추가된 내역은 보일 수도, 안 보일 수도 있다)
+ * - 요청이 지정한 시각이나 실행 방식에 따라 id 순서와 시각 순서가 다를 수 있으므로 id 순서 저장 구조와 따로 둔다.
+ */
+final class PointHistoryTimeIndex {
+    static final Comparator<PointHistory> ORDER =
+            Comparator.comparingLong(PointHistory::updateMillis).thenComparingLong(PointHistory::id);
+
+    // 한 청크에 담는 최대 항목 수
+    private static final int CHUNK_CAPACITY = 1024;
+    // 청크의 처음 배열 크기 (내역이 적은 사용자의 인덱스가 작게 시작하도록)
+    private static final int INITIAL_CAPACITY = 8;
+    // 범위 조회 시 한 번의 읽기 락으로 복사하는 항목 수
+    private static final int READ_BATCH = 256;
+
+    // 인덱스에 들어 있는 내역을 저장소에서 읽는다.
+    @FunctionalInterface
+    interface Resolver {
+        PointHistory resolve(long userId, long id);
+    }
+
+    private final Resolver resolver;
+    private final SortedChunks all = new SortedChunks(true);
+    private final ConcurrentHashMap<Long, SortedChunks> byUser = new ConcurrentHashMap<>();
+
+    PointHistoryTimeIndex(Resolver resolver) {
+        this.resolver = resolver;
+    }
+
+    void add(long userId, long id, long updateMillis) {
+        all.add(updateMillis, id, userId);
+        byUser.computeIfAbsent(userId, key -> new SortedChunks(false)).add(updateMillis, id, userId);
+    }
+
+    // fromMillis 이상 ~ toMillis 미만
+    Stream<PointHistory> range(long fromMillis, long toMillis) {
+        return materialize(all, 0, fromMillis, toMillis);
+    }
+
+    Stream<PointHistory> range(long userId, long fromMillis, long toMillis) {
+        SortedChunks chunks = byUser.get(userId);
+        return chunks != null ? materialize(chunks, userId, fromMillis, toMillis) : Stream.empty();
+    }
+
+    private Stream<PointHistory> materialize(SortedChunks chunks, long userId, long fromMillis, long toMillis) {
+        if (fromMillis >= toMillis) {
+            return Stream.empty();
+        }
+        RangeIterator iterator = new RangeIterator(chunks, userId, fromMillis, toMillis);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static int compare(long leftMillis, long leftId, long rightMillis, long rightId) {
+        return leftMillis != rightMillis ? Long.compare(leftMillis, rightMillis) : Long.compare(leftId, rightId);
+    }
+
+    // 범위 안의 항목을 READ_BATCH 개씩 읽어 저장소에서 내역을 만든다.
+    private final class RangeIterator implements Iterator<PointHistory> {
+        private final SortedChunks chunks;
+        private final long userId;
+        private final long fromMillis;
+        private final long toMillis;
+        private final long[] millis = new long[READ_BATCH];
+        private final long[] ids = new long[READ_BATCH];
+        private final long[] userIds;
+        private int position;
+        private int size;
+        private boolean exhausted;
+
+        private RangeIterator(SortedChunks chunks, long userId, long fromMillis, long toMillis) {
+            this.chunks = chunks;
+            this.userId = userId;
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+            this.userIds = chunks.withUsers ? new long[READ_BATCH] : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < size) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            boolean started = size > 0;
+            int read = chunks.read(started, started ? millis[size - 1] : 0, started ? ids[size - 1] : 0,
+                    fromMillis, toMillis, millis, ids, userIds);
+            exhausted = read < READ_BATCH;
+            position = 0;
+            size = read;
+            return read > 0;
+        }
+
+        @Override
+        public PointHistory next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int current = position++;
+            return resolver.resolve(userIds != null ? userIds[current] : userId, ids[current]);
+        }
+    }
+
+    // (updateMillis, id) 오름차순으로 정렬된 청크 목록
+    private static final class SortedChunks {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final boolean withUsers;
+        // lock 안에서만 읽고 쓴다. 청크는 첫 항목 기준 오름차순이며 비어 있는 청크는 없다.
+        private final List<Chunk> chunks = new ArrayList<>();
+
+        private SortedChunks(boolean withUsers) {
+            this.withUsers = withUsers;
+        }
+
+        void add(long updateMillis, long id, long userId) {
+            lock.writeLock().lock();
+            try {
+                if (chunks.isEmpty()) {
+                    chunks.add(new Chunk(withUsers, INITIAL_CAPACITY));
+                }
+                int chunkIndex = chunkFor(updateMillis, id);
+                Chunk chunk = chunks.get(chunkIndex);
+                if (chunk.size == CHUNK_CAPACITY) {
+                    if (chunkIndex == chunks.size() - 1 && chunk.isAfterLast(updateMillis, id)) {
+                        // 시각 순서대로 들어온 내역은 새 청크를 시작한다. (앞 청크는 가득 찬 채로 남는다)
+                        chunk = new Chunk(withUsers, INITIAL_CAPACITY);
+                        chunks.add(chunk);
+                    } else {
+                        Chunk upper = chunk.splitUpper();
+                        chunks.add(chunkIndex + 1, upper);
+                        if (compare(updateMillis, id, upper.millis[0], upper.ids[0]) >= 0) {
+                            chunk = upper;
+                        }
+                    }
+                }
+                chunk.insert(updateMillis, id, userId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // fromMillis 이상 ~ toMillis 미만 항목을 started 이면 (afterMillis, afterId) 다음부터 배열 크기만큼 복사하고 복사한 수를 반환한다.
+        int read(boolean started, long afterMillis, long afterId, long fromMillis, long toMillis,
+                 long[] millis, long[] ids, long[] userIds) {
+            lock.readLock().lock();
+            try {
+                if (chunks.isEmpty()) {
+                    return 0;
+                }
+                int chunkIndex;
+                int index;
+                if (started) {
+                    chunkIndex = chunkFor(afterMillis, afterId);
+                    index = chunks.get(chunkIndex).upperBound(afterMillis, afterId);
+                } else {
+                    // fromMillis 보다 앞선 시각에서 시작하는 마지막 청크부터 확인한다. (같은 시각이 청크 경계에 걸칠 수 있다)
+                    chunkIndex = fromMillis == Long.MIN_VALUE ? 0 : chunkFor(fromMillis - 1, Long.MAX_VALUE);
+                    index = chunks.get(chunkIndex).lowerBound(fromMillis);
+                }
+                int count = 0;
+                for (; chunkIndex < chunks.size(); chunkIndex++, index = 0) {
+                    Chunk chunk = chunks.get(chunkIndex);
+                    for (; index < chunk.size; index++) {
+                        if (chunk.millis[index] >= toMillis || count == ids.length) {
+                            return count;
+                        }
+                        millis[count] = chunk.millis[index];
+                        ids[count] = chunk.ids[index];
+                        if (userIds != null) {
+                            userIds[count] = chunk.userIds[index];
+                        }
+                        count++;
+                    }
+                }
+                return count;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // 첫 항목이 (updateMillis, id) 이하인 마지막 청크 (없으면 0)
+        private int chunkFor(long updateMillis, long id) {
+            int low = 0;
+            int high = chunks.size() - 1;
+            int found = 0;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                Chunk chunk = chunks.get(mid);
+                if (compare(chunk.millis[0], chunk.ids[0], updateMillis, id) <= 0) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+
+    private static final class Chunk {
+        private long[] millis;
+        private long[] ids;
+        private long[] userIds;
+        private int size;
+
+        private Chunk(boolean withUsers, int capacity) {
+            this.millis = new long[capacity];
+            this.ids = new long[capacity];
+            this.userIds = withUsers ? new long[capacity] : null;
+        }
+
+        boolean isAfterLast(long updateMillis, long id) {
+            return compare(updateMillis, id, millis[size - 1], ids[size - 1]) > 0;
+        }
+
+        void insert(long updateMillis, long id, long userId) {
+            if (size == millis.length) {
+                int capacity = Math.min(millis.length * 2, CHUNK_CAPACITY);
+                millis = Arrays.copyOf(millis, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                if (userIds != null) {
+                    userIds = Arrays.copyOf(userIds, capacity);
+                }
+            }
+            int position = upperBound(updateMillis, id);
+            int moved = size - position;
+            if (moved > 0) {
+                System.arraycopy(millis, position, millis, position + 1, moved);
+                System.arraycopy(ids, position, ids, position + 1, moved);
+                if (userIds != null) {
+                    System.arraycopy(userIds, position, userIds, position + 1, moved);
+                }
+            }
+            millis[position] = updateMillis;
+            ids[position] = id;
+            if (userIds != null) {
+                userIds[position] = userId;
+            }
+            size++;
+        }
+
+        // 뒤쪽 절반을 새 청크로 옮긴다.
+        Chunk splitUpper() {
+            int half = size / 2;
+            Chunk upper = new Chunk(userIds != null, CHUNK_CAPACITY);
+            int moved = size - half;
+            System.arraycopy(millis, half, upper.millis, 0, moved);
+            System.arraycopy(ids, half, upper.ids, 0, moved);
+            if (userIds != null) {
+                System.arraycopy(userIds, half, upper.userIds, 0, moved);
+            }
+            upper.size = moved;
+            size = half;
+            return upper;
+        }
+
+        // 시각이 updateMillis 이상인 첫 위치
+        int lowerBound(long updateMillis) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (millis[mid] < updateMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // (updateMillis, id) 보다 뒤에 오는 첫 위치
+        int upperBound(long updateMillis, long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(millis[mid], ids[mid], updateMillis, id) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long 배열 기반 open addressing 잔고 저장소
+ * - 사용자마다 Long 키, 맵 엔트리, UserPoint 객체를 두지 않고 [userId, 잔고, updateMillis] 세 칸을 long 배열에 연속으로 저장한다.
+ *   UserPoint 는 조회/저장 결과를 반환할 때만 만든다.
+ * - 배열은 세그먼트마다 하나뿐이므로 사용자 수가 늘어도 GC 가 추적할 객체 수는 늘지 않는다.
+ * - userId 해시로 고른 세그먼트(64개)마다 StampedLock 을 두고, 조회는 낙관적 읽기로 락 없이 읽은 뒤 검증한다.
+ * - 선형 탐사이며 삭제는 지원하지 않는다. (잔고 저장소에는 삭제 연산이 없다)
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "balance", havingValue = "primitive")
+public class PrimitiveUserPointStore implements UserPointStore {
+    private static final int SEGMENT_COUNT = 64;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    public PrimitiveUserPointStore() {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long hash = hash(id);
+        return segmentFor(hash).get(id, hash);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long hash = hash(id);
+        long updateMillis = System.currentTimeMillis();
+        segmentFor(hash).put(id, hash, amount, updateMillis);
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    // 저장된 사용자 수
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    // 테이블 배열이 차지하는 바이트 수 (빈 칸 포함)
+    public long tableBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.tableBytes();
+        }
+        return bytes;
+    }
+
+    private Segment segmentFor(long hash) {
+        // 상위 비트로 세그먼트를, 하위 비트로 세그먼트 안의 칸을 고른다.
+        return segments[(int) (hash >>> 58)];
+    }
+
+    private static long hash(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static final class Segment {
+        // 한 칸 = [userId, 잔고, updateMillis]
+        private static final int STRIDE = 3;
+        private static final int INITIAL_SLOTS = 256;
+        private static final long EMPTY = 0L;
+
+        private final StampedLock lock = new StampedLock();
+        private long[] table = new long[INITIAL_SLOTS * STRIDE];
+        private int size;
+
+        // userId = 0 은 빈 칸 표시와 겹치므로 따로 둔다.
+        private boolean hasZeroKey;
+        private long zeroKeyPoint;
+        private long zeroKeyUpdateMillis;
+
+        UserPoint get(long id, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            UserPoint userPoint = find(id, hash);
+            if (lock.validate(stamp)) {
+                return userPoint;
+            }
+            // 읽는 사이 쓰기가 있었다면 읽기 락으로 다시 읽는다.
+            stamp = lock.readLock();
+            try {
+                return find(id, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void put(long id, long hash, long point, long updateMillis) {
+            long stamp = lock.writeLock();
+            try {
+                if (id == EMPTY) {
+                    if (!hasZeroKey) {
+                        size++;
+                    }
+                    hasZeroKey = true;
+                    zeroKeyPoint = point;
+                    zeroKeyUpdateMillis = updateMillis;
+                    return;
+                }
+                // 적재율 0.75 를 넘기 전에 늘린다.
+                if ((size + 1) * 4L > (table.length / STRIDE) * 3L) {
+                    resize();
+                }
+                long[] current = table;
+                int mask = current.length / STRIDE - 1;
+                int slot = (int) hash & mask;
+                while (true) {
+                    int base = slot * STRIDE;
+                    long key = current[base];
+                    if (key == EMPTY) {
+                        current[base] = id;
+                        current[base + 1] = point;
+                        current[base + 2] = updateMillis;
+                        size++;
+                        return;
+                    }
+                    if (key == id) {
+                        current[base + 1] = point;
+                        current[base + 2] = updateMillis;
+                        return;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        long tableBytes() {
+            long stamp = lock.readLock();
+            try {
+                return (long) table.length * Long.BYTES;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // 낙관적 읽기 중에도 안전하도록 배열 참조를 한 번만 읽고, 탐사 횟수를 칸 수로 제한한다.
+        private UserPoint find(long id, long hash) {
+            if (id == EMPTY) {
+                return hasZeroKey ? new UserPoint(id, zeroKeyPoint, zeroKeyUpdateMillis) : UserPoint.empty(id);
+            }
+            long[] current = table;
+            int slots = current.length / STRIDE;
+            int mask = slots - 1;
+            int slot = (int) hash & mask;
+            for (int probe = 0; probe < slots; probe++) {
+                int base = slot * STRIDE;
+                long key = current[base];
+                if (key == EMPTY) {
+                    break;
+                }
+                if (key == id) {
+                    return new UserPoint(id, current[base + 1], current[base + 2]);
+                }
+                slot = (slot + 1) & mask;
+            }
+            return UserPoint.empty(id);
+        }
+
+        private void resize() {
+            long[] previous = table;
+            int slots = previous.length / STRIDE * 2;
+            long[] resized = new long[slots * STRIDE];
+            int mask = slots - 1;
+            for (int base = 0; base < previous.length; base += STRIDE) {
+                long key = previous[base];
+                if (key == EMPTY) {
+                    continue;
+                }
+                int slot = (int) hash(key) & mask;
+                while (resized[slot * STRIDE] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                int target = slot * STRIDE;
+                resized[target] = key;
+                resized[target + 1] = previous[base + 1];
+                resized[target + 2] = previous[base + 2];
+            }
+            table = resized;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * PointHistoryTable 위에 사용자별 내역 인덱스(userId -> append-only 세그먼트)를 유지하는 저장소 (기본값)
+ * - 쓰기는 PointHistoryTable.insert 를 그대로 거치므로 id, cursor 규칙은 변하지 않는다.
+ * - 사용자별 조회는 전체 테이블을 훑지 않고 해당 사용자의 내역 수에 비례한다.
+ * - 세그먼트는 해당 사용자를 처음 조회할 때 테이블에서 한 번만 적재한다.
+ * - 시간 범위 조회는 이 저장소로 기록한 내역의 시각 인덱스(PointHistoryTimeIndex)로 처리한다.
+ *   인덱스는 (시각, id) 만 보관하고, 내역은 사용자 세그먼트에서 id 로 찾는다. (적재 전인 사용자는 이때 테이블에서 적재한다)
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "history", havingValue = "table", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TablePointHistoryStore implements PointHistoryStore {
+    private final PointHistoryTable pointHistoryTable;
+    private final PointMetrics pointMetrics;
+
+    private final ConcurrentHashMap<Long, PointHistorySegment> segments = new ConcurrentHashMap<>();
+    private final PointHistoryTimeIndex timeIndex = new PointHistoryTimeIndex(this::selectById);
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long start = pointMetrics.start();
+        PointHistory pointHistory;
+        try {
+            pointHistory = pointHistoryTable.insert(userId, amount, type, updateMillis);
+        } finally {
+            pointMetrics.recordTable(PointMetrics.TableCall.POINT_HISTORY_INSERT, start);
+        }
+        if (pointHistory == null) {
+            return null;
+        }
+        timeIndex.add(userId, pointHistory.id(), pointHistory.updateMillis());
+        // 아직 적재 전인 사용자는 최초 조회 시 테이블에서 함께 읽어오므로 건너뛴다.
+        PointHistorySegment segment = segments.get(userId);
+        if (segment != null) {
+            segment.append(pointHistory);
+        }
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        PointHistorySegment segment = segments.computeIfAbsent(userId, id -> new PointHistorySegment());
+        if (!segment.loadIfAbsent(() -> selectFromTable(userId))) {
+            return null;
+        }
+        return segment.view();
+    }
+
+    @Override
+    public Stream<PointHistory> streamByUserIdAndTime(long userId, long fromMillis, long toMillis) {
+        return timeIndex.range(userId, fromMillis, toMillis);
+    }
+
+    @Override
+    public Stream<PointHistory> streamByTime(long fromMillis, long toMillis) {
+        return timeIndex.range(fromMillis, toMillis);
+    }
+
+    private PointHistory selectById(long userId, long id) {
+        PointHistorySegment segment = segments.computeIfAbsent(userId, key -> new PointHistorySegment());
+        PointHistory pointHistory = segment.loadIfAbsent(() -> selectFromTable(userId)) ? segment.findById(id) : null;
+        if (pointHistory == null) {
+            throw new IllegalStateException("포인트 내역을 읽을 수 없습니다. userId=" + userId + ", id=" + id);
+        }
+        return pointHistory;
+    }
+
+    private List<PointHistory> selectFromTable(long userId) {
+        long start = pointMetrics.start();
+        try {
+            return pointHistoryTable.selectAllByUserId(userId);
+        } finally {
+            pointMetrics.recordTable(PointMetrics.TableCall.POINT_HISTORY_SELECT, start);
+        }
+    }
+}
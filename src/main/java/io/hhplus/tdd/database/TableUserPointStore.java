@@ -0,0 +1,38 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * UserPointTable 을 그대로 사용하는 잔고 저장소 (기본값)
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "balance", havingValue = "table", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TableUserPointStore implements UserPointStore {
+    private final UserPointTable userPointTable;
+    private final PointMetrics pointMetrics;
+
+    @Override
+    public UserPoint selectById(long id) {
+        long start = pointMetrics.start();
+        try {
+            return userPointTable.selectById(id);
+        } finally {
+            pointMetrics.recordTable(PointMetrics.TableCall.USER_POINT_SELECT, start);
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long start = pointMetrics.start();
+        try {
+            return userPointTable.insertOrUpdate(id, amount);
+        } finally {
+            pointMetrics.recordTable(PointMetrics.TableCall.USER_POINT_UPSERT, start);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 사용자 포인트 잔고 저장소
+ * - point.store.balance 설정으로 구현체를 선택한다. (table | concurrent | wal | primitive)
+ */
+public interface UserPointStore {
+
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+
+    // 버전 비교 후 저장(compare-and-set)을 지원하는지 (point.execution.mode = optimistic)
+    default boolean supportsCompareAndSet() {
+        return false;
+    }
+
+    default VersionedUserPoint selectVersionedById(long id) {
+        throw new UnsupportedOperationException("버전 조회를 지원하지 않는 잔고 저장소입니다.");
+    }
+
+    // 현재 버전이 expectedVersion 일 때만 저장하고 저장된 잔고를 반환한다. 그 사이 다른 저장이 있었다면 null 을 반환한다.
+    default UserPoint compareAndSet(long id, long expectedVersion, long amount) {
+        throw new UnsupportedOperationException("버전 비교 저장을 지원하지 않는 잔고 저장소입니다.");
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 버전이 붙은 잔고 (낙관적 실행 방식의 compare-and-set 용)
+ * - version 은 사용자별로 잔고가 저장될 때마다 1씩 증가하며, 저장된 적 없는 사용자는 0 이다.
+ */
+public record VersionedUserPoint(
+        UserPoint userPoint,
+        long version
+) {
+}
@@ -0,0 +1,217 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WAL + 스냅샷으로 재시작 후에도 잔고를 유지하는 잔고 저장소
+ * - 잔고는 메모리(ConcurrentHashMap)에서 읽고, 변경은 BalanceWal 에 기록한 뒤 group commit 으로 디스크에 반영될 때 반환한다.
+ * - point.store.wal.snapshot-interval-ms 마다 WAL 을 새 세대로 넘기고 전체 잔고를 스냅샷 파일로 기록한 뒤 이전 세대 WAL 을 지운다.
+ *   재시작 시 스냅샷을 읽고 그 이후 세대 WAL 만 replay 하므로 복구 시간은 스냅샷 주기 동안의 변경 수에 비례한다.
+ * - 스냅샷은 임시 파일에 기록하고 fsync 한 뒤 이름을 바꿔 교체하므로, 중간에 중단돼도 이전 스냅샷이 남는다.
+ * - 맵은 WAL 순서대로 먼저 반영하고 디스크 반영을 기다린다. 반영에 실패하면 그 사용자의 이전 잔고로 되돌리고,
+ *   이후에는 쓰기와 함께 조회도 거절한다. (디스크에 남았는지 알 수 없는 잔고를 응답하지 않도록)
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "balance", havingValue = "wal")
+public class WalUserPointStore implements UserPointStore {
+    private static final Logger log = LoggerFactory.getLogger(WalUserPointStore.class);
+
+    private static final String SNAPSHOT_FILE = "snapshot.dat";
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+    private static final int SNAPSHOT_MAGIC = 0x50574C53;
+
+    private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private final Path directory;
+    private final BalanceWal wal;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final ScheduledExecutorService snapshotScheduler;
+
+    // WAL 파일을 쓰기용으로 연다. (디스크 쓰기 실패를 재현하는 테스트에서 바꿔 끼운다)
+    @FunctionalInterface
+    public interface ChannelOpener {
+        ChannelOpener DEFAULT = path -> FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        FileChannel open(Path path) throws IOException;
+    }
+
+    @Autowired
+    public WalUserPointStore(@Value("${point.store.wal.dir:./data/point-balance}") String directory,
+                             @Value("${point.store.wal.flush-batch-size:512}") int flushBatchSize,
+                             @Value("${point.store.wal.flush-interval-ms:2}") long flushIntervalMillis,
+                             @Value("${point.store.wal.snapshot-interval-ms:60000}") long snapshotIntervalMillis) {
+        this(directory, flushBatchSize, flushIntervalMillis, snapshotIntervalMillis, ChannelOpener.DEFAULT);
+    }
+
+    public WalUserPointStore(String directory, int flushBatchSize, long flushIntervalMillis, long snapshotIntervalMillis,
+                             ChannelOpener channelOpener) {
+        this.directory = Path.of(directory);
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(this.directory);
+            long fromGeneration = loadSnapshot();
+            this.wal = new BalanceWal(this.directory, channelOpener, fromGeneration, flushBatchSize, flushIntervalMillis,
+                    (userId, point, updateMillis) -> table.put(userId, new UserPoint(userId, point, updateMillis)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("잔고 WAL 을 열 수 없습니다. " + this.directory, e);
+        }
+        log.info("잔고 {}건을 {}ms 만에 복구했습니다. ({})", table.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), this.directory);
+
+        if (snapshotIntervalMillis > 0) {
+            this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-wal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                    snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.snapshotScheduler = null;
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        if (wal.isFailed()) {
+            throw new IllegalStateException("잔고 WAL 기록에 실패해 잔고를 조회할 수 없습니다.");
+        }
+        UserPoint userPoint = table.get(id);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
+    }
+
+    // 같은 사용자의 변경은 사용자 락(또는 메일박스) 안에서 호출되므로 WAL 순서와 맵 반영 순서가 같다.
+    // 같은 이유로 이전 잔고는 이 사용자의 직전 변경이 디스크에 반영된 값이다.
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint previous = table.get(id);
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        long sequence = wal.append(id, amount, userPoint.updateMillis(), () -> table.put(id, userPoint));
+        try {
+            wal.awaitDurable(sequence);
+        } catch (RuntimeException e) {
+            // 디스크에 반영되지 않은 잔고를 맵에서 되돌린다.
+            if (previous != null) {
+                table.replace(id, userPoint, previous);
+            } else {
+                table.remove(id, userPoint);
+            }
+            throw e;
+        }
+        return userPoint;
+    }
+
+    // WAL 을 새 세대로 넘기고 현재 잔고 전체를 스냅샷으로 기록한 뒤, 스냅샷에 포함된 이전 세대 WAL 을 지운다.
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            // rotate 이전 세대의 변경은 모두 맵에 반영되어 있다. (이후 변경이 섞여 들어가도 새 세대 replay 로 같은 값이 된다)
+            long generation = wal.rotate();
+            List<UserPoint> userPoints = new ArrayList<>(table.values());
+            writeSnapshot(generation, userPoints);
+            wal.deleteBefore(generation);
+            log.info("잔고 스냅샷 {}건을 기록했습니다. (WAL 세대 {})", userPoints.size(), generation);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdown();
+        }
+        wal.close();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("잔고 스냅샷 기록에 실패했습니다.", e);
+        }
+    }
+
+    // 스냅샷 구성 : magic(4) + WAL 세대(8) + 건수(4) + [userId(8) + 잔고(8) + updateMillis(8)] * 건수 + 체크섬(8)
+    private void writeSnapshot(long generation, List<UserPoint> userPoints) throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(generation);
+            out.writeInt(userPoints.size());
+            long checksum = generation;
+            for (UserPoint userPoint : userPoints) {
+                out.writeLong(userPoint.id());
+                out.writeLong(userPoint.point());
+                out.writeLong(userPoint.updateMillis());
+                checksum = mix(checksum, userPoint);
+            }
+            out.writeLong(checksum);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 스냅샷을 맵에 채우고, 이어서 replay 할 WAL 세대를 반환한다. (스냅샷이 없으면 처음부터)
+    private long loadSnapshot() throws IOException {
+        Path path = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IllegalStateException("잔고 스냅샷 형식이 올바르지 않습니다. " + path);
+            }
+            long generation = in.readLong();
+            int count = in.readInt();
+            long checksum = generation;
+            for (int i = 0; i < count; i++) {
+                UserPoint userPoint = new UserPoint(in.readLong(), in.readLong(), in.readLong());
+                table.put(userPoint.id(), userPoint);
+                checksum = mix(checksum, userPoint);
+            }
+            if (in.readLong() != checksum) {
+                // 이름 교체 전에 fsync 하므로 정상적으로는 일어나지 않는다. 이전 세대 WAL 이 지워졌을 수 있어 그대로 진행하지 않는다.
+                throw new IllegalStateException("잔고 스냅샷 체크섬이 맞지 않습니다. " + path);
+            }
+            return generation;
+        }
+    }
+
+    private static long mix(long checksum, UserPoint userPoint) {
+        checksum = checksum * 0x9E3779B97F4A7C15L + userPoint.id();
+        checksum = checksum * 0x9E3779B97F4A7C15L + userPoint.point();
+        return checksum * 0x9E3779B97F4A7C15L + userPoint.updateMillis();
+    }
+}
@@ -0,0 +1,143 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 같은 사용자의 대기 중인 요청을 묶어 한 번에 반영하는 실행 방식 (group commit)
+ * - 요청은 사용자별 대기열에 넣은 뒤 사용자 락을 잡는다.
+ * - 락을 잡은 스레드는 자기 요청이 아직 처리되지 않았다면 대기열에 쌓인 요청을 모두 꺼내
+ *   PointCommandProcessor.processAll 로 한 번의 조회, 한 번의 잔고 저장으로 처리한다.
+ * - 앞선 스레드가 이미 함께 처리했다면 바로 결과를 반환한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.execution", name = "mode", havingValue = "batch")
+public class GroupCommitPointCommandExecutor implements PointCommandExecutor {
+    private final UserLockRegistry userLockRegistry;
+    private final PointCommandProcessor pointCommandProcessor;
+    private final PointMetrics pointMetrics;
+    private final int maxBatchSize;
+
+    private final ConcurrentHashMap<Long, ConcurrentLinkedQueue<PendingCommand>> pendingCommands = new ConcurrentHashMap<>();
+
+    public GroupCommitPointCommandExecutor(UserLockRegistry userLockRegistry,
+                                           PointCommandProcessor pointCommandProcessor,
+                                           PointMetrics pointMetrics,
+                                           @Value("${point.execution.max-batch-size:100}") int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("최대 배치 크기가 유효하지 않습니다.");
+        }
+        this.userLockRegistry = userLockRegistry;
+        this.pointCommandProcessor = pointCommandProcessor;
+        this.pointMetrics = pointMetrics;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command) {
+        PendingCommand pending = new PendingCommand(command);
+        long userId = command.userId();
+        // 대기열 생성/정리와 경합하지 않도록 같은 키의 원자적 연산 안에서 넣는다.
+        ConcurrentLinkedQueue<PendingCommand> queue = pendingCommands.compute(userId, (id, current) -> {
+            ConcurrentLinkedQueue<PendingCommand> target = current != null ? current : new ConcurrentLinkedQueue<>();
+            target.add(pending);
+            return target;
+        });
+
+        PointMetrics.Operation operation = PointMetrics.Operation.of(command.type());
+        long waitStart = pointMetrics.start();
+        userLockRegistry.lock(userId);
+        long holdStart = pointMetrics.start();
+        pointMetrics.recordLockWait(operation, waitStart);
+        try {
+            // 자기 요청이 처리될 때까지 대기열 앞에서부터 배치 단위로 처리한다.
+            while (pending.result == null) {
+                commit(queue);
+            }
+            pendingCommands.computeIfPresent(userId, (id, current) -> current.isEmpty() ? null : current);
+        } finally {
+            userLockRegistry.unlock(userId);
+            pointMetrics.recordLockHold(operation, holdStart);
+        }
+        return pending.result.getOrThrow();
+    }
+
+    // 요청 스레드가 이미 묶어 온 요청이므로 대기열을 거치지 않고 사용자 락 안에서 바로 반영한다.
+    @Override
+    public List<PointCommandResult> executeAll(List<PointCommand> commands) {
+        long userId = commands.get(0).userId();
+        long waitStart = pointMetrics.start();
+        userLockRegistry.lock(userId);
+        long holdStart = pointMetrics.start();
+        pointMetrics.recordLockWait(PointMetrics.Operation.BATCH, waitStart);
+        try {
+            return pointCommandProcessor.processAll(commands);
+        } catch (RuntimeException e) {
+            return commands.stream().map(command -> PointCommandResult.failure(e)).toList();
+        } finally {
+            userLockRegistry.unlock(userId);
+            pointMetrics.recordLockHold(PointMetrics.Operation.BATCH, holdStart);
+        }
+    }
+
+    // 이체는 대기열을 거치지 않고 두 사용자의 락을 정해진 순서로 잡아 바로 반영한다.
+    // 락을 잡은 동안에는 어느 사용자의 대기열도 비워지지 않으므로 묶어 처리하는 요청과 겹치지 않는다.
+    @Override
+    public PointTransferResult transfer(PointTransfer transfer) {
+        long waitStart = pointMetrics.start();
+        userLockRegistry.lockBoth(transfer.senderId(), transfer.receiverId());
+        long holdStart = pointMetrics.start();
+        pointMetrics.recordLockWait(PointMetrics.Operation.TRANSFER, waitStart);
+        try {
+            return pointCommandProcessor.processTransfer(transfer);
+        } finally {
+            userLockRegistry.unlockBoth(transfer.senderId(), transfer.receiverId());
+            pointMetrics.recordLockHold(PointMetrics.Operation.TRANSFER, holdStart);
+        }
+    }
+
+    private void commit(ConcurrentLinkedQueue<PendingCommand> queue) {
+        List<PendingCommand> batch = new ArrayList<>(Math.min(maxBatchSize, 16));
+        PendingCommand next;
+        while (batch.size() < maxBatchSize && (next = queue.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<PointCommandResult> results;
+        try {
+            results = pointCommandProcessor.processAll(batch.stream().map(PendingCommand::command).toList());
+        } catch (RuntimeException e) {
+            // 저장 자체가 실패하면 배치 전체를 실패로 처리한다.
+            for (PendingCommand pending : batch) {
+                pending.result = PointCommandResult.failure(e);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result = results.get(i);
+        }
+    }
+
+    private static final class PendingCommand {
+        private final PointCommand command;
+        // 같은 사용자 락 안에서만 쓰고 읽는다.
+        private PointCommandResult result;
+
+        private PendingCommand(PointCommand command) {
+            this.command = command;
+        }
+
+        private PointCommand command() {
+            return command;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 요청 스레드가 사용자 락을 직접 잡고 처리하는 실행 방식 (기본값)
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.execution", name = "mode", havingValue = "lock", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LockPointCommandExecutor implements PointCommandExecutor {
+    private final UserLockRegistry userLockRegistry;
+    private final PointCommandProcessor pointCommandProcessor;
+    private final PointMetrics pointMetrics;
+
+    @Override
+    public UserPoint execute(PointCommand command) {
+        // 동일 사용자에 대해 동기화
+        // 락 생성/정리는 UserLockRegistry 가 참조 수 기준으로 관리한다.
+        // try-finally를 사용하여 예외가 발생해도 항상 unlock() 호출
+        PointMetrics.Operation operation = PointMetrics.Operation.of(command.type());
+        long waitStart = pointMetrics.start();
+        userLockRegistry.lock(command.userId());
+        long holdStart = pointMetrics.start();
+        pointMetrics.recordLockWait(operation, waitStart);
+        try{
+            return pointCommandProcessor.process(command);
+        } finally {
+            userLockRegistry.unlock(command.userId()); // 락 해제
+            pointMetrics.recordLockHold(operation, holdStart);
+        }
+    }
+
+    // 사용자 락을 한 번만 잡고 processAll 로 한 번의 조회와 한 번의 잔고 저장으로 처리한다.
+    @Override
+    public List<PointCommandResult> executeAll(List<PointCommand> commands) {
+        long userId = commands.get(0).userId();
+        long waitStart = pointMetrics.start();
+        userLockRegistry.lock(userId);
+        long holdStart = pointMetrics.start();
+        pointMetrics.recordLockWait(PointMetrics.Operation.BATCH, waitStart);
+        try {
+            return pointCommandProcessor.processAll(commands);
+        } catch (RuntimeException e) {
+            // 저장 자체가 실패하면 전체를 실패로 처리한다.
+            return commands.stream().map(command -> PointCommandResult.failure(e)).toList();
+        } finally {
+            userLockRegistry.unlock(userId);
+            pointMetrics.recordLockHold(PointMetrics.Operation.BATCH, holdStart);
+        }
+    }
+
+    // 두 사용자의 락을 정해진 순서로 잡고 한 번에 반영한다.
+    @Override
+    public PointTransferResult transfer(PointTransfer transfer) {
+        long waitStart = pointMetrics.start();
+        userLockRegistry.lockBoth(transfer.senderId(), transfer.receiverId());
+        long holdStart = pointMetrics.start();
+        pointMetrics.recordLockWait(PointMetrics.Operation.TRANSFER, waitStart);
+        try {
+            return pointCommandProcessor.processTransfer(transfer);
+        } finally {
+            userLockRegistry.unlockBoth(transfer.senderId(), transfer.receiverId());
+            pointMetrics.recordLockHold(PointMetrics.Operation.TRANSFER, holdStart);
+        }
+    }
+}
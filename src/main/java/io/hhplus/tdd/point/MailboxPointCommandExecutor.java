@@ -0,0 +1,179 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자별 메일박스(단일 작성자) 실행 방식
+ * - 요청은 해당 사용자의 메일박스에 쌓이고, 작은 전용 풀이 메일박스 단위로 순서대로 비운다.
+ * - 한 메일박스는 동시에 하나의 스레드만 비우므로 같은 사용자의 요청은 락 없이 순차 처리된다.
+ * - 요청 스레드는 락 대신 CompletableFuture 결과를 기다린다.
+ * - 이체는 두 메일박스를 함께 멈출 수 없으므로 요청 스레드가 두 사용자의 락을 잡고 처리한다.
+ *   메일박스도 요청마다 사용자 락을 잡고 처리해 이체와 겹치지 않는다. (같은 사용자의 요청은 한 스레드만 처리하므로
+ *   이체 중이 아니면 경합 없이 바로 잡힌다)
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.execution", name = "mode", havingValue = "actor")
+public class MailboxPointCommandExecutor implements PointCommandExecutor {
+    // 한 번 스케줄될 때 처리할 최대 요청 수 (요청이 몰린 사용자가 풀을 독점하지 않도록)
+    private static final int THROUGHPUT = 64;
+
+    private final PointCommandProcessor pointCommandProcessor;
+    private final UserLockRegistry userLockRegistry;
+    private final PointMetrics pointMetrics;
+    private final ExecutorService dispatcher;
+    private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public MailboxPointCommandExecutor(PointCommandProcessor pointCommandProcessor,
+                                       UserLockRegistry userLockRegistry,
+                                       PointMetrics pointMetrics,
+                                       @Value("${point.execution.mailbox-threads:8}") int threads) {
+        this.pointCommandProcessor = pointCommandProcessor;
+        this.userLockRegistry = userLockRegistry;
+        this.pointMetrics = pointMetrics;
+        this.dispatcher = Executors.newFixedThreadPool(threads, new MailboxThreadFactory());
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command) {
+        try {
+            return submit(command).join();
+        } catch (CompletionException e) {
+            // 처리 중 발생한 예외는 요청 스레드에서 그대로 다시 던진다.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 모두 같은 메일박스에 순서대로 넣은 뒤 결과를 모은다.
+    @Override
+    public List<PointCommandResult> executeAll(List<PointCommand> commands) {
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>(commands.size());
+        for (PointCommand command : commands) {
+            futures.add(submit(command));
+        }
+        List<PointCommandResult> results = new ArrayList<>(commands.size());
+        for (CompletableFuture<UserPoint> future : futures) {
+            try {
+                results.add(PointCommandResult.success(future.join()));
+            } catch (CompletionException e) {
+                results.add(PointCommandResult.failure(e.getCause() instanceof RuntimeException cause ? cause : e));
+            }
+        }
+        return results;
+    }
+
+    // 두 사용자의 락을 정해진 순서로 잡고 요청 스레드에서 한 번에 반영한다.
+    @Override
+    public PointTransferResult transfer(PointTransfer transfer) {
+        long waitStart = pointMetrics.start();
+        userLockRegistry.lockBoth(transfer.senderId(), transfer.receiverId());
+        long holdStart = pointMetrics.start();
+        pointMetrics.recordLockWait(PointMetrics.Operation.TRANSFER, waitStart);
+        try {
+            return pointCommandProcessor.processTransfer(transfer);
+        } finally {
+            userLockRegistry.unlockBoth(transfer.senderId(), transfer.receiverId());
+            pointMetrics.recordLockHold(PointMetrics.Operation.TRANSFER, holdStart);
+        }
+    }
+
+    public CompletableFuture<UserPoint> submit(PointCommand command) {
+        Envelope envelope = new Envelope(command, new CompletableFuture<>());
+        // 메일박스 생성/정리와 경합하지 않도록 같은 키의 원자적 연산 안에서 넣는다.
+        Mailbox mailbox = mailboxes.compute(command.userId(), (id, current) -> {
+            Mailbox target = current != null ? current : new Mailbox(id);
+            target.queue.add(envelope);
+            return target;
+        });
+        schedule(mailbox);
+        return envelope.result;
+    }
+
+    // 현재 처리 대기 중인 메일박스 수
+    public int size() {
+        return mailboxes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    private void schedule(Mailbox mailbox) {
+        if (mailbox.scheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(mailbox));
+        }
+    }
+
+    private void drain(Mailbox mailbox) {
+        int processed = 0;
+        Envelope envelope;
+        while (processed < THROUGHPUT && (envelope = mailbox.queue.poll()) != null) {
+            envelope.run(pointCommandProcessor, userLockRegistry);
+            processed++;
+        }
+        mailbox.scheduled.set(false);
+        if (!mailbox.queue.isEmpty()) {
+            // 남은 요청은 다시 스케줄해 다른 사용자와 번갈아 처리한다.
+            schedule(mailbox);
+            return;
+        }
+        // 비어 있는 메일박스는 정리한다. 그 사이 요청이 들어왔다면 유지된다.
+        mailboxes.computeIfPresent(mailbox.userId, (id, current) ->
+                current == mailbox && current.queue.isEmpty() && !current.scheduled.get() ? null : current);
+    }
+
+    private static final class Mailbox {
+        private final long userId;
+        private final ConcurrentLinkedQueue<Envelope> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Mailbox(long userId) {
+            this.userId = userId;
+        }
+    }
+
+    private record Envelope(PointCommand command, CompletableFuture<UserPoint> result) {
+
+        void run(PointCommandProcessor pointCommandProcessor, UserLockRegistry userLockRegistry) {
+            try {
+                userLockRegistry.lock(command.userId());
+                try {
+                    result.complete(pointCommandProcessor.process(command));
+                } finally {
+                    userLockRegistry.unlock(command.userId());
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class MailboxThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "point-mailbox-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
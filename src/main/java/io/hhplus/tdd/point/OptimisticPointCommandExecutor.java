@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 락 없이 compare-and-set 으로 잔고를 반영하는 실행 방식 (point.execution.mode = optimistic)
+ * - 버전과 함께 잔고를 읽고 계산한 뒤 버전이 그대로일 때만 저장한다. 경합이 드문 대부분의 사용자는 락을 잡지 않는다.
+ * - 충돌하면 지수 백오프(backoff-nanos * 2^시도, 임의 지연)로 max-retries 번까지 다시 시도하고,
+ *   그래도 실패하면 사용자 락을 잡고 성공할 때까지 시도한다. 락 안의 요청과 다투는 것은 아직 재시도 중인 요청뿐이므로 곧 끝난다.
+ * - 사용자 락이 잡혀 있으면(락으로 넘어간 요청이나 이체가 처리 중이면) 락 없이 저장하지 않고 바로 락 경로로 넘어간다.
+ * - 잔고 저장소가 compare-and-set 을 지원하지 않으면(현재 concurrent 만 지원) 모든 요청을 사용자 락으로 처리한다.
+ * - 같은 사용자의 요청이 동시에 저장되면 내역 기록 순서가 잔고 반영 순서와 다를 수 있다. (금액 합계는 같다)
+ * - 여러 건 처리(executeAll)는 한 건씩 처리한다. (processAll 은 버전 비교 없이 저장하므로 쓰지 않는다)
+ * - 이체(transfer)는 두 사용자의 락을 잡고 두 잔고를 compare-and-set 으로 저장한다.
+ *   락을 잡기 전에 이미 시작된 요청과 충돌하면 보낸 쪽 잔고를 되돌린 뒤 다시 시도한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.execution", name = "mode", havingValue = "optimistic")
+public class OptimisticPointCommandExecutor implements PointCommandExecutor {
+    private static final Logger log = LoggerFactory.getLogger(OptimisticPointCommandExecutor.class);
+
+    private final UserLockRegistry userLockRegistry;
+    private final PointCommandProcessor pointCommandProcessor;
+    private final PointMetrics pointMetrics;
+    private final boolean supported;
+    private final int maxRetries;
+    private final long backoffNanos;
+
+    public OptimisticPointCommandExecutor(UserPointStore userPointStore,
+                                          UserLockRegistry userLockRegistry,
+                                          PointCommandProcessor pointCommandProcessor,
+                                          PointMetrics pointMetrics,
+                                          @Value("${point.execution.optimistic.max-retries:4}") int maxRetries,
+                                          @Value("${point.execution.optimistic.backoff-nanos:1000}") long backoffNanos) {
+        if (maxRetries < 0 || backoffNanos < 0) {
+            throw new IllegalArgumentException("낙관적 실행 재시도 설정이 유효하지 않습니다.");
+        }
+        this.userLockRegistry = userLockRegistry;
+        this.pointCommandProcessor = pointCommandProcessor;
+        this.pointMetrics = pointMetrics;
+        this.supported = userPointStore.supportsCompareAndSet();
+        this.maxRetries = maxRetries;
+        this.backoffNanos = backoffNanos;
+        if (!supported) {
+            log.warn("잔고 저장소({})가 compare-and-set 을 지원하지 않아 모든 요청을 사용자 락으로 처리합니다.",
+                    userPointStore.getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command) {
+        if (!supported) {
+            return executeLocked(command);
+        }
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            if (attempt > 0) {
+                backoff(attempt);
+            }
+            if (userLockRegistry.isLocked(command.userId())) {
+                break;
+            }
+            UserPoint userPoint = pointCommandProcessor.tryProcess(command);
+            if (userPoint != null) {
+                pointMetrics.optimistic(PointMetrics.OptimisticOutcome.COMMITTED);
+                return userPoint;
+            }
+            pointMetrics.optimistic(PointMetrics.OptimisticOutcome.CONFLICT);
+        }
+        pointMetrics.optimistic(PointMetrics.OptimisticOutcome.FALLBACK);
+        return executeLocked(command);
+    }
+
+    @Override
+    public PointTransferResult transfer(PointTransfer transfer) {
+        long waitStart = pointMetrics.start();
+        userLockRegistry.lockBoth(transfer.senderId(), transfer.receiverId());
+        long holdStart = pointMetrics.start();
+        pointMetrics.recordLockWait(PointMetrics.Operation.TRANSFER, waitStart);
+        try {
+            if (!supported) {
+                return pointCommandProcessor.processTransfer(transfer);
+            }
+            while (true) {
+                PointTransferResult result = pointCommandProcessor.tryProcessTransfer(transfer);
+                if (result != null) {
+                    return result;
+                }
+                Thread.onSpinWait();
+            }
+        } finally {
+            userLockRegistry.unlockBoth(transfer.senderId(), transfer.receiverId());
+            pointMetrics.recordLockHold(PointMetrics.Operation.TRANSFER, holdStart);
+        }
+    }
+
+    private UserPoint executeLocked(PointCommand command) {
+        PointMetrics.Operation operation = PointMetrics.Operation.of(command.type());
+        long waitStart = pointMetrics.start();
+        userLockRegistry.lock(command.userId());
+        long holdStart = pointMetrics.start();
+        pointMetrics.recordLockWait(operation, waitStart);
+        try {
+            if (!supported) {
+                return pointCommandProcessor.process(command);
+            }
+            while (true) {
+                UserPoint userPoint = pointCommandProcessor.tryProcess(command);
+                if (userPoint != null) {
+                    return userPoint;
+                }
+                Thread.onSpinWait();
+            }
+        } finally {
+            userLockRegistry.unlock(command.userId());
+            pointMetrics.recordLockHold(operation, holdStart);
+        }
+    }
+
+    private void backoff(int attempt) {
+        if (backoffNanos == 0) {
+            Thread.onSpinWait();
+            return;
+        }
+        // 같이 충돌한 요청끼리 같은 시점에 다시 시도하지 않도록 임의로 흩뜨린다.
+        long maxDelay = backoffNanos << Math.min(attempt - 1, 20);
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(maxDelay / 2, maxDelay + 1));
+    }
+}
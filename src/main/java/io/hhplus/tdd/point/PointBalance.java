@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용자 포인트 조회 응답 (GET /point/{id})
+ * - point : 지금 사용할 수 있는 잔고
+ * - held : 예약(hold)으로 잡혀 있어 확정 또는 해제를 기다리는 금액
+ */
+public record PointBalance(
+        long id,
+        long point,
+        long held,
+        long updateMillis
+) {
+
+    public static PointBalance of(UserPoint userPoint, long held) {
+        return new PointBalance(userPoint.id(), userPoint.point(), held, userPoint.updateMillis());
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+
+/**
+ * 일괄 충전/사용 요청 한 건의 처리 결과
+ * - 요청 목록과 같은 순서로 반환되며, 성공이면 userPoint, 실패면 error 를 담는다.
+ */
+public record PointBatchResult(
+        Long userId,
+        UserPoint userPoint,
+        ErrorResponse error
+) {
+
+    public static PointBatchResult success(Long userId, UserPoint userPoint) {
+        return new PointBatchResult(userId, userPoint, null);
+    }
+
+    public static PointBatchResult failure(Long userId, RuntimeException error) {
+        // 검증/잔고 규칙 위반은 사유를 그대로 전달하고, 그 외 예외는 내부 메시지를 숨긴다.
+        if (error instanceof IllegalArgumentException || error instanceof IllegalStateException) {
+            return new PointBatchResult(userId, null, new ErrorResponse("400", error.getMessage()));
+        }
+        return new PointBatchResult(userId, null, new ErrorResponse("500", "에러가 발생했습니다."));
+    }
+}
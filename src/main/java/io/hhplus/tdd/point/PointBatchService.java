@@ -0,0 +1,165 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 일괄 충전/사용 처리
+ * - 요청을 사용자별로 묶고, 최대 point.batch.concurrency 개의 작업자가 사용자를 하나씩 나눠 가져가 병렬로 처리한다.
+ *   사용자 수만큼 작업(스레드)을 만들지 않으므로 10만 명의 요청도 작업자 수만큼의 스레드로 처리한다.
+ * - 같은 사용자의 요청은 요청 목록 순서대로 PointCommandExecutor.executeAll 에 한 번에 넘긴다.
+ *   (lock/batch 실행 방식에서는 사용자 락 한 번, 조회 한 번, 잔고 저장 한 번으로 반영된다.)
+ * - 플랫폼 스레드 모드에서는 point.batch.concurrency 크기의 고정 풀을 모든 일괄 요청이 함께 쓴다.
+ *   가상 스레드 모드에서는 작업자마다 가상 스레드를 만들고 동시에 실행되는 작업자 수를 같은 값으로 제한한다.
+ * - 검증에 실패하거나 잔고 규칙을 어긴 요청만 개별적으로 실패하고 나머지는 반영된다.
+ */
+@Service
+public class PointBatchService {
+    private final PointValidation pointValidation;
+    private final PointCommandExecutor pointCommandExecutor;
+    private final PointMetrics pointMetrics;
+    private final Executor batchExecutor;
+    // 플랫폼 스레드 모드의 고정 풀 (가상 스레드 모드에서는 null)
+    private final ExecutorService batchPool;
+    private final int concurrency;
+    private final int maxItems;
+
+    public PointBatchService(PointValidation pointValidation,
+                             PointCommandExecutor pointCommandExecutor,
+                             PointMetrics pointMetrics,
+                             @Value("${point.batch.concurrency:64}") int concurrency,
+                             @Value("${point.batch.max-items:100000}") int maxItems,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (concurrency <= 0 || maxItems <= 0) {
+            throw new IllegalArgumentException("일괄 처리 설정이 유효하지 않습니다.");
+        }
+        this.pointValidation = pointValidation;
+        this.pointCommandExecutor = pointCommandExecutor;
+        this.pointMetrics = pointMetrics;
+        this.concurrency = concurrency;
+        this.maxItems = maxItems;
+        if (virtualThreads) {
+            // 가상 스레드 모드(Java 21)에서는 테이블 지연 동안 캐리어 스레드를 점유하지 않는다.
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("point-batch-");
+            virtualExecutor.setConcurrencyLimit(concurrency);
+            virtualExecutor.setVirtualThreads(true);
+            this.batchExecutor = virtualExecutor;
+            this.batchPool = null;
+        } else {
+            AtomicInteger sequence = new AtomicInteger();
+            this.batchPool = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "point-batch-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.batchExecutor = batchPool;
+        }
+    }
+
+    public List<PointBatchResult> process(List<PointBatchItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("일괄 처리할 요청이 없습니다.");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("일괄 처리 요청 수가 최대 " + maxItems + "건을 초과하였습니다.");
+        }
+        long start = pointMetrics.start();
+        try {
+            PointBatchResult[] results = new PointBatchResult[items.size()];
+            long updateMillis = System.currentTimeMillis();
+
+            // 사용자별 요청 위치 (요청 목록 순서 유지)
+            Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+            for (int i = 0; i < items.size(); i++) {
+                PointBatchItem item = items.get(i);
+                try {
+                    validate(item);
+                } catch (IllegalArgumentException e) {
+                    pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+                    results[i] = PointBatchResult.failure(item != null ? item.userId() : null, e);
+                    continue;
+                }
+                indexesByUser.computeIfAbsent(item.userId(), id -> new ArrayList<>()).add(i);
+            }
+
+            List<Map.Entry<Long, List<Integer>>> users = new ArrayList<>(indexesByUser.entrySet());
+            // 작업자는 다음 사용자 위치를 하나씩 가져가 처리한다.
+            AtomicInteger cursor = new AtomicInteger();
+            int workers = Math.min(concurrency, users.size());
+            List<CompletableFuture<Void>> tasks = new ArrayList<>(workers);
+            for (int worker = 0; worker < workers; worker++) {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    int next;
+                    while ((next = cursor.getAndIncrement()) < users.size()) {
+                        Map.Entry<Long, List<Integer>> user = users.get(next);
+                        process(user.getKey(), user.getValue(), items, updateMillis, results);
+                    }
+                }, batchExecutor));
+            }
+            // join 이 작업 스레드의 쓰기를 모두 볼 수 있게 해 준다.
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+            return Arrays.asList(results);
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.BATCH, start);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batchPool != null) {
+            batchPool.shutdown();
+        }
+    }
+
+    // 사용자마다 결과 배열의 서로 다른 위치만 채우므로 별도 동기화가 필요 없다.
+    private void process(long userId, List<Integer> indexes, List<PointBatchItem> items, long updateMillis,
+                         PointBatchResult[] results) {
+        List<PointCommand> commands = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            commands.add(toCommand(items.get(index), updateMillis));
+        }
+        List<PointCommandResult> commandResults = execute(commands);
+        for (int i = 0; i < indexes.size(); i++) {
+            PointCommandResult result = commandResults.get(i);
+            results[indexes.get(i)] = result.isSuccess()
+                    ? PointBatchResult.success(userId, result.userPoint())
+                    : PointBatchResult.failure(userId, result.error());
+        }
+    }
+
+    private List<PointCommandResult> execute(List<PointCommand> commands) {
+        try {
+            return pointCommandExecutor.executeAll(commands);
+        } catch (RuntimeException e) {
+            return commands.stream().map(command -> PointCommandResult.failure(e)).toList();
+        }
+    }
+
+    private void validate(PointBatchItem item) {
+        if (item == null || item.type() == null) {
+            throw new IllegalArgumentException("거래 유형이 유효하지 않습니다.");
+        }
+        pointValidation.validateUserId(item.userId());
+        pointValidation.validateAmount(item.amount());
+    }
+
+    private PointCommand toCommand(PointBatchItem item, long updateMillis) {
+        return switch (item.type()) {
+            case CHARGE -> PointCommand.charge(item.userId(), item.amount(), updateMillis);
+            case USE -> PointCommand.use(item.userId(), item.amount(), updateMillis);
+        };
+    }
+}
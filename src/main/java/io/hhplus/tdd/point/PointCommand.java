@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용 요청 한 건
+ * - PointValidation 검증을 통과한 뒤 PointCommandExecutor 로 전달된다.
+ * - refund = true 는 포인트 예약을 해제하며 되돌려 주는 충전이다. 예약 금액은 이미 최대 잔고 검증에
+ *   포함돼 있으므로 최대 잔고를 다시 검증하지 않는다.
+ */
+public record PointCommand(
+        long userId,
+        TransactionType type,
+        long amount,
+        long updateMillis,
+        boolean refund
+) {
+
+    public static PointCommand charge(long userId, long amount, long updateMillis) {
+        return new PointCommand(userId, TransactionType.CHARGE, amount, updateMillis, false);
+    }
+
+    public static PointCommand use(long userId, long amount, long updateMillis) {
+        return new PointCommand(userId, TransactionType.USE, amount, updateMillis, false);
+    }
+
+    public static PointCommand refund(long userId, long amount, long updateMillis) {
+        return new PointCommand(userId, TransactionType.CHARGE, amount, updateMillis, true);
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 같은 사용자의 충전/사용 요청을 한 번에 하나씩 PointCommandProcessor 로 처리하는 실행 방식
+ * - point.execution.mode 설정으로 구현체를 선택한다. (lock | actor | batch | optimistic)
+ * - 두 사용자에 걸친 이체(transfer)는 모든 실행 방식이 두 사용자의 락(UserLockRegistry.lockBoth)을 잡고 처리한다.
+ *   actor 는 메일박스 처리마다 사용자 락을 잡고, optimistic 은 사용자 락이 잡혀 있으면 락 경로로 처리해 이체와 겹치지 않는다.
+ */
+public interface PointCommandExecutor {
+
+    UserPoint execute(PointCommand command);
+
+    // 같은 사용자의 요청 여러 건을 순서대로 처리하고 요청별 결과를 반환한다.
+    // 기본 구현은 한 건씩 execute 하며, 실행 방식에 따라 한 번의 조회/저장으로 묶어 처리할 수 있다.
+    default List<PointCommandResult> executeAll(List<PointCommand> commands) {
+        List<PointCommandResult> results = new ArrayList<>(commands.size());
+        for (PointCommand command : commands) {
+            try {
+                results.add(PointCommandResult.success(execute(command)));
+            } catch (RuntimeException e) {
+                results.add(PointCommandResult.failure(e));
+            }
+        }
+        return results;
+    }
+
+    // 보내는 사용자와 받는 사용자의 잔고를 함께 반영한다. (둘 다 반영되거나 둘 다 반영되지 않는다)
+    PointTransferResult transfer(PointTransfer transfer);
+}
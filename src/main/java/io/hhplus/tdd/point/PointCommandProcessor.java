@@ -0,0 +1,296 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.database.VersionedUserPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 포인트 충전/사용의 조회-계산-저장 로직
+ * - 동시성 제어는 하지 않으므로, 같은 사용자에 대해서는 PointCommandExecutor 가 한 번에 하나만 호출해야 한다.
+ * - 잔고는 UserPointCache 를 거쳐 읽고, 저장 직후 캐시에 반영한다.
+ * - 내역은 PointHistoryOutbox 로 기록한다. (비동기 설정 시 잔고 반영 후 큐에만 넣는다.)
+ * - 내역을 넣을 때마다 사용자별 누적 요약(PointSummaryAggregator)도 함께 갱신한다.
+ * - 최대 잔고, 1회/일일 한도는 PointPolicyEngine 의 사용자 등급별 정책으로 검증한다.
+ *   최대 잔고는 예약(hold)으로 잡혀 있는 금액까지 더해 검증한다. (해제되면 되돌려 받을 금액이므로)
+ *   예약 해제로 되돌려 주는 충전(refund)은 이미 포함된 금액이므로 다시 검증하지 않는다.
+ * - 일일 한도 누적은 검증을 통과할 때 더해지므로, 잔고 저장에 실패하면 되돌린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointCommandProcessor {
+    private final UserPointStore userPointStore;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final UserPointCache userPointCache;
+    private final PointSummaryAggregator pointSummaryAggregator;
+    private final PointReservationRegistry pointReservationRegistry;
+    private final PointPolicyEngine pointPolicyEngine;
+    private final PointMetrics pointMetrics;
+
+    public UserPoint process(PointCommand command) {
+        UserPoint userPoint = userPointCache.getOrLoad(command.userId(), userPointStore::selectById);
+        if(userPoint == null){
+            pointMetrics.rejected(PointMetrics.Rejection.NOT_FOUND);
+            throw new IllegalArgumentException("해당 사용자 포인트 정보를 찾을 수 없습니다.");
+        }
+
+        long newPoint = apply(userPoint.point(), command);
+
+        UserPoint updatedPoint;
+        try {
+            updatedPoint = userPointStore.insertOrUpdate(command.userId(), newPoint);
+        } catch (RuntimeException e) {
+            release(command);
+            throw e;
+        }
+        userPointCache.put(updatedPoint);
+        pointHistoryOutbox.append(command.userId(), command.amount(), command.type(), command.updateMillis(), updatedPoint.point());
+        pointSummaryAggregator.record(command.userId(), command.amount(), command.type(), command.updateMillis());
+        return updatedPoint;
+    }
+
+    // 낙관적 실행 방식 : 버전과 함께 잔고를 읽어 계산한 뒤 compare-and-set 으로 저장한다.
+    // 그 사이 다른 요청이 먼저 저장했다면 null 을 반환하며, 호출하는 쪽이 다시 시도한다.
+    // 잔고는 캐시가 아닌 저장소에서 읽고, 저장 후 캐시는 갱신 대신 비운다. (동시에 저장한 요청끼리 오래된 값으로 덮어쓰지 않도록)
+    public UserPoint tryProcess(PointCommand command) {
+        VersionedUserPoint current = userPointStore.selectVersionedById(command.userId());
+        if (violates(current.userPoint().point(), command)
+                && userPointStore.selectVersionedById(command.userId()).version() != current.version()) {
+            // 오래된 잔고로 판단한 거절일 수 있으므로 다시 시도한다.
+            return null;
+        }
+        long newPoint = apply(current.userPoint().point(), command);
+
+        UserPoint updatedPoint;
+        try {
+            updatedPoint = userPointStore.compareAndSet(command.userId(), current.version(), newPoint);
+        } catch (RuntimeException e) {
+            release(command);
+            throw e;
+        }
+        if (updatedPoint == null) {
+            release(command);
+            return null;
+        }
+        userPointCache.invalidate(command.userId());
+        pointHistoryOutbox.append(command.userId(), command.amount(), command.type(), command.updateMillis(), updatedPoint.point());
+        pointSummaryAggregator.record(command.userId(), command.amount(), command.type(), command.updateMillis());
+        return updatedPoint;
+    }
+
+    // 이체 : 두 사용자의 잔고를 모두 읽어 보내는 쪽 잔고와 받는 쪽 최대 잔고를 함께 검증한 뒤 둘 다 저장한다.
+    // 호출하는 쪽이 두 사용자의 락을 모두 잡고 있어야 한다.
+    // 받는 쪽 저장이 실패하면 보내는 쪽 잔고를 되돌리고, 내역은 두 잔고가 모두 저장된 뒤에 짝(사용/충전)으로 기록한다.
+    public PointTransferResult processTransfer(PointTransfer transfer) {
+        UserPoint sender = userPointCache.getOrLoad(transfer.senderId(), userPointStore::selectById);
+        UserPoint receiver = userPointCache.getOrLoad(transfer.receiverId(), userPointStore::selectById);
+        if(sender == null || receiver == null){
+            pointMetrics.rejected(PointMetrics.Rejection.NOT_FOUND);
+            throw new IllegalArgumentException("해당 사용자 포인트 정보를 찾을 수 없습니다.");
+        }
+
+        long senderPoint = use(transfer.senderId(), sender.point(), transfer.amount(), transfer.updateMillis());
+        long receiverPoint;
+        try {
+            receiverPoint = charge(transfer.receiverId(), receiver.point(), transfer.amount(), transfer.updateMillis());
+        } catch (RuntimeException e) {
+            pointPolicyEngine.release(transfer.senderId(), TransactionType.USE, transfer.amount(), transfer.updateMillis());
+            throw e;
+        }
+
+        UserPoint updatedSender;
+        UserPoint updatedReceiver;
+        try {
+            updatedSender = userPointStore.insertOrUpdate(transfer.senderId(), senderPoint);
+            try {
+                updatedReceiver = userPointStore.insertOrUpdate(transfer.receiverId(), receiverPoint);
+            } catch (RuntimeException e) {
+                userPointCache.put(userPointStore.insertOrUpdate(transfer.senderId(), sender.point()));
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            pointPolicyEngine.release(transfer.senderId(), TransactionType.USE, transfer.amount(), transfer.updateMillis());
+            pointPolicyEngine.release(transfer.receiverId(), TransactionType.CHARGE, transfer.amount(), transfer.updateMillis());
+            throw e;
+        }
+        userPointCache.put(updatedSender);
+        userPointCache.put(updatedReceiver);
+        pointHistoryOutbox.append(transfer.senderId(), transfer.amount(), TransactionType.USE, transfer.updateMillis(), updatedSender.point());
+        pointSummaryAggregator.record(transfer.senderId(), transfer.amount(), TransactionType.USE, transfer.updateMillis());
+        pointHistoryOutbox.append(transfer.receiverId(), transfer.amount(), TransactionType.CHARGE, transfer.updateMillis(), updatedReceiver.point());
+        pointSummaryAggregator.record(transfer.receiverId(), transfer.amount(), TransactionType.CHARGE, transfer.updateMillis());
+        return new PointTransferResult(updatedSender, updatedReceiver);
+    }
+
+    // 낙관적 실행 방식의 이체 : 두 잔고를 버전과 함께 읽어 검증한 뒤 보내는 쪽, 받는 쪽 순서로 compare-and-set 으로 저장한다.
+    // 호출하는 쪽이 두 사용자의 락을 모두 잡고 있어야 하며, 락을 잡기 전에 시작된 요청과 충돌하면 null 을 반환한다.
+    // 받는 쪽 저장이 충돌하면 보내는 쪽에서 뺀 금액을 그 사이의 저장을 유지한 채 되돌려 놓는다.
+    public PointTransferResult tryProcessTransfer(PointTransfer transfer) {
+        VersionedUserPoint sender = userPointStore.selectVersionedById(transfer.senderId());
+        VersionedUserPoint receiver = userPointStore.selectVersionedById(transfer.receiverId());
+
+        long senderPoint = use(transfer.senderId(), sender.userPoint().point(), transfer.amount(), transfer.updateMillis());
+        long receiverPoint;
+        try {
+            receiverPoint = charge(transfer.receiverId(), receiver.userPoint().point(), transfer.amount(), transfer.updateMillis());
+        } catch (RuntimeException e) {
+            pointPolicyEngine.release(transfer.senderId(), TransactionType.USE, transfer.amount(), transfer.updateMillis());
+            throw e;
+        }
+
+        UserPoint updatedSender;
+        UserPoint updatedReceiver;
+        try {
+            updatedSender = userPointStore.compareAndSet(transfer.senderId(), sender.version(), senderPoint);
+            if (updatedSender == null) {
+                releaseTransfer(transfer);
+                return null;
+            }
+            try {
+                updatedReceiver = userPointStore.compareAndSet(transfer.receiverId(), receiver.version(), receiverPoint);
+            } catch (RuntimeException e) {
+                refundSender(transfer);
+                throw e;
+            }
+            if (updatedReceiver == null) {
+                refundSender(transfer);
+                releaseTransfer(transfer);
+                return null;
+            }
+        } catch (RuntimeException e) {
+            releaseTransfer(transfer);
+            throw e;
+        }
+        userPointCache.invalidate(transfer.senderId());
+        userPointCache.invalidate(transfer.receiverId());
+        pointHistoryOutbox.append(transfer.senderId(), transfer.amount(), TransactionType.USE, transfer.updateMillis(), updatedSender.point());
+        pointSummaryAggregator.record(transfer.senderId(), transfer.amount(), TransactionType.USE, transfer.updateMillis());
+        pointHistoryOutbox.append(transfer.receiverId(), transfer.amount(), TransactionType.CHARGE, transfer.updateMillis(), updatedReceiver.point());
+        pointSummaryAggregator.record(transfer.receiverId(), transfer.amount(), TransactionType.CHARGE, transfer.updateMillis());
+        return new PointTransferResult(updatedSender, updatedReceiver);
+    }
+
+    // 같은 사용자의 요청 여러 건을 한 번의 조회와 한 번의 잔고 저장으로 처리한다. (group commit)
+    // 요청은 순서대로 적용하며, 규칙을 어기는 요청만 개별적으로 거절한다.
+    public List<PointCommandResult> processAll(List<PointCommand> commands) {
+        long userId = commands.get(0).userId();
+        UserPoint userPoint = userPointCache.getOrLoad(userId, userPointStore::selectById);
+        if(userPoint == null){
+            pointMetrics.rejected(PointMetrics.Rejection.NOT_FOUND);
+            IllegalArgumentException error = new IllegalArgumentException("해당 사용자 포인트 정보를 찾을 수 없습니다.");
+            return commands.stream().map(command -> PointCommandResult.failure(error)).toList();
+        }
+
+        long point = userPoint.point();
+        long[] appliedPoints = new long[commands.size()];
+        RuntimeException[] errors = new RuntimeException[commands.size()];
+        boolean changed = false;
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                point = apply(point, commands.get(i));
+                appliedPoints[i] = point;
+                changed = true;
+            } catch (IllegalStateException e) {
+                errors[i] = e;
+            }
+        }
+
+        List<PointCommandResult> results = new ArrayList<>(commands.size());
+        if (!changed) {
+            for (RuntimeException error : errors) {
+                results.add(PointCommandResult.failure(error));
+            }
+            return results;
+        }
+
+        UserPoint updatedPoint;
+        try {
+            updatedPoint = userPointStore.insertOrUpdate(userId, point);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < commands.size(); i++) {
+                if (errors[i] == null) {
+                    release(commands.get(i));
+                }
+            }
+            throw e;
+        }
+        userPointCache.put(updatedPoint);
+        for (int i = 0; i < commands.size(); i++) {
+            if (errors[i] != null) {
+                results.add(PointCommandResult.failure(errors[i]));
+                continue;
+            }
+            PointCommand command = commands.get(i);
+            pointHistoryOutbox.append(userId, command.amount(), command.type(), command.updateMillis(), appliedPoints[i]);
+            pointSummaryAggregator.record(userId, command.amount(), command.type(), command.updateMillis());
+            results.add(PointCommandResult.success(new UserPoint(userId, appliedPoints[i], updatedPoint.updateMillis())));
+        }
+        return results;
+    }
+
+    private long apply(long point, PointCommand command) {
+        return switch (command.type()) {
+            case CHARGE -> command.refund() ? point + command.amount()
+                    : charge(command.userId(), point, command.amount(), command.updateMillis());
+            case USE -> use(command.userId(), point, command.amount(), command.updateMillis());
+        };
+    }
+
+    // 보내는 쪽 잔고에 이체 금액을 다시 더한다. 락을 잡기 전에 시작된 요청이 그 사이 저장했을 수 있으므로 최신 버전에 더한다.
+    private void refundSender(PointTransfer transfer) {
+        while (true) {
+            VersionedUserPoint current = userPointStore.selectVersionedById(transfer.senderId());
+            if (userPointStore.compareAndSet(transfer.senderId(), current.version(),
+                    current.userPoint().point() + transfer.amount()) != null) {
+                userPointCache.invalidate(transfer.senderId());
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void releaseTransfer(PointTransfer transfer) {
+        pointPolicyEngine.release(transfer.senderId(), TransactionType.USE, transfer.amount(), transfer.updateMillis());
+        pointPolicyEngine.release(transfer.receiverId(), TransactionType.CHARGE, transfer.amount(), transfer.updateMillis());
+    }
+
+    // 검증을 통과하며 더한 일일 한도 누적을 되돌린다.
+    private void release(PointCommand command) {
+        if (!command.refund()) {
+            pointPolicyEngine.release(command.userId(), command.type(), command.amount(), command.updateMillis());
+        }
+    }
+
+    private boolean violates(long point, PointCommand command) {
+        return switch (command.type()) {
+            case CHARGE -> !command.refund() && pointPolicyEngine.exceedsMaxBalance(command.userId(),
+                    point + pointReservationRegistry.heldAmount(command.userId()) + command.amount());
+            case USE -> point < command.amount();
+        };
+    }
+
+    private long charge(long userId, long point, long addAmount, long updateMillis) {
+        long newPoint = point + addAmount;
+        reject(pointPolicyEngine.acquireCharge(userId, newPoint + pointReservationRegistry.heldAmount(userId), addAmount, updateMillis));
+        return newPoint;
+    }
+
+    private long use(long userId, long point, long reduceAmount, long updateMillis) {
+        if(point < reduceAmount){
+            pointMetrics.rejected(PointMetrics.Rejection.INSUFFICIENT_BALANCE);
+            throw new IllegalStateException("잔고 포인트 부족으로 포인트 사용에 실패하였습니다.");
+        }
+        reject(pointPolicyEngine.acquireUse(userId, reduceAmount, updateMillis));
+        return point - reduceAmount;
+    }
+
+    private void reject(PointPolicyViolation violation) {
+        if (violation != null) {
+            pointMetrics.rejected(violation.rejection());
+            throw new IllegalStateException(violation.message());
+        }
+    }
+}
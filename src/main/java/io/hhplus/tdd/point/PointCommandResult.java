@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 여러 요청을 한 번에 처리할 때 요청별 처리 결과
+ * - 성공이면 해당 요청 반영 직후의 포인트, 실패면 거절 사유 예외를 담는다.
+ */
+public record PointCommandResult(
+        UserPoint userPoint,
+        RuntimeException error
+) {
+
+    public static PointCommandResult success(UserPoint userPoint) {
+        return new PointCommandResult(userPoint, null);
+    }
+
+    public static PointCommandResult failure(RuntimeException error) {
+        return new PointCommandResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public UserPoint getOrThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return userPoint;
+    }
+}
@@ -1,30 +1,52 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.apache.catalina.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/point")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PointController {
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    // SSE 연결 유지 시간 (끊기면 클라이언트가 Last-Event-ID 로 이어 받는다)
+    private static final long EVENT_STREAM_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    // 스트리밍 응답을 몇 건마다 내보낼지
+    private static final int STREAM_FLUSH_INTERVAL = 256;
+    // 재시도해도 한 번만 반영할 충전/사용 요청에 붙이는 헤더
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
     private final PointService pointService;
+    private final PointBatchService pointBatchService;
+    private final PointReservationService pointReservationService;
+    private final PointEventService pointEventService;
+    private final PointPolicyEngine pointPolicyEngine;
+    private final ObjectMapper objectMapper;
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     * 사용할 수 있는 잔고(point)와 예약으로 잡혀 있는 금액(held)을 함께 반환합니다.
      */
     @GetMapping("{id}")
-    public UserPoint point(
+    public PointBalance point(
             @PathVariable long id
     ) {
-        UserPoint userPoint = pointService.getUserPoint(id);
-        return userPoint;
+        return pointReservationService.getPointBalance(id);
     }
 
     /**
@@ -32,22 +54,122 @@ public class PointController {
      */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
-            @PathVariable long id
+            @PathVariable long id,
+            @RequestParam(defaultValue = "false") boolean consistent
     ) {
-        List<PointHistory> pointHistories = pointService.getPointHistories(id);
+        List<PointHistory> pointHistories = pointService.getPointHistories(id, consistent);
         return pointHistories;
     }
 
+    /**
+     * 특정 유저의 포인트 내역을 id 커서 기준으로 나누어 조회합니다.
+     * after(오름차순) 또는 before(최신순) 커서와 유형(type), 시간 범위(from 이상 ~ to 미만) 조건을 받습니다.
+     */
+    @GetMapping("{id}/histories/page")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean consistent
+    ) {
+        return pointService.getPointHistoryPage(id, new PointHistoryQuery(after, before, type, from, to), limit, consistent);
+    }
+
+    /**
+     * 특정 유저의 포인트 내역 중 시각(updateMillis)이 from 이상 ~ to 미만인 내역을 시각 순으로 조회합니다. (일/월 명세서용)
+     */
+    @GetMapping("{id}/histories/range")
+    public List<PointHistory> historyRange(
+            @PathVariable long id,
+            @RequestParam long from,
+            @RequestParam long to,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean consistent
+    ) {
+        return pointService.getPointHistoriesByTime(id, from, to, limit, consistent);
+    }
+
+    /**
+     * 전체 유저의 포인트 내역 중 시각(updateMillis)이 from 이상 ~ to 미만인 내역을 시각 순으로 조회합니다.
+     */
+    @GetMapping("histories/range")
+    public List<PointHistory> allHistoryRange(
+            @RequestParam long from,
+            @RequestParam long to,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return pointService.getAllPointHistoriesByTime(from, to, limit);
+    }
+
+    /**
+     * 특정 유저의 포인트 내역을 NDJSON(한 줄에 내역 하나)으로 스트리밍합니다.
+     * 전체 목록을 만들지 않고 순회하는 대로 내보내므로 내역 수와 관계없이 메모리 사용량이 일정합니다.
+     */
+    @GetMapping("{id}/histories/stream")
+    public ResponseEntity<StreamingResponseBody> historyStream(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "false") boolean consistent
+    ) {
+        // 검증 실패나 내역 없음은 응답을 쓰기 전에 예외로 처리된다.
+        Stream<PointHistory> pointHistories = pointService.streamPointHistories(id, new PointHistoryQuery(after, before, type, from, to), consistent);
+        StreamingResponseBody body = outputStream -> writeNdjson(pointHistories, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * 특정 유저의 포인트 변경 이벤트(충전/사용이 반영될 때마다 내역과 반영 후 잔고)를 SSE 로 구독합니다.
+     * after(또는 Last-Event-ID 헤더)를 주면 그 내역 id 이후의 내역부터 이어서 받습니다.
+     */
+    @GetMapping(value = "{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return subscribe(id, after != null ? after : lastEventId);
+    }
+
+    /**
+     * 전체 유저의 포인트 변경 이벤트를 SSE 로 구독합니다.
+     * after(또는 Last-Event-ID 헤더)를 주면 이벤트 버퍼에서 그 내역의 이벤트 다음부터 받습니다. (버퍼에 없으면 바로 lagged 를 받습니다)
+     */
+    @GetMapping(value = "events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter allEvents(
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return subscribe(null, after != null ? after : lastEventId);
+    }
+
+    /**
+     * 특정 유저의 누적 충전/사용 금액과 건수, 처음/마지막 내역 시각을 조회합니다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
+            @PathVariable long id
+    ) {
+        return pointService.getPointSummary(id);
+    }
+
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        long fixTime = 1700000000000L;
-        UserPoint userPoint = pointService.patchPointCharge(id, amount, fixTime);
+        UserPoint userPoint = pointService.patchPointCharge(id, amount, System.currentTimeMillis(), idempotencyKey);
         return userPoint;
     }
 
@@ -57,10 +179,100 @@ public class PointController {
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        long fixedTime = 1700000000000L;
-        UserPoint userPoint = pointService.patchPointUse(id, amount, fixedTime);
+        UserPoint userPoint = pointService.patchPointUse(id, amount, System.currentTimeMillis(), idempotencyKey);
         return userPoint;
     }
+
+    /**
+     * 특정 유저의 포인트를 예약(hold)합니다. 예약 금액은 바로 잔고에서 빠지고, ttlMs(기본값 설정) 안에 확정하지 않으면 되돌려집니다.
+     */
+    @PostMapping("{id}/reservations")
+    public PointReservation hold(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestParam(required = false) Long ttlMs
+    ) {
+        return pointReservationService.hold(id, amount, ttlMs, System.currentTimeMillis());
+    }
+
+    /**
+     * 예약한 포인트를 확정(capture)합니다. 잔고는 예약할 때 이미 반영되었습니다.
+     */
+    @PostMapping("{id}/reservations/{reservationId}/capture")
+    public PointReservation capture(
+            @PathVariable long id,
+            @PathVariable long reservationId
+    ) {
+        return pointReservationService.capture(id, reservationId);
+    }
+
+    /**
+     * 예약한 포인트를 해제(release)하고 되돌려 받은 뒤의 잔고를 반환합니다.
+     */
+    @PostMapping("{id}/reservations/{reservationId}/release")
+    public UserPoint release(
+            @PathVariable long id,
+            @PathVariable long reservationId
+    ) {
+        return pointReservationService.release(id, reservationId, System.currentTimeMillis());
+    }
+
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체합니다.
+     * 보내는 유저의 잔고와 받는 유저의 최대 잔고를 함께 검증하며, 두 유저의 잔고와 내역이 함께 반영됩니다.
+     */
+    @PostMapping("transfer")
+    public PointTransferResult transfer(
+            @RequestBody PointTransferRequest request
+    ) {
+        if (request == null || request.senderId() == null || request.receiverId() == null || request.amount() == null) {
+            throw new IllegalArgumentException("이체 요청이 유효하지 않습니다.");
+        }
+        return pointService.transfer(request.senderId(), request.receiverId(), request.amount(), System.currentTimeMillis());
+    }
+
+    /**
+     * 현재 적용 중인 포인트 정책(등급별 최대 잔고, 1회/일일 한도)을 조회합니다.
+     * 정책 변경은 운영용 actuator 엔드포인트(PointPolicyEndpoint)에서만 할 수 있습니다.
+     */
+    @GetMapping("policy")
+    public PointPolicyRules policy() {
+        return pointPolicyEngine.rules();
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 충전/사용합니다.
+     * 요청과 같은 순서로 건별 결과(포인트 또는 실패 사유)를 반환합니다.
+     */
+    @PostMapping("batch")
+    public List<PointBatchResult> batch(
+            @RequestBody List<PointBatchItem> items
+    ) {
+        return pointBatchService.process(items);
+    }
+
+    private SseEmitter subscribe(Long userId, Long afterHistoryId) {
+        SseEmitter emitter = new SseEmitter(EVENT_STREAM_TIMEOUT_MILLIS);
+        PointEventService.Subscription subscription = pointEventService.subscribe(userId, afterHistoryId, new SsePointEventSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    private void writeNdjson(Stream<PointHistory> pointHistories, OutputStream outputStream) throws IOException {
+        int written = 0;
+        Iterator<PointHistory> iterator = pointHistories.iterator();
+        while (iterator.hasNext()) {
+            outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+            outputStream.write('\n');
+            if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                outputStream.flush();
+            }
+        }
+        outputStream.flush();
+    }
 }
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 변경 이벤트 (GET /point/events, /point/{id}/events 로 구독)
+ * - 충전/사용 내역이 기록될 때마다 하나씩 발행되며, historyId 는 기록된 내역의 id 다.
+ * - point 는 반영 직후 잔고다. 내역 저장소에서 다시 보내는(replay) 이벤트는 당시 잔고를 알 수 없어 null 이다.
+ */
+public record PointEvent(
+        long historyId,
+        long userId,
+        TransactionType type,
+        long amount,
+        Long point,
+        long updateMillis
+) {
+
+    public static PointEvent replayed(PointHistory pointHistory) {
+        return new PointEvent(pointHistory.id(), pointHistory.userId(), pointHistory.type(), pointHistory.amount(),
+                null, pointHistory.updateMillis());
+    }
+}
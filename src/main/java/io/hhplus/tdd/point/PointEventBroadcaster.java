@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 변경 이벤트 방송 버퍼 (고정 크기 링 버퍼)
+ * - 발행된 이벤트는 순번(sequence)을 받아 point.events.buffer-size 칸 링에 차례로 기록되며, 가득 차면 가장 오래된 이벤트를 덮어쓴다.
+ * - 발행하는 쪽은 구독자를 기다리지 않는다. 구독자는 각자 읽은 위치(순번)를 들고 자기 속도로 읽는다.
+ * - 읽을 위치가 이미 덮어써졌다면(버퍼 크기보다 더 밀린 느린 구독자) read 가 -1 을 반환한다.
+ * - point.events.buffer-size = 0 이면 이벤트를 발행하지 않는다.
+ */
+@Component
+public class PointEventBroadcaster {
+    private final PointEvent[] ring;
+    private final int mask;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    // 다음에 발행할 순번 (lock 안에서만 변경)
+    private long nextSequence;
+
+    public PointEventBroadcaster(@Value("${point.events.buffer-size:8192}") int bufferSize) {
+        if (bufferSize < 0) {
+            throw new IllegalArgumentException("이벤트 버퍼 크기가 유효하지 않습니다.");
+        }
+        // 2의 거듭제곱으로 올려 나머지 연산 대신 마스크로 칸을 구한다.
+        int size = bufferSize <= 1 ? bufferSize : Integer.highestOneBit(bufferSize - 1) << 1;
+        this.ring = new PointEvent[size];
+        this.mask = size - 1;
+    }
+
+    public boolean isEnabled() {
+        return ring.length > 0;
+    }
+
+    public void publish(PointEvent event) {
+        if (ring.length == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            ring[(int) (nextSequence & mask)] = event;
+            nextSequence++;
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 다음에 발행될 이벤트의 순번 (지금부터 구독할 때의 시작 위치)
+    public long nextSequence() {
+        lock.lock();
+        try {
+            return nextSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 버퍼에 남아 있는 가장 오래된 이벤트의 순번
+    public long oldestSequence() {
+        lock.lock();
+        try {
+            return Math.max(0, nextSequence - ring.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 버퍼에 남아 있는 이벤트 중 내역 id 가 historyId 인 이벤트의 다음 순번 (없으면 -1)
+    // 서로 다른 사용자의 이벤트는 내역 id 순서와 다르게 발행될 수 있으므로 순번으로 이어 읽을 위치를 찾는다.
+    public long sequenceAfter(long historyId) {
+        lock.lock();
+        try {
+            for (long sequence = nextSequence - 1; sequence >= Math.max(0, nextSequence - ring.length); sequence--) {
+                if (ring[(int) (sequence & mask)].historyId() == historyId) {
+                    return sequence + 1;
+                }
+            }
+            return -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // fromSequence 부터 발행된 이벤트를 최대 maxEvents 건 out 에 담고 다음 읽을 순번을 반환한다.
+    // fromSequence 가 이미 덮어써졌으면 -1 을 반환한다.
+    public long read(long fromSequence, int maxEvents, List<PointEvent> out) {
+        lock.lock();
+        try {
+            if (fromSequence < nextSequence - ring.length) {
+                return -1;
+            }
+            long to = Math.min(nextSequence, fromSequence + maxEvents);
+            for (long sequence = fromSequence; sequence < to; sequence++) {
+                out.add(ring[(int) (sequence & mask)]);
+            }
+            return to;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // fromSequence 의 이벤트가 발행될 때까지 최대 timeout 만큼 기다린다. 발행됐으면 true
+    public boolean await(long fromSequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (nextSequence <= fromSequence) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = published.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
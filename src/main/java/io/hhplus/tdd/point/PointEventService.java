@@ -0,0 +1,235 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 포인트 변경 이벤트 구독 (GET /point/events, /point/{id}/events)
+ * - 구독마다 전용 스레드 하나가 PointEventBroadcaster 를 자기 위치부터 읽어 PointEventSink 로 보낸다.
+ *   느린 구독자는 자기 스레드만 기다리게 하며, 버퍼 크기보다 더 뒤처지면 lagged 를 보내고 구독을 끝낸다.
+ * - 사용자 구독에 afterHistoryId 를 주면 그 이후 내역을 내역 저장소에서 먼저 보내고(replay) 이어서 실시간 이벤트를 보낸다.
+ *   실시간 이벤트의 시작 위치를 replay 전에 잡아 두고, 이미 보낸 내역 id 이하는 건너뛰므로 빠지거나 겹치는 이벤트가 없다.
+ * - 전체 구독은 버퍼 순번으로 이어 읽는다. 서로 다른 사용자의 내역은 id 순서와 다르게 발행될 수 있어 id 로 거르지 않는다.
+ *   afterHistoryId 를 주면 버퍼에서 그 내역의 이벤트를 찾아 다음 순번부터 보내고, 버퍼에 없으면 바로 lagged 를 보낸다.
+ *   (버퍼보다 오래된 내역은 내역 조회 API 로 받는다)
+ * - 구독자 수는 point.events.max-subscribers 로 제한한다.
+ */
+@Service
+public class PointEventService {
+    private static final Logger log = LoggerFactory.getLogger(PointEventService.class);
+    // 한 번에 버퍼에서 읽어 보낼 최대 이벤트 수
+    private static final int READ_BATCH_SIZE = 256;
+
+    private final PointEventBroadcaster pointEventBroadcaster;
+    private final PointHistoryStore pointHistoryStore;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final PointValidation pointValidation;
+    private final int maxSubscribers;
+    private final long heartbeatMillis;
+    private final SimpleAsyncTaskExecutor subscriberExecutor;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private volatile boolean running = true;
+
+    public PointEventService(PointEventBroadcaster pointEventBroadcaster,
+                             PointHistoryStore pointHistoryStore,
+                             PointHistoryOutbox pointHistoryOutbox,
+                             PointValidation pointValidation,
+                             @Value("${point.events.max-subscribers:1000}") int maxSubscribers,
+                             @Value("${point.events.heartbeat-ms:15000}") long heartbeatMillis,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (maxSubscribers <= 0 || heartbeatMillis <= 0) {
+            throw new IllegalArgumentException("포인트 이벤트 구독 설정이 유효하지 않습니다.");
+        }
+        this.pointEventBroadcaster = pointEventBroadcaster;
+        this.pointHistoryStore = pointHistoryStore;
+        this.pointHistoryOutbox = pointHistoryOutbox;
+        this.pointValidation = pointValidation;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatMillis = heartbeatMillis;
+        this.subscriberExecutor = new SimpleAsyncTaskExecutor("point-events-");
+        // 가상 스레드 모드(Java 21)에서는 구독자가 많아도 대기 중인 구독이 플랫폼 스레드를 점유하지 않는다.
+        this.subscriberExecutor.setVirtualThreads(virtualThreads);
+    }
+
+    // userId 가 null 이면 전체 사용자의 이벤트를 구독한다.
+    public Subscription subscribe(Long userId, Long afterHistoryId, PointEventSink sink) {
+        if (userId != null) {
+            pointValidation.validateUserId(userId);
+        }
+        if (afterHistoryId != null && afterHistoryId < 0) {
+            throw new IllegalArgumentException("이벤트 시작 위치가 유효하지 않습니다.");
+        }
+        if (!pointEventBroadcaster.isEnabled()) {
+            throw new IllegalStateException("포인트 이벤트 발행이 설정되어 있지 않습니다.");
+        }
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new IllegalStateException("포인트 이벤트 구독자 수가 최대 " + maxSubscribers + "명을 초과하였습니다.");
+        }
+        Subscription subscription = new Subscription(userId, afterHistoryId, sink);
+        long sequence = startSequence(userId, afterHistoryId);
+        try {
+            subscriberExecutor.execute(() -> run(subscription, sequence));
+        } catch (RuntimeException e) {
+            subscribers.decrementAndGet();
+            throw e;
+        }
+        return subscription;
+    }
+
+    // 현재 구독자 수
+    public int subscribers() {
+        return subscribers.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 구독 스레드는 다음 대기(최대 heartbeat-ms)가 끝나면 종료된다.
+        running = false;
+    }
+
+    private void run(Subscription subscription, long startSequence) {
+        try {
+            if (startSequence < 0) {
+                subscription.sink.lagged(subscription.lastHistoryId);
+                return;
+            }
+            replay(subscription, startSequence);
+            long sequence = startSequence;
+            List<PointEvent> events = new ArrayList<>(READ_BATCH_SIZE);
+            while (running && !subscription.cancelled) {
+                if (!pointEventBroadcaster.await(sequence, heartbeatMillis, TimeUnit.MILLISECONDS)) {
+                    subscription.sink.heartbeat();
+                    continue;
+                }
+                long next = pointEventBroadcaster.read(sequence, READ_BATCH_SIZE, events);
+                if (next < 0) {
+                    subscription.sink.lagged(subscription.lastHistoryId);
+                    return;
+                }
+                for (PointEvent event : events) {
+                    send(subscription, event);
+                }
+                events.clear();
+                sequence = next;
+            }
+        } catch (IOException e) {
+            // 연결이 끊긴 구독자
+            log.debug("포인트 이벤트 구독 연결이 끊겼습니다. userId={}", subscription.userId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("포인트 이벤트 구독 처리에 실패했습니다. userId={}", subscription.userId, e);
+        } finally {
+            subscribers.decrementAndGet();
+            subscription.sink.close();
+        }
+    }
+
+    // 실시간 이벤트를 읽기 시작할 위치 (전체 구독의 afterHistoryId 가 버퍼에 없으면 -1)
+    // 사용자 구독의 replay 는 저장소를 읽기 전에 잡아야, 그 사이 기록된 내역이 저장소와 버퍼 중 적어도 한 곳에는 남는다.
+    private long startSequence(Long userId, Long afterHistoryId) {
+        if (afterHistoryId != null && userId == null) {
+            return pointEventBroadcaster.sequenceAfter(afterHistoryId);
+        }
+        return pointEventBroadcaster.nextSequence();
+    }
+
+    // 사용자 구독에 afterHistoryId 가 있으면 그 이후 내역을 저장소에서 보낸다.
+    // 구독 이후 발행된 내역은 반영 후 잔고가 담긴 버퍼의 이벤트로 보내도록 그 앞에서 멈춘다.
+    private void replay(Subscription subscription, long startSequence) throws IOException {
+        if (subscription.afterHistoryId == null || subscription.userId == null) {
+            return;
+        }
+        pointHistoryOutbox.flush(subscription.userId);
+        long liveHistoryId = firstLiveHistoryId(subscription.userId, startSequence);
+        Stream<PointHistory> pointHistories = pointHistoryStore.streamByUserId(subscription.userId,
+                new PointHistoryQuery(subscription.afterHistoryId, null, null, null, null));
+        if (pointHistories == null) {
+            return;
+        }
+        try (pointHistories) {
+            Iterator<PointHistory> iterator = pointHistories.iterator();
+            while (iterator.hasNext() && !subscription.cancelled) {
+                PointHistory pointHistory = iterator.next();
+                if (pointHistory.id() >= liveHistoryId) {
+                    return;
+                }
+                send(subscription, PointEvent.replayed(pointHistory));
+            }
+        }
+    }
+
+    // startSequence 이후 버퍼에 발행된 해당 사용자의 첫 내역 id (없거나 이미 덮어써졌으면 Long.MAX_VALUE)
+    private long firstLiveHistoryId(long userId, long startSequence) {
+        List<PointEvent> events = new ArrayList<>(READ_BATCH_SIZE);
+        long sequence = startSequence;
+        while (true) {
+            long next = pointEventBroadcaster.read(sequence, READ_BATCH_SIZE, events);
+            if (next <= sequence) {
+                // 덮어써졌으면 실시간 구간에서 lagged 로 알린다.
+                return Long.MAX_VALUE;
+            }
+            for (PointEvent event : events) {
+                if (event.userId() == userId) {
+                    return event.historyId();
+                }
+            }
+            events.clear();
+            sequence = next;
+        }
+    }
+
+    private void send(Subscription subscription, PointEvent event) throws IOException {
+        if (subscription.userId != null) {
+            if (subscription.userId != event.userId()) {
+                return;
+            }
+            // replay 로 이미 보냈거나 이어 받기 시작 위치 이전의 내역 (같은 사용자의 내역은 사용자 락 안에서 id 순서대로 발행된다)
+            if (subscription.lastHistoryId != null && event.historyId() <= subscription.lastHistoryId) {
+                return;
+            }
+        }
+        subscription.sink.send(event);
+        subscription.lastHistoryId = event.historyId();
+    }
+
+    public static final class Subscription {
+        private final Long userId;
+        private final Long afterHistoryId;
+        private final PointEventSink sink;
+        // 마지막으로 보낸 내역 id (구독 스레드만 변경)
+        private volatile Long lastHistoryId;
+        private volatile boolean cancelled;
+
+        private Subscription(Long userId, Long afterHistoryId, PointEventSink sink) {
+            this.userId = userId;
+            this.afterHistoryId = afterHistoryId;
+            this.sink = sink;
+            this.lastHistoryId = afterHistoryId;
+        }
+
+        // 연결이 끝났을 때 호출한다. 구독 스레드는 다음 이벤트나 heartbeat 시점에 종료된다.
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+
+/**
+ * 포인트 변경 이벤트를 받는 쪽 (SSE 연결 등)
+ * - 구독마다 전용 스레드 하나가 순서대로 호출하므로 구현은 스레드 안전하지 않아도 된다.
+ * - 보내기가 느리면 그 구독의 스레드만 기다리고, 발행하는 쪽(충전/사용)은 기다리지 않는다.
+ * - IOException 을 던지면 연결이 끊긴 것으로 보고 구독을 끝낸다.
+ */
+public interface PointEventSink {
+
+    void send(PointEvent event) throws IOException;
+
+    // 보낼 이벤트가 없을 때 연결 유지용으로 주기적으로 호출한다.
+    void heartbeat() throws IOException;
+
+    // 이벤트 버퍼보다 더 뒤처져 이어서 보낼 수 없을 때 호출한다. (마지막으로 보낸 내역 id, 없으면 null)
+    // 호출 후 구독은 끝나며, 받는 쪽은 이 id 부터 다시 구독하면 된다.
+    void lagged(Long lastHistoryId) throws IOException;
+
+    void close();
+}
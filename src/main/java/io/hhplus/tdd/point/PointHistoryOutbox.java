@@ -0,0 +1,331 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역 기록 outbox
+ * - point.history.async = false (기본값) : 충전/사용 처리 안에서 바로 PointHistoryStore 에 기록한다.
+ * - point.history.async = true : 잔고 반영 후 내역 이벤트만 고정 크기 큐에 넣고 락을 해제한다.
+ *   백그라운드 스레드 하나가 큐 순서대로 기록하므로 사용자별 기록 순서는 유지된다.
+ *   큐가 가득 차면 넣는 쪽이 대기한다.
+ * - flush(userId) 는 호출 시점까지 해당 사용자에 대해 넣은 이벤트가 모두 기록될 때까지 기다린다. (read-your-writes)
+ * - 기록을 마친 내역은 PointEventBroadcaster 로 발행한다. (내역 id 가 정해진 뒤이므로 구독자는 id 로 이어 받을 수 있다)
+ * - 기록에 실패하면 간격을 늘려 가며 WRITE_ATTEMPTS 번까지 다시 시도하고, 그래도 실패하면 사용자별 실패 목록(dead letter)에 남긴다.
+ *   실패 목록이 있는 사용자의 이후 내역은 순서를 지키도록 그 뒤에 붙으며, 실패 목록은 주기적으로(비동기) 또는
+ *   해당 사용자의 다음 기록/flush 때 순서대로 다시 기록한다. flush 는 실패 목록이 남아 있으면 false 를 반환한다.
+ * - 종료(shutdown) 후의 append 는 기다리지 않고 바로 실패한다.
+ */
+@Component
+public class PointHistoryOutbox {
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryOutbox.class);
+    private static final int DRAIN_BATCH_SIZE = 256;
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final long WRITE_BACKOFF_MILLIS = 10;
+    private static final long FAILED_RETRY_INTERVAL_MILLIS = 1000;
+
+    private final PointHistoryStore pointHistoryStore;
+    private final PointEventBroadcaster pointEventBroadcaster;
+    private final ArrayBlockingQueue<HistoryEvent> queue;
+    private final ConcurrentHashMap<Long, UserProgress> progresses = new ConcurrentHashMap<>();
+    // 사용자별 기록하지 못한 내역 (넣은 순서, 목록 자체를 잠그고 사용)
+    private final ConcurrentHashMap<Long, ArrayDeque<HistoryEvent>> failedEvents = new ConcurrentHashMap<>();
+    private final AtomicInteger failedCount = new AtomicInteger();
+    private final Thread appender;
+
+    private final ReentrantLock appendedLock = new ReentrantLock();
+    private final Condition appended = appendedLock.newCondition();
+
+    private volatile boolean running = true;
+    // appender 스레드가 끝난 뒤 (이후 큐에 들어간 이벤트는 넣은 쪽이 직접 기록한다)
+    private volatile boolean stopped;
+
+    // 동기 기록 (outbox 미사용), 이벤트 발행 안 함
+    public PointHistoryOutbox(PointHistoryStore pointHistoryStore) {
+        this(pointHistoryStore, new PointEventBroadcaster(0));
+    }
+
+    // 동기 기록 (outbox 미사용)
+    public PointHistoryOutbox(PointHistoryStore pointHistoryStore, PointEventBroadcaster pointEventBroadcaster) {
+        this(pointHistoryStore, pointEventBroadcaster, false, 1);
+    }
+
+    @Autowired
+    public PointHistoryOutbox(PointHistoryStore pointHistoryStore,
+                              PointEventBroadcaster pointEventBroadcaster,
+                              @Value("${point.history.async:false}") boolean async,
+                              @Value("${point.history.outbox-capacity:10000}") int capacity) {
+        this.pointHistoryStore = pointHistoryStore;
+        this.pointEventBroadcaster = pointEventBroadcaster;
+        if (!async) {
+            this.queue = null;
+            this.appender = null;
+            return;
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("내역 outbox 크기가 유효하지 않습니다.");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.appender = new Thread(this::drain, "point-history-appender");
+        this.appender.setDaemon(true);
+        this.appender.start();
+    }
+
+    // 같은 사용자에 대해서는 사용자 락(또는 메일박스) 안에서 호출되어야 순서가 보장된다.
+    // point 는 반영 직후 잔고 (이벤트로만 발행하고 내역에는 기록하지 않는다)
+    public void append(long userId, long amount, TransactionType type, long updateMillis, long point) {
+        HistoryEvent event = new HistoryEvent(userId, amount, type, updateMillis, point);
+        if (queue == null) {
+            write(event);
+            return;
+        }
+        if (!running) {
+            throw new IllegalStateException("포인트 내역 기록이 종료되어 내역을 기록할 수 없습니다.");
+        }
+        progresses.compute(userId, (id, current) -> {
+            UserProgress target = current != null ? current : new UserProgress();
+            event.progress = target;
+            event.sequence = ++target.enqueued;
+            return target;
+        });
+        try {
+            // 큐가 가득 찬 동안 종료되면 더 기다리지 않는다.
+            while (!queue.offer(event, 100, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    event.progress.applied = Math.max(event.progress.applied, event.sequence);
+                    throw new IllegalStateException("포인트 내역 기록이 종료되어 내역을 기록할 수 없습니다.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 내역 기록 대기 중 인터럽트가 발생했습니다.", e);
+        }
+        if (stopped) {
+            drainRemaining();
+        }
+    }
+
+    // 호출 시점까지 넣은 해당 사용자의 내역이 모두 기록될 때까지 대기한다.
+    // 기록하지 못한 내역이 있으면 다시 기록해 보고, 그래도 남아 있으면 false 를 반환한다.
+    public boolean flush(long userId) {
+        UserProgress progress = queue != null ? progresses.get(userId) : null;
+        if (progress != null) {
+            long target = progress.enqueued;
+            appendedLock.lock();
+            try {
+                while (progress.applied < target) {
+                    appended.await(10, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                appendedLock.unlock();
+            }
+        }
+        return retryFailed(userId);
+    }
+
+    // 아직 기록되지 않은 이벤트 수
+    public int pending() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    // 다시 시도해도 기록하지 못해 실패 목록에 남아 있는 이벤트 수
+    public int failed() {
+        return failedCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (appender != null) {
+            // 남은 이벤트를 모두 기록한 뒤 종료한다.
+            running = false;
+            appender.join(TimeUnit.SECONDS.toMillis(10));
+            stopped = true;
+            drainRemaining();
+        }
+        for (Long userId : failedEvents.keySet()) {
+            retryFailed(userId);
+        }
+        if (failedCount.get() > 0) {
+            log.error("기록하지 못한 포인트 내역 {}건을 남기고 종료합니다.", failedCount.get());
+        }
+    }
+
+    private void drain() {
+        List<HistoryEvent> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+        long lastRetry = System.nanoTime();
+        while (running || !queue.isEmpty()) {
+            try {
+                if (System.nanoTime() - lastRetry > TimeUnit.MILLISECONDS.toNanos(FAILED_RETRY_INTERVAL_MILLIS)) {
+                    lastRetry = System.nanoTime();
+                    for (Long userId : failedEvents.keySet()) {
+                        retryFailed(userId);
+                    }
+                }
+                HistoryEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH_SIZE - 1);
+                for (HistoryEvent event : batch) {
+                    write(event);
+                    applied(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+                signalAppended();
+            }
+        }
+    }
+
+    // appender 가 끝난 뒤 큐에 들어간 이벤트를 기록한다. (종료 중에만 호출)
+    private synchronized void drainRemaining() {
+        HistoryEvent event;
+        while ((event = queue.poll()) != null) {
+            write(event);
+            applied(event);
+        }
+        signalAppended();
+    }
+
+    // 기록하거나, 다시 시도해도 실패하면 실패 목록에 넣는다.
+    // 실패 목록이 있는 사용자는 순서를 지키도록 이번 이벤트도 목록 뒤에 붙인 뒤 앞에서부터 다시 기록한다.
+    private void write(HistoryEvent event) {
+        if (failedEvents.containsKey(event.userId)) {
+            addFailed(event);
+            retryFailed(event.userId);
+            return;
+        }
+        if (!insertWithRetry(event)) {
+            addFailed(event);
+        }
+    }
+
+    private boolean insertWithRetry(HistoryEvent event) {
+        long backoff = WRITE_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                publish(pointHistoryStore.insert(event.userId, event.amount, event.type, event.updateMillis), event.point);
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt >= WRITE_ATTEMPTS) {
+                    log.error("포인트 내역 기록에 실패했습니다. userId={}, amount={}, type={}", event.userId, event.amount, event.type, e);
+                    return false;
+                }
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoff *= 2;
+        }
+    }
+
+    private void addFailed(HistoryEvent event) {
+        failedEvents.compute(event.userId, (id, events) -> {
+            ArrayDeque<HistoryEvent> target = events != null ? events : new ArrayDeque<>();
+            synchronized (target) {
+                target.addLast(event);
+            }
+            return target;
+        });
+        failedCount.incrementAndGet();
+    }
+
+    // 해당 사용자의 실패 목록을 순서대로 다시 기록한다. 모두 기록했으면(또는 없으면) true
+    private boolean retryFailed(long userId) {
+        ArrayDeque<HistoryEvent> events = failedEvents.get(userId);
+        if (events == null) {
+            return true;
+        }
+        synchronized (events) {
+            HistoryEvent event;
+            while ((event = events.peekFirst()) != null) {
+                try {
+                    publish(pointHistoryStore.insert(event.userId, event.amount, event.type, event.updateMillis), event.point);
+                } catch (RuntimeException e) {
+                    log.warn("포인트 내역 재기록에 실패했습니다. userId={}, 남은 내역={}건", userId, events.size(), e);
+                    return false;
+                }
+                events.pollFirst();
+                failedCount.decrementAndGet();
+            }
+        }
+        // 비는 사이 다른 스레드가 붙인 이벤트가 없을 때만 목록을 지운다.
+        failedEvents.computeIfPresent(userId, (id, current) -> {
+            synchronized (current) {
+                return current.isEmpty() ? null : current;
+            }
+        });
+        return !failedEvents.containsKey(userId);
+    }
+
+    // 기록했거나 실패 목록에 넣은 이벤트는 처리된 것으로 보아 flush 가 영원히 기다리지 않게 한다.
+    // (flush 는 실패 목록을 따로 확인한다)
+    private void applied(HistoryEvent event) {
+        event.progress.applied = event.sequence;
+        progresses.computeIfPresent(event.userId, (id, current) ->
+                current == event.progress && current.applied >= current.enqueued ? null : current);
+    }
+
+    private void publish(PointHistory pointHistory, long point) {
+        pointEventBroadcaster.publish(new PointEvent(pointHistory.id(), pointHistory.userId(), pointHistory.type(),
+                pointHistory.amount(), point, pointHistory.updateMillis()));
+    }
+
+    private void signalAppended() {
+        appendedLock.lock();
+        try {
+            appended.signalAll();
+        } finally {
+            appendedLock.unlock();
+        }
+    }
+
+    private static final class HistoryEvent {
+        private final long userId;
+        private final long amount;
+        private final TransactionType type;
+        private final long updateMillis;
+        private final long point;
+        private UserProgress progress;
+        private long sequence;
+
+        private HistoryEvent(long userId, long amount, TransactionType type, long updateMillis, long point) {
+            this.userId = userId;
+            this.amount = amount;
+            this.type = type;
+            this.updateMillis = updateMillis;
+            this.point = point;
+        }
+    }
+
+    private static final class UserProgress {
+        // 넣은 이벤트 수 (progresses.compute 안에서만 증가)
+        private volatile long enqueued;
+        // 기록을 마친 마지막 이벤트 순번 (appender 스레드만 변경)
+        private volatile long applied;
+    }
+}
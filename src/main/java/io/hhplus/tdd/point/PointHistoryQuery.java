@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 포인트 내역 조회 조건 (id 커서 + 유형/시간 필터)
+ * - after : 해당 id 보다 큰 내역을 id 오름차순으로 조회한다.
+ * - before : 해당 id 보다 작은 내역을 id 내림차순(최신순)으로 조회한다.
+ * - 둘 다 주면 그 사이 구간을 오름차순으로, 둘 다 없으면 처음부터 오름차순으로 조회한다.
+ * - type : 거래 유형 필터, fromMillis(포함) ~ toMillis(미포함) : updateMillis 범위 필터
+ */
+public record PointHistoryQuery(
+        Long after,
+        Long before,
+        TransactionType type,
+        Long fromMillis,
+        Long toMillis
+) {
+    public static final PointHistoryQuery ALL = new PointHistoryQuery(null, null, null, null, null);
+
+    public boolean descending() {
+        return before != null && after == null;
+    }
+
+    public boolean matches(PointHistory pointHistory) {
+        if (type != null && pointHistory.type() != type) {
+            return false;
+        }
+        if (fromMillis != null && pointHistory.updateMillis() < fromMillis) {
+            return false;
+        }
+        return toMillis == null || pointHistory.updateMillis() < toMillis;
+    }
+
+    // id 오름차순으로 정렬된 내역에서 커서 구간을 이진 탐색으로 찾고, 그 구간만 지연 평가 스트림으로 순회한다.
+    // 원본 리스트를 복사하지 않으므로 내역 수와 관계없이 추가 메모리를 쓰지 않는다.
+    public Stream<PointHistory> slice(List<PointHistory> histories) {
+        int from = after != null ? firstIndexAfter(histories, after) : 0;
+        int to = before != null ? firstIndexAfter(histories, before - 1) : histories.size();
+        if (from >= to) {
+            return Stream.empty();
+        }
+        IntStream indexes = descending()
+                ? IntStream.range(0, to - from).map(i -> to - 1 - i)
+                : IntStream.range(from, to);
+        return indexes.mapToObj(histories::get).filter(this::matches);
+    }
+
+    // id 가 주어진 값보다 큰 첫 번째 위치
+    private static int firstIndexAfter(List<PointHistory> histories, long id) {
+        int low = 0;
+        int high = histories.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (histories.get(mid).id() <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
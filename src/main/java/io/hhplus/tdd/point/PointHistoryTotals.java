@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 합계 (충전/사용 금액과 건수)
+ */
+public record PointHistoryTotals(
+        long chargeAmount,
+        long chargeCount,
+        long useAmount,
+        long useCount
+) {
+    public static final PointHistoryTotals EMPTY = new PointHistoryTotals(0, 0, 0, 0);
+
+    // 충전 합계 - 사용 합계
+    public long netAmount() {
+        return chargeAmount - useAmount;
+    }
+}
@@ -0,0 +1,146 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 요청의 Idempotency-Key 중복 제거 캐시
+ * - (userId, 키) 마다 처음 요청의 결과(UserPoint)를 point.idempotency.ttl-ms 동안 기억하고,
+ *   같은 키로 다시 온 요청은 저장소를 거치지 않고 기억한 결과로 응답한다.
+ * - 처음 요청이 아직 처리 중이면 중복 요청은 같은 결과를 기다린다. (동시에 온 재시도도 한 번만 실행)
+ * - 실패한 요청은 기억하지 않으므로 같은 키로 다시 시도하면 새로 실행된다. (기다리던 중복 요청에는 같은 예외를 전달)
+ * - 같은 키로 유형이나 금액이 다른 요청이 오면 거절한다.
+ * - 만료 시간이 모두 같으므로 넣은 순서가 곧 만료 순서이며, 넣을 때마다 앞에서부터 만료됐거나
+ *   point.idempotency.max-size 를 넘은 키를 정리한다. (max-size = 0 이면 중복 제거 안 함)
+ */
+@Component
+public class PointIdempotencyCache {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock trimLock = new ReentrantLock();
+    private final LongAdder replays = new LongAdder();
+
+    @Autowired
+    public PointIdempotencyCache(@Value("${point.idempotency.max-size:100000}") int maxSize,
+                                 @Value("${point.idempotency.ttl-ms:86400000}") long ttlMillis) {
+        this(maxSize, ttlMillis, System::nanoTime);
+    }
+
+    public PointIdempotencyCache(int maxSize, long ttlMillis, LongSupplier nanoClock) {
+        if (maxSize < 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("멱등 키 캐시 설정이 유효하지 않습니다.");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    // 처음 온 키면 action 을 실행해 결과를 기억하고, 이미 있는 키면 기억한 결과(또는 처리 중인 결과)를 반환한다.
+    public UserPoint execute(String idempotencyKey, PointCommand command, Supplier<UserPoint> action) {
+        if (maxSize == 0) {
+            return action.get();
+        }
+        Key key = new Key(command.userId(), idempotencyKey);
+        long now = nanoClock.getAsLong();
+        Entry created = new Entry(key, command.type(), command.amount(), now + ttlNanos);
+        Entry entry = entries.compute(key, (k, current) -> current != null && !current.expired(now) ? current : created);
+        if (entry != created) {
+            replays.increment();
+            return entry.await(command);
+        }
+
+        insertionOrder.add(created);
+        queued.incrementAndGet();
+        trim(now);
+        try {
+            UserPoint result = action.get();
+            created.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            entries.remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 기억 중인 키 수
+    public int size() {
+        return entries.size();
+    }
+
+    // 기억한 결과로 응답한 중복 요청 수
+    public long replays() {
+        return replays.sum();
+    }
+
+    // 정리는 한 스레드만 하고, 다른 스레드가 정리 중이면 건너뛴다.
+    private void trim(long now) {
+        if (!trimLock.tryLock()) {
+            return;
+        }
+        try {
+            Entry head;
+            while ((head = insertionOrder.peek()) != null && (head.expired(now) || queued.get() > maxSize)) {
+                insertionOrder.poll();
+                queued.decrementAndGet();
+                entries.remove(head.key, head);
+            }
+        } finally {
+            trimLock.unlock();
+        }
+    }
+
+    private record Key(long userId, String idempotencyKey) {
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final TransactionType type;
+        private final long amount;
+        private final long expiresAtNanos;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private Entry(Key key, TransactionType type, long amount, long expiresAtNanos) {
+            this.key = key;
+            this.type = type;
+            this.amount = amount;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean expired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+
+        private UserPoint await(PointCommand command) {
+            if (command.type() != type || command.amount() != amount) {
+                throw new IllegalArgumentException("같은 멱등 키로 다른 요청을 보낼 수 없습니다.");
+            }
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                // 처음 요청이 실패했다면 같은 예외를 그대로 전달한다.
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 구성 요소의 현재 상태 계측 (스크랩 시점에만 값을 읽는다)
+ * - point.lock.active : 관리 중인 사용자 락 수
+ * - point.cache.size / point.cache.requests(result = hit | miss) / point.cache.evictions
+ * - point.history.outbox.pending : 비동기 기록 대기 중인 내역 수
+ * - point.history.outbox.failed : 다시 시도해도 기록하지 못해 재기록을 기다리는 내역 수
+ * - point.idempotency.size / point.idempotency.replays : 기억 중인 멱등 키 수, 기억한 결과로 응답한 중복 요청 수
+ * - point.reservation.active : 확정/해제를 기다리는 포인트 예약 수
+ * - point.events.subscribers : 포인트 변경 이벤트 구독자 수
+ */
+@Component
+@RequiredArgsConstructor
+public class PointMeterBinder implements MeterBinder {
+    private final UserLockRegistry userLockRegistry;
+    private final UserPointCache userPointCache;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final PointIdempotencyCache pointIdempotencyCache;
+    private final PointReservationRegistry pointReservationRegistry;
+    private final PointEventService pointEventService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.lock.active", userLockRegistry, UserLockRegistry::size)
+                .description("관리 중인 사용자 락 수")
+                .register(registry);
+
+        Gauge.builder("point.cache.size", userPointCache, UserPointCache::size)
+                .description("잔고 캐시 보관 수")
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", userPointCache, UserPointCache::hits)
+                .description("잔고 캐시 조회 수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", userPointCache, UserPointCache::misses)
+                .description("잔고 캐시 조회 수")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("point.cache.evictions", userPointCache, UserPointCache::evictions)
+                .description("잔고 캐시 제거 수")
+                .register(registry);
+
+        Gauge.builder("point.history.outbox.pending", pointHistoryOutbox, PointHistoryOutbox::pending)
+                .description("기록 대기 중인 포인트 내역 수")
+                .register(registry);
+        Gauge.builder("point.history.outbox.failed", pointHistoryOutbox, PointHistoryOutbox::failed)
+                .description("기록하지 못해 재기록을 기다리는 포인트 내역 수")
+                .register(registry);
+
+        Gauge.builder("point.idempotency.size", pointIdempotencyCache, PointIdempotencyCache::size)
+                .description("기억 중인 멱등 키 수")
+                .register(registry);
+        FunctionCounter.builder("point.idempotency.replays", pointIdempotencyCache, PointIdempotencyCache::replays)
+                .description("기억한 결과로 응답한 중복 요청 수")
+                .register(registry);
+
+        Gauge.builder("point.reservation.active", pointReservationRegistry, PointReservationRegistry::size)
+                .description("확정/해제를 기다리는 포인트 예약 수")
+                .register(registry);
+
+        Gauge.builder("point.events.subscribers", pointEventService, PointEventService::subscribers)
+                .description("포인트 변경 이벤트 구독자 수")
+                .register(registry);
+    }
+}
@@ -0,0 +1,168 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 기능 계측 (Micrometer, /actuator/prometheus 로 노출)
+ * - point.operation : PointService 기능별 처리 시간 (operation = get | histories | summary | charge | use | batch | transfer | hold | capture | release)
+ * - point.lock.wait / point.lock.hold : 사용자 락 획득 대기 시간과 보유 시간 (operation = charge | use | batch | transfer)
+ * - point.table.latency : 테이블 호출 시간 (table = user_point | point_history, call = select | upsert | insert)
+ * - point.rejected : 거절된 요청 수 (reason = max_point | insufficient_balance | limit | velocity | validation | not_found)
+ * - point.optimistic : 낙관적 실행 방식의 시도 결과 수 (outcome = committed | conflict | fallback)
+ * - 모든 미터는 생성 시점에 등록해 두고, 요청마다 태그 조회 없이 미리 만든 미터에 기록만 한다.
+ */
+@Component
+public class PointMetrics {
+
+    public enum Operation {
+        GET("get", false), HISTORIES("histories", false), SUMMARY("summary", false),
+        CHARGE("charge", true), USE("use", true), BATCH("batch", true), TRANSFER("transfer", true),
+        HOLD("hold", false), CAPTURE("capture", false), RELEASE("release", false);
+
+        private final String tag;
+        // 사용자 락을 잡는 기능인지 (락 대기/보유 시간은 이 기능들만 등록한다)
+        private final boolean locking;
+
+        Operation(String tag, boolean locking) {
+            this.tag = tag;
+            this.locking = locking;
+        }
+
+        public static Operation of(TransactionType type) {
+            return type == TransactionType.CHARGE ? CHARGE : USE;
+        }
+    }
+
+    public enum TableCall {
+        USER_POINT_SELECT("user_point", "select"),
+        USER_POINT_UPSERT("user_point", "upsert"),
+        POINT_HISTORY_INSERT("point_history", "insert"),
+        POINT_HISTORY_SELECT("point_history", "select");
+
+        private final String table;
+        private final String call;
+
+        TableCall(String table, String call) {
+            this.table = table;
+            this.call = call;
+        }
+    }
+
+    public enum Rejection {
+        MAX_POINT("max_point"),
+        INSUFFICIENT_BALANCE("insufficient_balance"),
+        // 1회 충전/사용 한도 초과
+        LIMIT("limit"),
+        // 일일 충전/사용 한도 초과
+        VELOCITY("velocity"),
+        VALIDATION("validation"),
+        NOT_FOUND("not_found");
+
+        private final String tag;
+
+        Rejection(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum OptimisticOutcome {
+        COMMITTED("committed"),
+        CONFLICT("conflict"),
+        FALLBACK("fallback");
+
+        private final String tag;
+
+        OptimisticOutcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<Operation, Timer> operationTimers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Timer> lockWaitTimers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Timer> lockHoldTimers = new EnumMap<>(Operation.class);
+    private final Map<TableCall, Timer> tableTimers = new EnumMap<>(TableCall.class);
+    private final Map<Rejection, Counter> rejections = new EnumMap<>(Rejection.class);
+    private final Map<OptimisticOutcome, Counter> optimisticOutcomes = new EnumMap<>(OptimisticOutcome.class);
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        for (Operation operation : Operation.values()) {
+            operationTimers.put(operation, Timer.builder("point.operation")
+                    .description("포인트 기능별 처리 시간")
+                    .tag("operation", operation.tag)
+                    .register(meterRegistry));
+            if (!operation.locking) {
+                // 예약/확정/해제는 실행기의 충전/사용(charge/use)으로 락 시간이 기록된다.
+                continue;
+            }
+            lockWaitTimers.put(operation, Timer.builder("point.lock.wait")
+                    .description("사용자 락 획득 대기 시간")
+                    .tag("operation", operation.tag)
+                    .register(meterRegistry));
+            lockHoldTimers.put(operation, Timer.builder("point.lock.hold")
+                    .description("사용자 락 보유 시간")
+                    .tag("operation", operation.tag)
+                    .register(meterRegistry));
+        }
+        for (TableCall tableCall : TableCall.values()) {
+            tableTimers.put(tableCall, Timer.builder("point.table.latency")
+                    .description("테이블 호출 시간")
+                    .tag("table", tableCall.table)
+                    .tag("call", tableCall.call)
+                    .register(meterRegistry));
+        }
+        for (Rejection rejection : Rejection.values()) {
+            rejections.put(rejection, Counter.builder("point.rejected")
+                    .description("거절된 포인트 요청 수")
+                    .tag("reason", rejection.tag)
+                    .register(meterRegistry));
+        }
+        for (OptimisticOutcome outcome : OptimisticOutcome.values()) {
+            optimisticOutcomes.put(outcome, Counter.builder("point.optimistic")
+                    .description("낙관적 실행 시도 결과 수")
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    // 기록하지 않는 계측 (테스트, 벤치마크용)
+    public static PointMetrics noop() {
+        return new PointMetrics(new CompositeMeterRegistry());
+    }
+
+    // 시작 시각을 long 으로 넘겨 요청마다 Timer.Sample 을 만들지 않는다.
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void recordOperation(Operation operation, long startNanos) {
+        operationTimers.get(operation).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockWait(Operation operation, long startNanos) {
+        lockWaitTimers.get(operation).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(Operation operation, long startNanos) {
+        lockHoldTimers.get(operation).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTable(TableCall tableCall, long startNanos) {
+        tableTimers.get(tableCall).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void rejected(Rejection rejection) {
+        rejections.get(rejection).increment();
+    }
+
+    public void optimistic(OptimisticOutcome outcome) {
+        optimisticOutcomes.get(outcome).increment();
+    }
+}
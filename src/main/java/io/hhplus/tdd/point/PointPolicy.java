@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컴파일된 포인트 정책 (변경되지 않는 스냅샷)
+ * - 등급을 지정한 사용자는 userId 로 정렬한 배열에 두고 이진 탐색으로 찾으므로, 등급 조회에 객체를 만들지 않는다.
+ */
+final class PointPolicy {
+    private final PointPolicyRules rules;
+    private final PointTierLimit defaultLimit;
+    private final long[] userIds;
+    private final PointTierLimit[] userLimits;
+
+    private PointPolicy(PointPolicyRules rules, PointTierLimit defaultLimit, long[] userIds, PointTierLimit[] userLimits) {
+        this.rules = rules;
+        this.defaultLimit = defaultLimit;
+        this.userIds = userIds;
+        this.userLimits = userLimits;
+    }
+
+    static PointPolicy compile(PointPolicyRules rules) {
+        for (PointTierLimit limit : rules.tiers().values()) {
+            if (limit == null || limit.maxBalance() < 0 || limit.maxChargeAmount() < 0 || limit.maxUseAmount() < 0
+                    || limit.dailyChargeLimit() < 0 || limit.dailyUseLimit() < 0) {
+                throw new IllegalArgumentException("포인트 정책이 유효하지 않습니다.");
+            }
+        }
+        PointTierLimit defaultLimit = rules.tiers().get(rules.defaultTier());
+        if (defaultLimit == null) {
+            throw new IllegalArgumentException("포인트 정책의 기본 등급이 없습니다.");
+        }
+
+        List<Map.Entry<Long, String>> entries = new ArrayList<>(rules.userTiers().entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        long[] userIds = new long[entries.size()];
+        PointTierLimit[] userLimits = new PointTierLimit[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<Long, String> entry = entries.get(i);
+            PointTierLimit limit = rules.tiers().get(entry.getValue());
+            if (entry.getKey() == null || entry.getKey() <= 0 || limit == null) {
+                throw new IllegalArgumentException("포인트 정책의 사용자 등급이 유효하지 않습니다.");
+            }
+            userIds[i] = entry.getKey();
+            userLimits[i] = limit;
+        }
+        return new PointPolicy(rules, defaultLimit, userIds, userLimits);
+    }
+
+    PointPolicyRules rules() {
+        return rules;
+    }
+
+    PointTierLimit limitOf(long userId) {
+        int index = Arrays.binarySearch(userIds, userId);
+        return index >= 0 ? userLimits[index] : defaultLimit;
+    }
+}
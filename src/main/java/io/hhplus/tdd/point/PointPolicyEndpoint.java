@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 포인트 정책 관리 (GET/POST /actuator/pointpolicy)
+ * - 운영자만 정책을 바꿀 수 있도록 클라이언트 API(/point) 가 아닌 actuator 엔드포인트로 둔다.
+ *   management.endpoints.web.exposure.include 에 pointpolicy 를 넣어야 노출되며, 기본 설정(health, prometheus)에서는 노출되지 않는다.
+ *   노출할 때는 management.server.port 로 내부망에서만 닿는 포트에 두는 것을 권장한다.
+ * - 본문은 PointPolicyRules 와 같은 형식(defaultTier, tiers, userTiers)이며, 검증을 통과하면 이후 요청부터 새 정책이 적용된다.
+ */
+@Component
+@Endpoint(id = "pointpolicy")
+@RequiredArgsConstructor
+public class PointPolicyEndpoint {
+    private final PointPolicyEngine pointPolicyEngine;
+    private final ObjectMapper objectMapper;
+
+    @ReadOperation
+    public PointPolicyRules rules() {
+        return pointPolicyEngine.rules();
+    }
+
+    // 규칙이 잘못됐으면 400 으로 응답하고 기존 정책을 그대로 둔다.
+    @WriteOperation
+    public PointPolicyRules update(@Nullable String defaultTier,
+                                   Map<String, Object> tiers,
+                                   @Nullable Map<String, Object> userTiers) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("defaultTier", defaultTier);
+        body.put("tiers", tiers);
+        body.put("userTiers", userTiers);
+        try {
+            return pointPolicyEngine.update(objectMapper.convertValue(body, PointPolicyRules.class));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), "포인트 정책이 유효하지 않습니다.");
+        }
+    }
+}
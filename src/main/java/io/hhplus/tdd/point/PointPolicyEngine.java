@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 포인트 정책 (등급별 최대 잔고, 1회 한도, 일일 한도)
+ * - 규칙(PointPolicyRules)은 변경되지 않는 스냅샷(PointPolicy)으로 컴파일해 두고, update 시 새 스냅샷으로 한 번에 바꾼다.
+ *   검증 중인 요청은 시작할 때 읽은 스냅샷으로 끝까지 판단한다.
+ * - 검증은 위반 사유(PointPolicyViolation) 또는 null 을 반환하며 예외나 객체를 만들지 않는다.
+ * - 일일 한도는 통과할 때 누적에 바로 더한다. 잔고 저장에 실패하면 호출하는 쪽이 release 로 되돌린다.
+ *   (정책이 바뀐 직후에는 바뀌기 전에 더한 금액을 되돌리지 못하거나, 새로 생긴 일일 한도가 0 부터 누적될 수 있다)
+ * - 예약 해제로 되돌려 주는 충전(refund)은 검증하지 않고 누적에도 더하지 않는다.
+ *   대신 PointReservationService 가 예약할 때 일일 사용 누적에 더한 금액을 release 로 되돌린다.
+ */
+@Component
+@EnableConfigurationProperties(PointPolicyRules.class)
+public class PointPolicyEngine {
+    private final AtomicReference<PointPolicy> policy;
+    private final PointVelocityTracker velocityTracker = new PointVelocityTracker();
+    private final ScheduledExecutorService purgeScheduler;
+
+    // 거래가 없는 사용자의 일일 누적을 주기적으로 정리하지 않는다.
+    public PointPolicyEngine(PointPolicyRules rules) {
+        this(rules, 0);
+    }
+
+    @Autowired
+    public PointPolicyEngine(PointPolicyRules rules,
+                             @Value("${point.policy.purge-interval-ms:600000}") long purgeIntervalMillis) {
+        this.policy = new AtomicReference<>(PointPolicy.compile(rules));
+        if (purgeIntervalMillis > 0) {
+            this.purgeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-policy-purge");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.purgeScheduler.scheduleWithFixedDelay(() -> velocityTracker.purge(System.currentTimeMillis()),
+                    purgeIntervalMillis, purgeIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.purgeScheduler = null;
+        }
+    }
+
+    public PointPolicyRules rules() {
+        return policy.get().rules();
+    }
+
+    // 규칙을 검증해 컴파일한 뒤 바꾼다. 규칙이 잘못됐으면 기존 정책을 그대로 둔다.
+    public PointPolicyRules update(PointPolicyRules rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("포인트 정책이 유효하지 않습니다.");
+        }
+        PointPolicy compiled = PointPolicy.compile(rules);
+        policy.set(compiled);
+        return compiled.rules();
+    }
+
+    // balanceAfter : 충전 후 잔고 + 예약 중인 금액
+    public PointPolicyViolation acquireCharge(long userId, long balanceAfter, long amount, long millis) {
+        PointTierLimit limit = policy.get().limitOf(userId);
+        if (limit.maxBalance() > 0 && balanceAfter > limit.maxBalance()) {
+            return PointPolicyViolation.MAX_BALANCE;
+        }
+        if (limit.maxChargeAmount() > 0 && amount > limit.maxChargeAmount()) {
+            return PointPolicyViolation.CHARGE_AMOUNT;
+        }
+        if (limit.dailyChargeLimit() > 0
+                && !velocityTracker.tryAdd(userId, TransactionType.CHARGE, amount, limit.dailyChargeLimit(), millis)) {
+            return PointPolicyViolation.DAILY_CHARGE;
+        }
+        return null;
+    }
+
+    // 잔고 부족은 호출하는 쪽에서 먼저 검증한다.
+    public PointPolicyViolation acquireUse(long userId, long amount, long millis) {
+        PointTierLimit limit = policy.get().limitOf(userId);
+        if (limit.maxUseAmount() > 0 && amount > limit.maxUseAmount()) {
+            return PointPolicyViolation.USE_AMOUNT;
+        }
+        if (limit.dailyUseLimit() > 0
+                && !velocityTracker.tryAdd(userId, TransactionType.USE, amount, limit.dailyUseLimit(), millis)) {
+            return PointPolicyViolation.DAILY_USE;
+        }
+        return null;
+    }
+
+    // acquireCharge/acquireUse 로 일일 누적에 더한 금액을 되돌린다. millis 는 더할 때 쓴 요청 시각이다.
+    public void release(long userId, TransactionType type, long amount, long millis) {
+        velocityTracker.subtract(userId, type, amount, millis);
+    }
+
+    // 누적을 더하지 않고 최대 잔고만 확인한다. (낙관적 실행의 재시도 판단용)
+    public boolean exceedsMaxBalance(long userId, long balanceAfter) {
+        long maxBalance = policy.get().limitOf(userId).maxBalance();
+        return maxBalance > 0 && balanceAfter > maxBalance;
+    }
+
+    // 최근 24시간 누적 충전/사용 금액 (일일 한도가 있는 등급의 사용자만 누적한다)
+    public long dailyAmount(long userId, TransactionType type, long millis) {
+        return velocityTracker.sum(userId, type, millis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (purgeScheduler != null) {
+            purgeScheduler.shutdownNow();
+        }
+    }
+}
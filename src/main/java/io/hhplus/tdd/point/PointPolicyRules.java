@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * 포인트 정책 규칙 (point.policy.* 설정, GET /point/policy, GET/POST /actuator/pointpolicy)
+ * - tiers : 등급 이름별 한도, defaultTier : 등급을 따로 지정하지 않은 사용자의 등급
+ * - userTiers : 등급을 따로 지정할 사용자 (userId -> 등급 이름)
+ * - 설정이 없으면 기본 등급(basic) 하나만 두고 최대 잔고 1000 만 제한한다.
+ */
+@ConfigurationProperties("point.policy")
+public record PointPolicyRules(
+        String defaultTier,
+        Map<String, PointTierLimit> tiers,
+        Map<Long, String> userTiers
+) {
+    public static final String BASIC_TIER = "basic";
+    public static final PointPolicyRules DEFAULT = new PointPolicyRules(null, null, null);
+
+    public PointPolicyRules {
+        defaultTier = defaultTier != null ? defaultTier : BASIC_TIER;
+        tiers = tiers != null && !tiers.isEmpty() ? Map.copyOf(tiers) : Map.of(BASIC_TIER, new PointTierLimit(1000L, 0, 0, 0, 0));
+        userTiers = userTiers != null ? Map.copyOf(userTiers) : Map.of();
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 정책 위반 사유 (충전/사용 거절 메시지와 거절 계측 사유)
+ */
+public enum PointPolicyViolation {
+    MAX_BALANCE(PointMetrics.Rejection.MAX_POINT, "최대 잔고 초과로 포인트 충전에 실패하였습니다."),
+    CHARGE_AMOUNT(PointMetrics.Rejection.LIMIT, "1회 충전 한도 초과로 포인트 충전에 실패하였습니다."),
+    USE_AMOUNT(PointMetrics.Rejection.LIMIT, "1회 사용 한도 초과로 포인트 사용에 실패하였습니다."),
+    DAILY_CHARGE(PointMetrics.Rejection.VELOCITY, "일일 충전 한도 초과로 포인트 충전에 실패하였습니다."),
+    DAILY_USE(PointMetrics.Rejection.VELOCITY, "일일 사용 한도 초과로 포인트 사용에 실패하였습니다.");
+
+    private final PointMetrics.Rejection rejection;
+    private final String message;
+
+    PointPolicyViolation(PointMetrics.Rejection rejection, String message) {
+        this.rejection = rejection;
+        this.message = message;
+    }
+
+    public PointMetrics.Rejection rejection() {
+        return rejection;
+    }
+
+    public String message() {
+        return message;
+    }
+}
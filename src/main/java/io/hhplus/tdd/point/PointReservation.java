@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 예약(hold) 한 건
+ * - 예약 금액은 예약 시점에 잔고에서 빠지며, 확정(capture)하면 그대로 사용되고 해제(release)하거나 만료되면 되돌려진다.
+ * - heldAtMillis : 예약 시각 (되돌려 줄 때 그 시각의 일일 사용 누적에서 예약 금액을 뺀다)
+ */
+public record PointReservation(
+        long reservationId,
+        long userId,
+        long amount,
+        long heldAtMillis,
+        long expiresAtMillis
+) {
+}
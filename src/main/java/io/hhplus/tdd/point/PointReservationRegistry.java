@@ -0,0 +1,153 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 예약(hold) 보관소
+ * - 예약은 id 로 찾고, 사용자별로 잡혀 있는 금액(held)을 따로 합산해 둔다. (최대 잔고 검증과 잔고 조회에서 사용)
+ * - 확정/해제/만료는 예약 맵에서 먼저 제거한 쪽만 반영되므로 같은 예약이 두 번 처리되지 않는다.
+ * - 만료는 해시 타이머 휠로 관리한다. 만료 시각을 tick-ms 단위 칸(WHEEL_SIZE 개)에 넣어 두고,
+ *   expire 호출마다 지난 칸과 현재 칸을 확인하며, 현재 칸은 다 지나기 전이므로 다음 호출에서 한 번 더 확인한다. 한 바퀴보다 먼 예약은 같은 칸에 다시 넣어 다음 바퀴에 확인한다.
+ * - 이미 확정/해제된 예약은 휠에서 바로 빼지 않고, 그 칸을 확인할 때 버린다.
+ * - 해제/만료로 제거한 예약을 되돌려 주지 못하면 restore 로 다시 넣어 다음 해제나 만료 확인에서 다시 시도한다.
+ */
+@Component
+public class PointReservationRegistry {
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final long tickMillis;
+    private final ConcurrentHashMap<Long, PointReservation> reservations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> heldAmounts = new ConcurrentHashMap<>();
+    private final AtomicLong reservationSequence = new AtomicLong();
+    private final ConcurrentLinkedQueue<PointReservation>[] wheel;
+    // 만료 확인은 한 번에 한 스레드만 한다.
+    private final ReentrantLock expireLock = new ReentrantLock();
+    // 마지막으로 확인한 칸 (expireLock 안에서만 변경)
+    private volatile long cursorTick = Long.MIN_VALUE;
+
+    @SuppressWarnings("unchecked")
+    public PointReservationRegistry(@Value("${point.reservation.tick-ms:100}") long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("예약 만료 확인 단위가 유효하지 않습니다.");
+        }
+        this.tickMillis = tickMillis;
+        this.wheel = new ConcurrentLinkedQueue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    // 예약 금액을 잡아 둔다. 잔고에서 빼기 전에 먼저 잡아야, 그 사이 충전이 최대 잔고 검증을 통과하지 않는다.
+    public void hold(long userId, long amount) {
+        heldAmounts.merge(userId, amount, Long::sum);
+    }
+
+    // 잡아 둔 금액을 푼다. 되돌려 주는 경우에는 잔고에 더한 뒤에 풀어야 한다.
+    public void unhold(long userId, long amount) {
+        heldAmounts.computeIfPresent(userId, (id, held) -> held == amount ? null : held - amount);
+    }
+
+    // 잔고에서 뺀 예약을 등록하고 만료 시각의 칸에 넣는다.
+    public PointReservation register(long userId, long amount, long heldAtMillis, long expiresAtMillis) {
+        PointReservation reservation = new PointReservation(reservationSequence.incrementAndGet(), userId, amount,
+                heldAtMillis, expiresAtMillis);
+        reservations.put(reservation.reservationId(), reservation);
+        schedule(reservation);
+        return reservation;
+    }
+
+    // remove/expire 로 제거한 예약을 다시 넣는다. (되돌려 주지 못한 예약, 잡아 둔 금액은 그대로 유지된다)
+    // 이미 만료된 예약은 다음 칸에 들어가므로 다음 만료 확인에서 다시 처리된다.
+    public void restore(PointReservation reservation) {
+        if (reservations.putIfAbsent(reservation.reservationId(), reservation) == null) {
+            schedule(reservation);
+        }
+    }
+
+    // 해당 사용자의 예약이면 제거해 반환하고, 없거나 이미 처리됐으면 null 을 반환한다. (잡아 둔 금액은 호출하는 쪽이 푼다)
+    public PointReservation remove(long userId, long reservationId) {
+        PointReservation reservation = reservations.get(reservationId);
+        if (reservation == null || reservation.userId() != userId || !reservations.remove(reservationId, reservation)) {
+            return null;
+        }
+        return reservation;
+    }
+
+    public long heldAmount(long userId) {
+        return heldAmounts.getOrDefault(userId, 0L);
+    }
+
+    // nowMillis 까지 지난 칸을 확인해 만료된 예약을 제거하고 onExpired 로 넘긴다. 만료 처리한 예약 수를 반환한다.
+    // 다른 스레드가 확인 중이면 건너뛴다.
+    public int expire(long nowMillis, Consumer<PointReservation> onExpired) {
+        if (!expireLock.tryLock()) {
+            return 0;
+        }
+        try {
+            long currentTick = Math.floorDiv(nowMillis, tickMillis);
+            // 처음이거나 한 바퀴 넘게 밀렸으면 모든 칸을 한 번씩만 확인한다.
+            long fromTick = cursorTick == Long.MIN_VALUE ? currentTick - WHEEL_MASK : Math.max(cursorTick + 1, currentTick - WHEEL_MASK);
+            List<PointReservation> expired = new ArrayList<>();
+            for (long tick = fromTick; tick <= currentTick; tick++) {
+                collect(wheel[(int) (tick & WHEEL_MASK)], nowMillis, expired);
+            }
+            // 현재 칸은 아직 지나지 않았으므로(그 안에서 nowMillis 뒤에 만료되는 예약이 남아 있을 수 있다) 다음 확인에서 다시 본다.
+            cursorTick = Math.max(cursorTick, currentTick - 1);
+            for (PointReservation reservation : expired) {
+                onExpired.accept(reservation);
+            }
+            return expired.size();
+        } finally {
+            expireLock.unlock();
+        }
+    }
+
+    // 보관 중인 예약 수
+    public int size() {
+        return reservations.size();
+    }
+
+    public long tickMillis() {
+        return tickMillis;
+    }
+
+    private void schedule(PointReservation reservation) {
+        // 이미 확인한 칸에 넣으면 한 바퀴 뒤에야 확인되므로 다음 칸으로 넣는다.
+        long tick = Math.max(Math.floorDiv(reservation.expiresAtMillis(), tickMillis), cursorTick + 1);
+        wheel[(int) (tick & WHEEL_MASK)].add(reservation);
+    }
+
+    private void collect(ConcurrentLinkedQueue<PointReservation> bucket, long nowMillis, List<PointReservation> expired) {
+        List<PointReservation> later = null;
+        PointReservation reservation;
+        while ((reservation = bucket.poll()) != null) {
+            if (reservations.get(reservation.reservationId()) != reservation) {
+                // 이미 확정/해제된 예약
+                continue;
+            }
+            if (reservation.expiresAtMillis() > nowMillis) {
+                if (later == null) {
+                    later = new ArrayList<>();
+                }
+                later.add(reservation);
+                continue;
+            }
+            if (reservations.remove(reservation.reservationId(), reservation)) {
+                expired.add(reservation);
+            }
+        }
+        if (later != null) {
+            bucket.addAll(later);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 예약(hold) / 확정(capture) / 해제(release)
+ * - 예약 : 금액을 잡아 둔 뒤 PointCommandExecutor 로 사용(USE)을 반영하고 예약을 등록한다.
+ *   잔고 부족 여부는 이때 판단하므로, 결제 마지막 단계에서 잔고 부족으로 실패하지 않는다.
+ * - 확정 : 잔고와 내역은 예약 시점에 이미 반영됐으므로 예약만 제거한다. (락, 저장소를 거치지 않는다)
+ * - 해제/만료 : 예약을 제거하고 금액을 되돌려 준다. (충전(CHARGE) 내역으로 기록, 최대 잔고는 다시 검증하지 않음)
+ *   되돌려 준 금액은 사용하지 않은 것이므로 예약 시각의 일일 사용 누적에서도 뺀다.
+ *   되돌려 주기에 실패하면 예약을 다시 넣어 두므로, 해제는 다시 요청할 수 있고 만료는 다음 확인에서 다시 시도한다.
+ * - 예약 중인 금액은 충전 시 최대 잔고 검증에 포함되므로, 되돌려 준 뒤에도 최대 잔고를 넘지 않는다.
+ * - 만료는 point.reservation.expire-interval-ms 마다 확인한다. (0 이면 주기 확인 안 함)
+ */
+@Service
+public class PointReservationService {
+    private static final Logger log = LoggerFactory.getLogger(PointReservationService.class);
+
+    private final PointService pointService;
+    private final PointCommandExecutor pointCommandExecutor;
+    private final PointReservationRegistry pointReservationRegistry;
+    private final PointValidation pointValidation;
+    private final PointMetrics pointMetrics;
+    private final PointPolicyEngine pointPolicyEngine;
+    private final long defaultTtlMillis;
+    private final long maxTtlMillis;
+    private final ScheduledExecutorService expireScheduler;
+
+    public PointReservationService(PointService pointService,
+                                   PointCommandExecutor pointCommandExecutor,
+                                   PointReservationRegistry pointReservationRegistry,
+                                   PointValidation pointValidation,
+                                   PointMetrics pointMetrics,
+                                   PointPolicyEngine pointPolicyEngine,
+                                   @Value("${point.reservation.default-ttl-ms:600000}") long defaultTtlMillis,
+                                   @Value("${point.reservation.max-ttl-ms:3600000}") long maxTtlMillis,
+                                   @Value("${point.reservation.expire-interval-ms:0}") long expireIntervalMillis) {
+        if (defaultTtlMillis <= 0 || maxTtlMillis < defaultTtlMillis) {
+            throw new IllegalArgumentException("포인트 예약 설정이 유효하지 않습니다.");
+        }
+        this.pointService = pointService;
+        this.pointCommandExecutor = pointCommandExecutor;
+        this.pointReservationRegistry = pointReservationRegistry;
+        this.pointValidation = pointValidation;
+        this.pointMetrics = pointMetrics;
+        this.pointPolicyEngine = pointPolicyEngine;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.maxTtlMillis = maxTtlMillis;
+        if (expireIntervalMillis > 0) {
+            this.expireScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-reservation-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.expireScheduler.scheduleWithFixedDelay(this::expireQuietly,
+                    expireIntervalMillis, expireIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.expireScheduler = null;
+        }
+    }
+
+    // 사용할 수 있는 잔고와 예약 중인 금액
+    public PointBalance getPointBalance(long userId){
+        UserPoint userPoint = pointService.getUserPoint(userId);
+        return PointBalance.of(userPoint, pointReservationRegistry.heldAmount(userId));
+    }
+
+    // ttlMillis 가 null 이면 기본 유지 시간(point.reservation.default-ttl-ms)을 쓴다.
+    public PointReservation hold(long userId, long amount, Long ttlMillis, long nowMillis){
+        long start = pointMetrics.start();
+        try {
+            validate(userId, amount);
+            long ttl = ttlMillis != null ? ttlMillis : defaultTtlMillis;
+            if (ttl <= 0 || ttl > maxTtlMillis) {
+                pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+                throw new IllegalArgumentException("포인트 예약 유지 시간이 유효하지 않습니다.");
+            }
+            pointReservationRegistry.hold(userId, amount);
+            try {
+                pointCommandExecutor.execute(PointCommand.use(userId, amount, nowMillis));
+            } catch (RuntimeException e) {
+                pointReservationRegistry.unhold(userId, amount);
+                throw e;
+            }
+            return pointReservationRegistry.register(userId, amount, nowMillis, nowMillis + ttl);
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.HOLD, start);
+        }
+    }
+
+    public PointReservation capture(long userId, long reservationId){
+        long start = pointMetrics.start();
+        try {
+            PointReservation reservation = remove(userId, reservationId);
+            pointReservationRegistry.unhold(userId, reservation.amount());
+            return reservation;
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.CAPTURE, start);
+        }
+    }
+
+    // 예약 금액을 되돌려 준 뒤의 잔고를 반환한다.
+    public UserPoint release(long userId, long reservationId, long nowMillis){
+        long start = pointMetrics.start();
+        try {
+            return refund(remove(userId, reservationId), nowMillis);
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.RELEASE, start);
+        }
+    }
+
+    // nowMillis 까지 만료된 예약을 모두 되돌려 주고 그 수를 반환한다.
+    public int expire(long nowMillis){
+        return pointReservationRegistry.expire(nowMillis, reservation -> {
+            try {
+                refund(reservation, nowMillis);
+            } catch (RuntimeException e) {
+                log.error("만료된 포인트 예약을 되돌려 주지 못해 다음 확인에서 다시 시도합니다. {}", reservation, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (expireScheduler != null) {
+            expireScheduler.shutdownNow();
+        }
+    }
+
+    private void expireQuietly() {
+        try {
+            expire(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // 예외가 나도 다음 주기 확인은 계속되도록 한다.
+            log.error("포인트 예약 만료 확인에 실패했습니다.", e);
+        }
+    }
+
+    // 잔고에 더한 뒤에 잡아 둔 금액을 푼다. (그 사이 충전이 최대 잔고 검증을 통과하지 않도록)
+    // 실패하면 잡아 둔 금액을 그대로 두고 예약을 다시 넣는다. (잔고에서 뺀 금액을 잃지 않도록)
+    // 성공하면 예약할 때 일일 사용 누적에 더한 금액도 되돌린다. (예약 후 해제를 반복해도 일일 사용 한도를 쓰지 않도록)
+    private UserPoint refund(PointReservation reservation, long nowMillis) {
+        UserPoint userPoint;
+        try {
+            userPoint = pointCommandExecutor.execute(PointCommand.refund(reservation.userId(), reservation.amount(), nowMillis));
+        } catch (RuntimeException e) {
+            pointReservationRegistry.restore(reservation);
+            throw e;
+        }
+        pointReservationRegistry.unhold(reservation.userId(), reservation.amount());
+        pointPolicyEngine.release(reservation.userId(), TransactionType.USE, reservation.amount(), reservation.heldAtMillis());
+        return userPoint;
+    }
+
+    private PointReservation remove(long userId, long reservationId) {
+        validateUserId(userId);
+        PointReservation reservation = pointReservationRegistry.remove(userId, reservationId);
+        if (reservation == null) {
+            pointMetrics.rejected(PointMetrics.Rejection.NOT_FOUND);
+            throw new IllegalArgumentException("해당 포인트 예약을 찾을 수 없습니다.");
+        }
+        return reservation;
+    }
+
+    private void validate(long userId, long amount) {
+        validateUserId(userId);
+        try {
+            pointValidation.validateAmount(amount);
+        } catch (IllegalArgumentException e) {
+            pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+            throw e;
+        }
+    }
+
+    private void validateUserId(long userId) {
+        try {
+            pointValidation.validateUserId(userId);
+        } catch (IllegalArgumentException e) {
+            pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+            throw e;
+        }
+    }
+}
@@ -1,103 +1,251 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.UserPointStore;
 import io.hhplus.tdd.point.UserPoint;
 import lombok.RequiredArgsConstructor;
 import org.apache.coyote.BadRequestException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class PointService {
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
-    private final PointValidation pointValidation;
-
-    private  final ConcurrentHashMap<Long, ReentrantLock> lockMap = new ConcurrentHashMap<>();
-
-    // ReentrantLock 생성자의 매개변수를 true 전달
-    // => 가장 오래 기다린 쓰레드가 lock을 획득할 수 있게 공정(fair)하게 처리
-    //private ReentrantLock lock = new ReentrantLock(true);
+    private static final int MAX_PAGE_SIZE = 1000;
 
-    private Long MAX_POINT = 1000L;
+    private final UserPointStore userPointStore;
+    private final PointHistoryStore pointHistoryStore;
+    private final PointValidation pointValidation;
+    private final PointCommandExecutor pointCommandExecutor;
+    private final UserPointCache userPointCache;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final PointSummaryAggregator pointSummaryAggregator;
+    private final PointIdempotencyCache pointIdempotencyCache;
+    private final PointMetrics pointMetrics;
 
     public UserPoint getUserPoint(long userId){
-        pointValidation.validateUserId(userId);
-        UserPoint userPoint = userPointTable.selectById(userId);
-        if(userPoint == null){
-            throw new IllegalArgumentException("해당 사용자 포인트 정보를 찾을 수 없습니다.");
+        long start = pointMetrics.start();
+        try {
+            validateUserId(userId);
+            // 충전/사용으로 바뀐 잔고는 캐시에서 바로 응답하고, 없을 때만 저장소를 조회한다.
+            UserPoint userPoint = userPointCache.getOrLoad(userId, userPointStore::selectById);
+            if(userPoint == null){
+                pointMetrics.rejected(PointMetrics.Rejection.NOT_FOUND);
+                throw new IllegalArgumentException("해당 사용자 포인트 정보를 찾을 수 없습니다.");
+            }
+            return userPoint;
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.GET, start);
         }
-        return userPoint;
     }
 
     public List<PointHistory> getPointHistories(long userId){
-        pointValidation.validateUserId(userId);
-        List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(userId);
-        if(pointHistories == null){
-            throw new IllegalArgumentException("해당 사용자 포인트 내역을 찾을 수 없습니다.");
+        return getPointHistories(userId, false);
+    }
+
+    // consistent = true : 비동기로 기록 대기 중인 해당 사용자의 내역을 모두 기록한 뒤 조회한다.
+    public List<PointHistory> getPointHistories(long userId, boolean consistent){
+        long start = pointMetrics.start();
+        try {
+            validateUserId(userId);
+            if (consistent) {
+                flushHistories(userId);
+            }
+            List<PointHistory> pointHistories = pointHistoryStore.selectAllByUserId(userId);
+            if(pointHistories == null){
+                pointMetrics.rejected(PointMetrics.Rejection.NOT_FOUND);
+                throw new IllegalArgumentException("해당 사용자 포인트 내역을 찾을 수 없습니다.");
+            }
+            return pointHistories;
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.HISTORIES, start);
         }
-        return pointHistories;
     }
 
-    public UserPoint patchPointCharge(long userId, long addAmount,long fixTime){
-        ReentrantLock lock = lockMap.computeIfAbsent(userId, id -> new ReentrantLock());
-        // .lock() 메서드를 통해 락을 획득
-        // .unlock()을 사용하여 하나의 스레드 실행 후엔 무조건 락을 해제하여 교착상태를 방지한다.
-        // try-finally를 사용하여 예외가 발생해도 항상 unlock() 호출
-
-        try{
-            // 동일 사용자에 대해 동기화
-            lock.lock();
-            pointValidation.validateUserId(userId);
-            pointValidation.validateAmount(addAmount);
-            UserPoint userPoint = userPointTable.selectById(userId);
-            if(userPoint == null){
-                throw new IllegalArgumentException("해당 사용자 포인트 정보를 찾을 수 없습니다.");
+    // id 커서 기반 페이지 조회 : 조건에 맞는 내역을 limit 건까지 반환하고, 더 있으면 다음 커서를 함께 반환한다.
+    public PointHistoryPage getPointHistoryPage(long userId, PointHistoryQuery query, int limit, boolean consistent){
+        long start = pointMetrics.start();
+        try {
+            if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+                pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+                throw new IllegalArgumentException("조회 개수가 유효하지 않습니다.");
             }
+            // 다음 페이지 여부를 알기 위해 한 건 더 읽는다.
+            List<PointHistory> items = openPointHistories(userId, query, consistent).limit(limit + 1L).toList();
+            if (items.size() <= limit) {
+                return new PointHistoryPage(items, null);
+            }
+            List<PointHistory> page = items.subList(0, limit);
+            return new PointHistoryPage(page, page.get(limit - 1).id());
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.HISTORIES, start);
+        }
+    }
 
-            long newPoint = userPoint.point() + addAmount;
-            if(newPoint > MAX_POINT){
-                throw new IllegalStateException("최대 잔고 초과로 포인트 충전에 실패하였습니다.");
+    // 시간 범위 조회 : updateMillis 가 fromMillis 이상 ~ toMillis 미만인 사용자 내역을 시각 순으로 limit 건까지 반환한다.
+    // 내역 저장소의 시각 인덱스로 범위 안의 내역만 읽으므로 비용은 결과 수에 비례한다. (일/월 명세서용)
+    public List<PointHistory> getPointHistoriesByTime(long userId, long fromMillis, long toMillis, int limit, boolean consistent){
+        long start = pointMetrics.start();
+        try {
+            validateUserId(userId);
+            validateTimeRange(fromMillis, toMillis, limit);
+            if (consistent) {
+                flushHistories(userId);
             }
+            return pointHistoryStore.streamByUserIdAndTime(userId, fromMillis, toMillis).limit(limit).toList();
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.HISTORIES, start);
+        }
+    }
 
-            UserPoint updatedPoint = userPointTable.insertOrUpdate(userId, newPoint);
-            pointHistoryTable.insert(userId, addAmount, TransactionType.CHARGE, fixTime);
-            return updatedPoint;
+    // 전체 사용자의 시간 범위 조회 (비동기 기록 대기 중인 내역은 포함되지 않을 수 있다)
+    public List<PointHistory> getAllPointHistoriesByTime(long fromMillis, long toMillis, int limit){
+        long start = pointMetrics.start();
+        try {
+            validateTimeRange(fromMillis, toMillis, limit);
+            return pointHistoryStore.streamByTime(fromMillis, toMillis).limit(limit).toList();
         } finally {
-            lock.unlock(); // 락 해제
-            lockMap.remove(userId, lock); // 락 객체 정리
+            pointMetrics.recordOperation(PointMetrics.Operation.HISTORIES, start);
+        }
+    }
+
+    // 조건에 맞는 내역을 지연 평가 스트림으로 반환한다. (NDJSON 스트리밍 응답용)
+    // 검증과 내역 존재 여부 확인은 호출 시점에 수행하고, 내역은 소비하는 만큼만 순회한다.
+    public Stream<PointHistory> streamPointHistories(long userId, PointHistoryQuery query, boolean consistent){
+        return openPointHistories(userId, query, consistent);
+    }
+
+    // 충전/사용 때마다 갱신해 둔 누적 요약을 내역 조회 없이 반환한다.
+    public PointSummary getPointSummary(long userId){
+        long start = pointMetrics.start();
+        try {
+            validateUserId(userId);
+            return pointSummaryAggregator.get(userId);
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.SUMMARY, start);
+        }
+    }
+
+    public UserPoint patchPointCharge(long userId, long addAmount,long fixTime){
+        return patchPointCharge(userId, addAmount, fixTime, null);
+    }
+
+    // idempotencyKey 가 있으면 같은 키로 다시 온 요청은 처음 요청의 결과로 응답한다. (null 이면 매번 실행)
+    public UserPoint patchPointCharge(long userId, long addAmount, long fixTime, String idempotencyKey){
+        long start = pointMetrics.start();
+        try {
+            validateUserId(userId);
+            validateAmount(addAmount);
+            validateIdempotencyKey(idempotencyKey);
+            // 같은 사용자의 요청은 실행 방식(락/메일박스)에 따라 한 번에 하나씩 처리된다.
+            return execute(PointCommand.charge(userId, addAmount, fixTime), idempotencyKey);
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.CHARGE, start);
         }
     }
 
     public UserPoint patchPointUse(long userId, long reduceAmount, long fixedTime){
-        ReentrantLock lock = lockMap.computeIfAbsent(userId, id -> new ReentrantLock());
+        return patchPointUse(userId, reduceAmount, fixedTime, null);
+    }
+
+    public UserPoint patchPointUse(long userId, long reduceAmount, long fixedTime, String idempotencyKey){
+        long start = pointMetrics.start();
+        try {
+            validateUserId(userId);
+            validateAmount(reduceAmount);
+            validateIdempotencyKey(idempotencyKey);
+            return execute(PointCommand.use(userId, reduceAmount, fixedTime), idempotencyKey);
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.USE, start);
+        }
+    }
+
+    // 보내는 사용자의 포인트를 받는 사용자에게 옮긴다. 두 잔고와 짝이 되는 내역(사용/충전)이 함께 반영된다.
+    public PointTransferResult transfer(long senderId, long receiverId, long amount, long updateMillis){
+        long start = pointMetrics.start();
+        try {
+            validateTransferUsers(senderId, receiverId);
+            validateAmount(amount);
+            return pointCommandExecutor.transfer(new PointTransfer(senderId, receiverId, amount, updateMillis));
+        } finally {
+            pointMetrics.recordOperation(PointMetrics.Operation.TRANSFER, start);
+        }
+    }
+
+    private UserPoint execute(PointCommand command, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return pointCommandExecutor.execute(command);
+        }
+        return pointIdempotencyCache.execute(idempotencyKey, command, () -> pointCommandExecutor.execute(command));
+    }
+
+    private Stream<PointHistory> openPointHistories(long userId, PointHistoryQuery query, boolean consistent) {
+        validateUserId(userId);
+        if (consistent) {
+            flushHistories(userId);
+        }
+        Stream<PointHistory> pointHistories = pointHistoryStore.streamByUserId(userId, query);
+        if(pointHistories == null){
+            pointMetrics.rejected(PointMetrics.Rejection.NOT_FOUND);
+            throw new IllegalArgumentException("해당 사용자 포인트 내역을 찾을 수 없습니다.");
+        }
+        return pointHistories;
+    }
+
+    // 기록하지 못한 내역이 남아 있으면 일부가 빠진 내역을 돌려주지 않는다.
+    private void flushHistories(long userId) {
+        if (!pointHistoryOutbox.flush(userId)) {
+            throw new IllegalStateException("기록하지 못한 포인트 내역이 있어 내역을 조회할 수 없습니다.");
+        }
+    }
+
+    private void validateTimeRange(long fromMillis, long toMillis, int limit) {
+        if (fromMillis >= toMillis) {
+            pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+            throw new IllegalArgumentException("조회 기간이 유효하지 않습니다.");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+            throw new IllegalArgumentException("조회 개수가 유효하지 않습니다.");
+        }
+    }
 
-        try{
-            lock.lock();
+    // 검증 실패는 거절 사유(validation)로 집계한 뒤 그대로 던진다.
+    private void validateUserId(long userId) {
+        try {
             pointValidation.validateUserId(userId);
-            pointValidation.validateAmount(reduceAmount);
-            UserPoint userPoint = userPointTable.selectById(userId);
-            if(userPoint == null){
-                throw new IllegalArgumentException("해당 사용자 포인트 정보를 찾을 수 없습니다.");
-            }
+        } catch (IllegalArgumentException e) {
+            pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+            throw e;
+        }
+    }
 
-            if(userPoint.point() < reduceAmount){
-                throw new IllegalStateException("잔고 포인트 부족으로 포인트 사용에 실패하였습니다.");
-            }
+    private void validateTransferUsers(long senderId, long receiverId) {
+        try {
+            pointValidation.validateTransferUsers(senderId, receiverId);
+        } catch (IllegalArgumentException e) {
+            pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+            throw e;
+        }
+    }
 
-            long newPoint = userPoint.point() - reduceAmount;
+    private void validateIdempotencyKey(String idempotencyKey) {
+        try {
+            pointValidation.validateIdempotencyKey(idempotencyKey);
+        } catch (IllegalArgumentException e) {
+            pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+            throw e;
+        }
+    }
 
-            UserPoint updatedPoint = userPointTable.insertOrUpdate(userId, newPoint);
-            pointHistoryTable.insert(userId, reduceAmount, TransactionType.USE, fixedTime);
-            return updatedPoint;
-        } finally {
-            lock.unlock(); // 락 해제
-            lockMap.remove(userId, lock); // 락 객체 정리
+    private void validateAmount(long amount) {
+        try {
+            pointValidation.validateAmount(amount);
+        } catch (IllegalArgumentException e) {
+            pointMetrics.rejected(PointMetrics.Rejection.VALIDATION);
+            throw e;
         }
     }
 }
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용자별 포인트 내역 누적 요약
+ * - 충전/사용 금액과 건수, 처음/마지막 내역 시각 (내역이 없으면 0)
+ */
+public record PointSummary(
+        long userId,
+        long chargeAmount,
+        long chargeCount,
+        long useAmount,
+        long useCount,
+        long firstUpdateMillis,
+        long lastUpdateMillis
+) {
+
+    public static PointSummary empty(long userId) {
+        return new PointSummary(userId, 0, 0, 0, 0, 0, 0);
+    }
+
+    // 전체 내역 수
+    public long count() {
+        return chargeCount + useCount;
+    }
+
+    // 내역 한 건을 더한 요약
+    public PointSummary plus(long amount, TransactionType type, long updateMillis) {
+        long first = count() == 0 ? updateMillis : firstUpdateMillis;
+        return switch (type) {
+            case CHARGE -> new PointSummary(userId, chargeAmount + amount, chargeCount + 1, useAmount, useCount, first, updateMillis);
+            case USE -> new PointSummary(userId, chargeAmount, chargeCount, useAmount + amount, useCount + 1, first, updateMillis);
+        };
+    }
+
+    // 내역 저장소에서 직접 계산한 합계와 같은지
+    public boolean matches(PointHistoryTotals totals) {
+        return chargeAmount == totals.chargeAmount() && chargeCount == totals.chargeCount()
+                && useAmount == totals.useAmount() && useCount == totals.useCount();
+    }
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 내역 누적 요약(PointSummary)
+ * - 충전/사용이 반영될 때마다 PointCommandProcessor 가 record 로 갱신하므로, 조회는 내역을 훑지 않고 O(1) 로 응답한다.
+ * - 같은 사용자의 record 는 사용자 락(또는 메일박스) 안에서 한 번에 하나씩 호출되며, 조회는 불변 요약 객체를 그대로 읽는다.
+ * - 재시작 후에도 내역이 남는 저장소라면 생성 시 남아 있는 내역으로 요약을 다시 만든다.
+ */
+@Component
+public class PointSummaryAggregator {
+    private final ConcurrentHashMap<Long, PointSummary> summaries = new ConcurrentHashMap<>();
+
+    public PointSummaryAggregator(PointHistoryStore pointHistoryStore) {
+        pointHistoryStore.replay(history -> record(history.userId(), history.amount(), history.type(), history.updateMillis()));
+    }
+
+    public void record(long userId, long amount, TransactionType type, long updateMillis) {
+        summaries.compute(userId, (id, current) ->
+                (current != null ? current : PointSummary.empty(id)).plus(amount, type, updateMillis));
+    }
+
+    public PointSummary get(long userId) {
+        PointSummary summary = summaries.get(userId);
+        return summary != null ? summary : PointSummary.empty(userId);
+    }
+
+    // 요약이 있는 사용자 목록 (검증용 스냅샷)
+    public List<Long> userIds() {
+        return List.copyOf(summaries.keySet());
+    }
+
+    public int size() {
+        return summaries.size();
+    }
+}
@@ -0,0 +1,119 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 누적 요약 검증 작업
+ * - 요약이 있는 사용자마다 내역 저장소에서 직접 계산한 충전/사용 합계(sumByUserId)와 비교하고, 다르면 경고를 남긴다.
+ * - 검증 중에도 충전/사용은 계속 반영되므로, 비교 전후로 요약이 바뀌었거나 값이 다르면 잠시 뒤 다시 비교하고
+ *   MAX_ATTEMPTS 번 모두 다를 때만 불일치로 본다. (비동기 내역 기록은 flush 로 기다린 뒤 비교한다)
+ * - 기록하지 못해 outbox 실패 목록에 남은 내역이 있는 사용자는 불일치로 보지 않고 검증을 건너뛴다.
+ *   (요약에는 이미 반영돼 있으므로 내역이 다시 기록된 뒤에 비교한다. 실패 목록은 point.history.outbox.failed 로 계측)
+ * - point.summary.verify-interval-ms 마다 전체 사용자를 검증한다. (0 이면 주기 검증 안 함)
+ */
+@Component
+public class PointSummaryVerifier {
+    private static final Logger log = LoggerFactory.getLogger(PointSummaryVerifier.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 10;
+
+    private final PointHistoryStore pointHistoryStore;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final PointSummaryAggregator pointSummaryAggregator;
+    private final ScheduledExecutorService verifyScheduler;
+
+    public PointSummaryVerifier(PointHistoryStore pointHistoryStore,
+                                PointHistoryOutbox pointHistoryOutbox,
+                                PointSummaryAggregator pointSummaryAggregator,
+                                @Value("${point.summary.verify-interval-ms:0}") long verifyIntervalMillis) {
+        this.pointHistoryStore = pointHistoryStore;
+        this.pointHistoryOutbox = pointHistoryOutbox;
+        this.pointSummaryAggregator = pointSummaryAggregator;
+        if (verifyIntervalMillis > 0) {
+            this.verifyScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-summary-verifier");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.verifyScheduler.scheduleWithFixedDelay(this::verifyQuietly,
+                    verifyIntervalMillis, verifyIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.verifyScheduler = null;
+        }
+    }
+
+    // 전체 사용자를 검증하고 불일치한 사용자 목록을 반환한다.
+    public List<Long> verifyAll() {
+        List<Long> userIds = pointSummaryAggregator.userIds();
+        List<Long> mismatched = new ArrayList<>();
+        for (long userId : userIds) {
+            if (!verify(userId)) {
+                mismatched.add(userId);
+            }
+        }
+        if (mismatched.isEmpty()) {
+            log.info("포인트 요약 {}건이 내역과 일치합니다.", userIds.size());
+        } else {
+            log.warn("포인트 요약 {}건 중 {}건이 내역과 일치하지 않습니다. {}", userIds.size(), mismatched.size(), mismatched);
+        }
+        return mismatched;
+    }
+
+    public boolean verify(long userId) {
+        PointSummary summary = null;
+        PointHistoryTotals totals = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (attempt > 0 && !sleep()) {
+                break;
+            }
+            summary = pointSummaryAggregator.get(userId);
+            if (!pointHistoryOutbox.flush(userId)) {
+                log.warn("기록하지 못한 포인트 내역이 있어 요약 검증을 건너뜁니다. userId={}", userId);
+                return true;
+            }
+            totals = pointHistoryStore.sumByUserId(userId, null, null);
+            // 비교하는 동안 요약이 바뀌지 않았고 값이 같을 때만 일치로 본다.
+            if (summary.equals(pointSummaryAggregator.get(userId)) && summary.matches(totals)) {
+                return true;
+            }
+        }
+        log.warn("포인트 요약이 내역과 일치하지 않습니다. summary={}, history={}", summary, totals);
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (verifyScheduler != null) {
+            verifyScheduler.shutdown();
+        }
+    }
+
+    private void verifyQuietly() {
+        try {
+            verifyAll();
+        } catch (RuntimeException e) {
+            log.error("포인트 요약 검증에 실패했습니다.", e);
+        }
+    }
+
+    private static boolean sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용자 등급(tier)별 한도 (0 이면 제한 없음)
+ * - maxBalance : 최대 잔고 (예약 중인 금액 포함)
+ * - maxChargeAmount / maxUseAmount : 1회 충전/사용 한도
+ * - dailyChargeLimit / dailyUseLimit : 최근 24시간 누적 충전/사용 한도
+ */
+public record PointTierLimit(
+        long maxBalance,
+        long maxChargeAmount,
+        long maxUseAmount,
+        long dailyChargeLimit,
+        long dailyUseLimit
+) {
+}
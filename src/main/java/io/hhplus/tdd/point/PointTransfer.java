@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청 한 건 (보내는 사용자 사용 + 받는 사용자 충전)
+ * - PointValidation 검증을 통과한 뒤 PointCommandExecutor.transfer 로 전달된다.
+ */
+public record PointTransfer(
+        long senderId,
+        long receiverId,
+        long amount,
+        long updateMillis
+) {
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청 본문 (POST /point/transfer)
+ */
+public record PointTransferRequest(
+        Long senderId,
+        Long receiverId,
+        Long amount
+) {
+}
@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class PointValidation {
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
 
     // 사용자 id 검증
     public void validateUserId(Long userId) {
@@ -23,5 +24,21 @@ public class PointValidation {
         }
     }
 
+    // 이체 사용자 검증 (자기 자신에게는 이체할 수 없다)
+    public void validateTransferUsers(Long senderId, Long receiverId){
+        validateUserId(senderId);
+        validateUserId(receiverId);
+        if(senderId.equals(receiverId)){
+            throw new IllegalArgumentException("보내는 사용자와 받는 사용자가 같습니다.");
+        }
+    }
+
+    // 멱등 키 검증 (키 없이 보낸 요청은 검증하지 않는다)
+    public void validateIdempotencyKey(String idempotencyKey){
+        if(idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)){
+            throw new IllegalArgumentException("멱등 키가 유효하지 않습니다.");
+        }
+    }
+
 
 }
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 최근 24시간 누적 충전/사용 금액 (일일 한도용 슬라이딩 윈도우)
+ * - 사용자마다 1시간 단위 구간 24개를 링으로 두고, 구간이 바뀌면 가장 오래된 구간을 비워 다시 쓴다.
+ *   누적은 현재 구간을 포함한 최근 24개 구간의 합이므로 내역 저장소를 조회하지 않는다.
+ * - 시각은 요청의 updateMillis 를 쓰며, 사용자별로 가장 늦은 시각보다 이른 요청은 가장 늦은 구간에 더한다.
+ * - 일일 한도가 있는 등급의 사용자만 보관하며, 24시간 넘게 거래가 없는 사용자는 purge 로 정리한다.
+ */
+final class PointVelocityTracker {
+    static final long BUCKET_MILLIS = 60 * 60 * 1000L;
+    static final int BUCKETS = 24;
+
+    private final ConcurrentHashMap<Long, UserVelocity> velocities = new ConcurrentHashMap<>();
+
+    // 누적에 amount 를 더해도 limit 이하면 더하고 true, 넘으면 더하지 않고 false
+    boolean tryAdd(long userId, TransactionType type, long amount, long limit, long millis) {
+        return velocities.computeIfAbsent(userId, id -> new UserVelocity()).tryAdd(type.ordinal(), amount, limit, millis);
+    }
+
+    // 더한 뒤 반영에 실패했거나 되돌려 준 금액을 뺀다. (이미 구간이 지났으면 무시)
+    void subtract(long userId, TransactionType type, long amount, long millis) {
+        UserVelocity velocity = velocities.get(userId);
+        if (velocity != null) {
+            velocity.subtract(type.ordinal(), amount, millis);
+        }
+    }
+
+    long sum(long userId, TransactionType type, long millis) {
+        UserVelocity velocity = velocities.get(userId);
+        return velocity != null ? velocity.sum(type.ordinal(), millis) : 0;
+    }
+
+    // nowMillis 기준 24시간 넘게 거래가 없는 사용자를 정리한다.
+    void purge(long nowMillis) {
+        long bucket = Math.floorDiv(nowMillis, BUCKET_MILLIS);
+        velocities.values().removeIf(velocity -> velocity.idleBefore(bucket - BUCKETS + 1));
+    }
+
+    int size() {
+        return velocities.size();
+    }
+
+    private static final class UserVelocity {
+        // [유형(TransactionType.ordinal)][구간]
+        private final long[][] amounts = new long[TransactionType.values().length][BUCKETS];
+        // 각 칸에 담긴 구간 번호
+        private final long[] buckets = new long[BUCKETS];
+        private long latestBucket = Long.MIN_VALUE;
+
+        synchronized boolean tryAdd(int type, long amount, long limit, long millis) {
+            long bucket = advance(millis);
+            if (sumBuckets(type, bucket) + amount > limit) {
+                return false;
+            }
+            amounts[type][(int) Math.floorMod(bucket, (long) BUCKETS)] += amount;
+            return true;
+        }
+
+        // 요청 시각의 구간부터 가장 늦은 구간까지 차례로 뺀다.
+        // (더할 때 더 늦은 요청이 먼저 있었으면 가장 늦은 구간에 더했으므로 남은 금액은 뒤 구간에서 뺀다)
+        synchronized void subtract(int type, long amount, long millis) {
+            long bucket = Math.floorDiv(millis, BUCKET_MILLIS);
+            if (bucket <= latestBucket - BUCKETS) {
+                // 이미 24시간 누적에서 빠진 구간
+                return;
+            }
+            for (; bucket <= latestBucket && amount > 0; bucket++) {
+                int slot = (int) Math.floorMod(bucket, (long) BUCKETS);
+                if (buckets[slot] == bucket) {
+                    long subtracted = Math.min(amount, amounts[type][slot]);
+                    amounts[type][slot] -= subtracted;
+                    amount -= subtracted;
+                }
+            }
+        }
+
+        synchronized long sum(int type, long millis) {
+            return sumBuckets(type, Math.max(Math.floorDiv(millis, BUCKET_MILLIS), latestBucket));
+        }
+
+        synchronized boolean idleBefore(long bucket) {
+            return latestBucket < bucket;
+        }
+
+        // 현재 구간의 칸을 비우고(처음 쓰는 경우) 현재 구간 번호를 반환한다.
+        private long advance(long millis) {
+            long bucket = Math.max(Math.floorDiv(millis, BUCKET_MILLIS), latestBucket);
+            int slot = (int) Math.floorMod(bucket, (long) BUCKETS);
+            if (buckets[slot] != bucket || latestBucket == Long.MIN_VALUE) {
+                buckets[slot] = bucket;
+                for (long[] typeAmounts : amounts) {
+                    typeAmounts[slot] = 0;
+                }
+            }
+            latestBucket = bucket;
+            return bucket;
+        }
+
+        private long sumBuckets(int type, long bucket) {
+            long total = 0;
+            for (int slot = 0; slot < BUCKETS; slot++) {
+                if (buckets[slot] > bucket - BUCKETS && buckets[slot] <= bucket) {
+                    total += amounts[type][slot];
+                }
+            }
+            return total;
+        }
+    }
+}
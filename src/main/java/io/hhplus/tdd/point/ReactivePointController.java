@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * PointController 의 reactive 버전 (reactive 프로파일에서 PointController 대신 같은 경로로 등록)
+ * - 처리 결과를 Mono/Flux 로 반환하며, 요청 처리 스레드(이벤트 루프)는 테이블 지연 동안 막히지 않는다.
+ */
+@RestController
+@RequestMapping("/point")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointController {
+
+    private final ReactivePointService reactivePointService;
+
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return reactivePointService.getUserPoint(id);
+    }
+
+    @GetMapping("{id}/histories")
+    public Flux<PointHistory> history(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "false") boolean consistent
+    ) {
+        return reactivePointService.getPointHistories(id, consistent);
+    }
+
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return reactivePointService.patchPointCharge(id, amount, System.currentTimeMillis(), idempotencyKey);
+    }
+
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return reactivePointService.patchPointUse(id, amount, System.currentTimeMillis(), idempotencyKey);
+    }
+
+    @PostMapping("transfer")
+    public Mono<PointTransferResult> transfer(
+            @RequestBody PointTransferRequest request
+    ) {
+        if (request == null || request.senderId() == null || request.receiverId() == null || request.amount() == null) {
+            return Mono.error(new IllegalArgumentException("이체 요청이 유효하지 않습니다."));
+        }
+        return reactivePointService.transfer(request.senderId(), request.receiverId(), request.amount(), System.currentTimeMillis());
+    }
+
+    // ApiControllerAdvice 는 서블릿(MVC) 전용이므로 같은 오류 응답을 여기서 만든다.
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleException(Exception e) {
+        return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
+    }
+}
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PointService 의 non-blocking 어댑터 (reactive 프로파일, ReactivePointController 용)
+ * - 저장소/테이블 호출은 크기가 제한된 전용 스케줄러(point-reactive)에서 실행하므로 이벤트 루프 스레드는 막히지 않는다.
+ * - 같은 사용자의 충전/사용은 앞 요청이 끝난 뒤에 다음 요청을 구독하도록 이어 붙여 순서대로 실행한다.
+ *   대기 중인 요청은 스레드를 점유하지 않고 구독 상태로만 남는다.
+ * - 실행 자체는 PointService(실행 방식의 사용자 락 포함)를 그대로 거치므로, 요청이 취소돼 다음 요청이 먼저 시작되거나
+ *   다른 경로(일괄 처리 등)로 들어온 요청과 겹쳐도 같은 사용자의 잔고는 한 번에 하나씩 반영된다.
+ *   순서대로 이어 붙인 요청끼리는 락 경합이 없으므로 락을 기다리며 스레드를 막지 않는다.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointService {
+    private final PointService pointService;
+    private final Scheduler scheduler;
+    // 사용자별 마지막 요청이 끝났음을 알리는 신호 (끝난 요청이 마지막이면 제거)
+    private final ConcurrentHashMap<Long, Mono<Void>> tails = new ConcurrentHashMap<>();
+
+    public ReactivePointService(PointService pointService,
+                                @Value("${point.reactive.threads:64}") int threads,
+                                @Value("${point.reactive.queued-tasks:100000}") int queuedTasks) {
+        this.pointService = pointService;
+        this.scheduler = Schedulers.newBoundedElastic(threads, queuedTasks, "point-reactive");
+    }
+
+    public Mono<UserPoint> getUserPoint(long userId) {
+        return Mono.fromCallable(() -> pointService.getUserPoint(userId)).subscribeOn(scheduler);
+    }
+
+    // 내역은 목록을 만들지 않고 요청(backpressure)만큼 순회해 내보낸다.
+    public Flux<PointHistory> getPointHistories(long userId, boolean consistent) {
+        return Flux.defer(() -> Flux.fromStream(pointService.streamPointHistories(userId, PointHistoryQuery.ALL, consistent)))
+                .subscribeOn(scheduler);
+    }
+
+    public Mono<UserPoint> patchPointCharge(long userId, long addAmount, long updateMillis) {
+        return patchPointCharge(userId, addAmount, updateMillis, null);
+    }
+
+    public Mono<UserPoint> patchPointCharge(long userId, long addAmount, long updateMillis, String idempotencyKey) {
+        return sequence(userId, Mono.fromCallable(() -> pointService.patchPointCharge(userId, addAmount, updateMillis, idempotencyKey)));
+    }
+
+    public Mono<UserPoint> patchPointUse(long userId, long reduceAmount, long updateMillis) {
+        return patchPointUse(userId, reduceAmount, updateMillis, null);
+    }
+
+    public Mono<UserPoint> patchPointUse(long userId, long reduceAmount, long updateMillis, String idempotencyKey) {
+        return sequence(userId, Mono.fromCallable(() -> pointService.patchPointUse(userId, reduceAmount, updateMillis, idempotencyKey)));
+    }
+
+    // 두 사용자 모두의 앞 요청이 끝난 뒤 실행한다.
+    // 자리는 userId 오름차순으로 차지하므로 서로 반대 방향의 이체끼리 상대를 기다리며 멈추지 않는다.
+    public Mono<PointTransferResult> transfer(long senderId, long receiverId, long amount, long updateMillis) {
+        Mono<PointTransferResult> task = Mono.fromCallable(() -> pointService.transfer(senderId, receiverId, amount, updateMillis));
+        if (senderId == receiverId) {
+            return task.subscribeOn(scheduler);
+        }
+        return sequence(Math.min(senderId, receiverId), sequence(Math.max(senderId, receiverId), task));
+    }
+
+    // 구독 시점에 사용자의 마지막 자리를 차지하고, 앞 요청이 끝나면(성공/실패/취소 모두) task 를 구독한다.
+    private <T> Mono<T> sequence(long userId, Mono<T> task) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            Mono<Void> current = done.asMono();
+            Mono<Void> previous = tails.put(userId, current);
+            return (previous != null ? previous : Mono.<Void>empty())
+                    .then(task.subscribeOn(scheduler))
+                    .doFinally(signal -> {
+                        done.tryEmitEmpty();
+                        tails.remove(userId, current);
+                    });
+        });
+    }
+
+    // 처리 대기 중인 요청이 있는 사용자 수
+    public int size() {
+        return tails.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * SSE(text/event-stream) 연결로 포인트 변경 이벤트를 보낸다.
+ * - 이벤트 id 는 내역 id 이므로, 다시 연결할 때 브라우저(EventSource)가 보내는 Last-Event-ID 로 이어 받을 수 있다.
+ */
+class SsePointEventSink implements PointEventSink {
+    static final String EVENT_NAME = "point";
+    static final String LAGGED_EVENT_NAME = "lagged";
+
+    private final SseEmitter emitter;
+
+    SsePointEventSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(PointEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.historyId()))
+                .name(EVENT_NAME)
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void lagged(Long lastHistoryId) throws IOException {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(LAGGED_EVENT_NAME);
+        if (lastHistoryId != null) {
+            event.id(String.valueOf(lastHistoryId)).data(lastHistoryId);
+        } else {
+            event.data("");
+        }
+        emitter.send(event);
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 락 관리
+ * - point.lock.stripes = 0 (기본값) : 사용자마다 락을 두고 참조 수를 세어, 마지막 사용자가 해제할 때만 맵에서 제거한다.
+ *   대기 중인 스레드가 있는 동안에는 같은 락이 유지되므로 새로 들어온 스레드가 다른 락을 만들지 않는다.
+ * - point.lock.stripes = N : 고정된 N개의 락 중 userId 해시로 하나를 골라 쓴다.
+ *   메모리가 일정하고 요청마다 락 객체를 만들지 않지만, 같은 락을 쓰는 다른 사용자와는 서로 대기할 수 있다.
+ * - synchronized 대신 ReentrantLock 으로 대기하므로 가상 스레드가 락을 기다리는 동안 캐리어 스레드를 고정(pin)하지 않는다.
+ */
+@Component
+public class UserLockRegistry {
+
+    private final ConcurrentHashMap<Long, LockEntry> locks = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+
+    public UserLockRegistry(@Value("${point.lock.stripes:0}") int stripeCount) {
+        if (stripeCount < 0) {
+            throw new IllegalArgumentException("락 스트라이프 수가 유효하지 않습니다.");
+        }
+        if (stripeCount == 0) {
+            this.stripes = null;
+            this.stripeMask = 0;
+            return;
+        }
+        // 2의 거듭제곱으로 올려 나머지 연산 대신 마스크로 인덱스를 구한다.
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = size - 1;
+    }
+
+    public void lock(long userId) {
+        if (stripes != null) {
+            stripes[stripeIndex(userId)].lock();
+            return;
+        }
+        // 참조 수 증가는 맵의 원자적 연산 안에서, 실제 대기는 그 밖에서 한다.
+        LockEntry entry = locks.compute(userId, (id, current) -> {
+            LockEntry target = current != null ? current : new LockEntry();
+            target.references++;
+            return target;
+        });
+        entry.lock.lock();
+    }
+
+    public void unlock(long userId) {
+        if (stripes != null) {
+            stripes[stripeIndex(userId)].unlock();
+            return;
+        }
+        LockEntry entry = locks.get(userId);
+        if (entry == null) {
+            throw new IllegalMonitorStateException("획득하지 않은 사용자 락입니다.");
+        }
+        entry.lock.unlock();
+        // 더 이상 이 락을 쓰거나 기다리는 스레드가 없을 때만 정리한다.
+        locks.computeIfPresent(userId, (id, current) -> --current.references == 0 ? null : current);
+    }
+
+    // 두 사용자의 락을 모든 스레드가 같은 순서로 잡는다. (이체용)
+    // 사용자별 락은 userId 오름차순, 스트라이프 락은 스트라이프 번호 오름차순으로 잡는다.
+    // (스트라이프는 userId 순서와 번호 순서가 다를 수 있으므로 락 자체의 순서를 따라야 교착이 생기지 않는다)
+    // 같은 락을 가리키면 한 번만 잡는다.
+    public void lockBoth(long firstUserId, long secondUserId) {
+        if (stripes != null) {
+            int first = stripeIndex(firstUserId);
+            int second = stripeIndex(secondUserId);
+            stripes[Math.min(first, second)].lock();
+            if (first != second) {
+                stripes[Math.max(first, second)].lock();
+            }
+            return;
+        }
+        lock(Math.min(firstUserId, secondUserId));
+        if (firstUserId != secondUserId) {
+            lock(Math.max(firstUserId, secondUserId));
+        }
+    }
+
+    // lockBoth 로 잡은 락을 반대 순서로 해제한다.
+    public void unlockBoth(long firstUserId, long secondUserId) {
+        if (stripes != null) {
+            int first = stripeIndex(firstUserId);
+            int second = stripeIndex(secondUserId);
+            if (first != second) {
+                stripes[Math.max(first, second)].unlock();
+            }
+            stripes[Math.min(first, second)].unlock();
+            return;
+        }
+        if (firstUserId != secondUserId) {
+            unlock(Math.max(firstUserId, secondUserId));
+        }
+        unlock(Math.min(firstUserId, secondUserId));
+    }
+
+    // 어떤 스레드든 이 사용자의 락을 잡고 있는지 (스트라이프 모드에서는 같은 스트라이프를 쓰는 다른 사용자도 포함)
+    // 락 없이 저장하는 요청이 락을 잡은 요청(이체 등)과 겹치지 않도록 락 경로로 넘어갈 때 쓴다.
+    public boolean isLocked(long userId) {
+        if (stripes != null) {
+            return stripes[stripeIndex(userId)].isLocked();
+        }
+        LockEntry entry = locks.get(userId);
+        return entry != null && entry.lock.isLocked();
+    }
+
+    // 현재 관리 중인 락 수 (스트라이프 모드에서는 고정 크기)
+    public int size() {
+        return stripes != null ? stripes.length : locks.size();
+    }
+
+    public boolean isStriped() {
+        return stripes != null;
+    }
+
+    private int stripeIndex(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & stripeMask;
+    }
+
+    private static final class LockEntry {
+        private final ReentrantLock lock = new ReentrantLock();
+        // locks.compute / computeIfPresent 안에서만 변경된다.
+        private int references;
+    }
+}
@@ -0,0 +1,179 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * 사용자 포인트 잔고 캐시 (read-through / write-through)
+ * - 저장소가 원본이며, 캐시는 최근 조회/변경된 잔고를 최대 point.cache.max-size 개까지 LRU 로 보관한다.
+ * - 충전/사용으로 바뀐 잔고는 같은 사용자 락 안에서 put 되므로 조회 시 저장소를 거치지 않는다.
+ * - 세그먼트별 락으로 나누어 서로 다른 사용자의 조회가 한 락에 몰리지 않게 한다.
+ * - point.cache.max-size = 0 이면 캐시 없이 저장소를 그대로 조회한다.
+ */
+@Component
+public class UserPointCache {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserPointCache(@Value("${point.cache.max-size:10000}") int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("캐시 크기가 유효하지 않습니다.");
+        }
+        if (maxSize == 0) {
+            this.segments = new Segment[0];
+            this.segmentMask = 0;
+            return;
+        }
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize));
+        int segmentCapacity = (maxSize + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity, evictions);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    // 캐시에 있으면 바로 반환하고, 없으면 loader 로 저장소를 조회해 채운다.
+    // loader 결과가 null 이면 캐시에 넣지 않는다.
+    public UserPoint getOrLoad(long userId, LongFunction<UserPoint> loader) {
+        if (segments.length == 0) {
+            misses.increment();
+            return loader.apply(userId);
+        }
+        Segment segment = segmentFor(userId);
+        long stamp;
+        segment.lock.lock();
+        try {
+            UserPoint cached = segment.entries.get(userId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            stamp = segment.stamp;
+        } finally {
+            segment.lock.unlock();
+        }
+
+        misses.increment();
+        // 저장소 조회는 락 밖에서 수행한다.
+        UserPoint loaded = loader.apply(userId);
+        if (loaded == null) {
+            return null;
+        }
+        segment.lock.lock();
+        try {
+            // 조회하는 사이 같은 세그먼트에 쓰기가 있었다면 오래된 값일 수 있으므로 채우지 않는다.
+            if (segment.stamp == stamp) {
+                segment.entries.putIfAbsent(userId, loaded);
+                segment.size = segment.entries.size();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        return loaded;
+    }
+
+    // 저장소에 반영된 최신 잔고로 갱신한다. (같은 사용자 락 안에서 호출)
+    public void put(UserPoint userPoint) {
+        if (segments.length == 0) {
+            return;
+        }
+        Segment segment = segmentFor(userPoint.id());
+        segment.lock.lock();
+        try {
+            segment.stamp++;
+            segment.entries.put(userPoint.id(), userPoint);
+            segment.size = segment.entries.size();
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void invalidate(long userId) {
+        if (segments.length == 0) {
+            return;
+        }
+        Segment segment = segmentFor(userId);
+        segment.lock.lock();
+        try {
+            segment.stamp++;
+            segment.entries.remove(userId);
+            segment.size = segment.entries.size();
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    // 락 없이 읽으므로 계측 스크랩이 조회/갱신을 막지 않는다. (동시에 바뀌는 값은 근사치)
+    public Stats stats() {
+        return new Stats(hits(), misses(), evictions(), size());
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return segments[(int) (hash ^ (hash >>> 32)) & segmentMask];
+    }
+
+    public record Stats(
+            long hits,
+            long misses,
+            long evictions,
+            int size
+    ) {
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, UserPoint> entries;
+        // 이 세그먼트에 쓰기가 일어날 때마다 증가한다.
+        private long stamp;
+        // 보관 수 (락 안에서 갱신, 계측은 락 없이 읽는다)
+        private volatile int size;
+
+        private Segment(int capacity, LongAdder evictions) {
+            // accessOrder = true : 조회 순서 기준 LRU
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.hhplus.tdd.database.unitTest;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryTotals;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarPointHistoryStoreTest {
+
+    @Test
+    @DisplayName("열 단위 내역 저장소 테스트 - 청크를 넘겨 기록해도 사용자별 id 오름차순 조회")
+    void insertAndSelectAcrossChunksTest(){
+        //given
+        ColumnarPointHistoryStore pointHistoryStore = new ColumnarPointHistoryStore();
+        int rows = 40_000;
+
+        //when
+        for (int i = 0; i < rows; i++) {
+            pointHistoryStore.insert(i % 2 + 1, 100L + i, i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE, i);
+        }
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+
+        //then
+        assertEquals(rows / 2, histories.size());
+        assertEquals(List.of(1L, 3L, 5L), histories.subList(0, 3).stream().map(PointHistory::id).toList());
+        assertEquals(rows - 1L, histories.get(histories.size() - 1).id());
+        assertEquals(new PointHistory(4L, 2L, 103L, TransactionType.USE, 3L), pointHistoryStore.selectAllByUserId(2L).get(1));
+        assertTrue(pointHistoryStore.selectAllByUserId(3L).isEmpty());
+        assertEquals(rows, pointHistoryStore.size());
+    }
+
+    @Test
+    @DisplayName("열 단위 내역 저장소 합계 테스트 - 사용자별/전체 시간 범위 충전·사용 합계")
+    void sumTest(){
+        //given
+        ColumnarPointHistoryStore pointHistoryStore = new ColumnarPointHistoryStore();
+        pointHistoryStore.insert(1L, 100L, TransactionType.CHARGE, 10L);
+        pointHistoryStore.insert(1L, 30L, TransactionType.USE, 20L);
+        pointHistoryStore.insert(2L, 500L, TransactionType.CHARGE, 20L);
+        pointHistoryStore.insert(1L, 200L, TransactionType.CHARGE, 30L);
+
+        //when
+        PointHistoryTotals userTotals = pointHistoryStore.sumByUserId(1L, null, null);
+        PointHistoryTotals userRangeTotals = pointHistoryStore.sumByUserId(1L, 20L, 30L);
+        PointHistoryTotals allRangeTotals = pointHistoryStore.sumAll(20L, null);
+
+        //then
+        assertEquals(new PointHistoryTotals(300L, 2L, 30L, 1L), userTotals);
+        assertEquals(270L, userTotals.netAmount());
+        assertEquals(new PointHistoryTotals(0L, 0L, 30L, 1L), userRangeTotals);
+        assertEquals(new PointHistoryTotals(700L, 2L, 30L, 1L), allRangeTotals);
+        assertEquals(PointHistoryTotals.EMPTY, pointHistoryStore.sumByUserId(3L, null, null));
+    }
+}
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.database.unitTest;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentPointStoreTest {
+
+    private final int threads = 16;
+    private final int users = 100;
+    private final int insertsPerUser = 50;
+
+    @Test
+    @DisplayName("동시 내역 저장 테스트 - 다른 유저 동시 저장 시 id 중복/누락 없음")
+    void concurrentHistoryInsertTest() throws InterruptedException {
+        //given
+        ConcurrentPointHistoryStore pointHistoryStore = new ConcurrentPointHistoryStore();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (long userId = 1; userId <= users; userId++) {
+            long id = userId;
+            for (int i = 0; i < insertsPerUser; i++) {
+                executorService.submit(() -> pointHistoryStore.insert(id, 10L, TransactionType.CHARGE, System.currentTimeMillis()));
+            }
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        //then
+        Set<Long> ids = new HashSet<>();
+        for (long userId = 1; userId <= users; userId++) {
+            List<PointHistory> pointHistories = pointHistoryStore.selectAllByUserId(userId);
+            // 사용자별 내역 수가 누락 없이 저장되었는지 체크
+            assertEquals(insertsPerUser, pointHistories.size());
+            for (int i = 0; i < pointHistories.size(); i++) {
+                ids.add(pointHistories.get(i).id());
+                // 사용자별 내역이 id 오름차순인지 체크
+                if (i > 0) {
+                    assertTrue(pointHistories.get(i - 1).id() < pointHistories.get(i).id());
+                }
+            }
+        }
+        // 발급된 id가 1부터 중복 없이 연속되는지 체크
+        assertEquals(users * insertsPerUser, ids.size());
+        assertTrue(ids.contains(1L));
+        assertTrue(ids.contains((long) users * insertsPerUser));
+    }
+
+    @Test
+    @DisplayName("동시 잔고 저장 테스트 - 다른 유저 동시 저장 시 유실 없음")
+    void concurrentBalanceUpdateTest() throws InterruptedException {
+        //given
+        ConcurrentUserPointStore userPointStore = new ConcurrentUserPointStore();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (long userId = 1; userId <= users * 10; userId++) {
+            long id = userId;
+            executorService.submit(() -> userPointStore.insertOrUpdate(id, id * 10));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        //then
+        for (long userId = 1; userId <= users * 10; userId++) {
+            assertEquals(userId * 10, userPointStore.selectById(userId).point());
+        }
+        // 저장되지 않은 사용자는 0 포인트로 조회되는지 체크
+        assertEquals(0L, userPointStore.selectById(users * 10 + 1L).point());
+    }
+}
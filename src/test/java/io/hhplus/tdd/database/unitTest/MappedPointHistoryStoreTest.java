@@ -0,0 +1,116 @@
+package io.hhplus.tdd.database.unitTest;
+
+import io.hhplus.tdd.database.MappedPointHistoryStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedPointHistoryStoreTest {
+
+    // 세그먼트당 레코드 4건 (48바이트 * 4)
+    private static final int SEGMENT_BYTES = 192;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("매핑 내역 저장소 테스트 - 세그먼트를 넘겨 기록해도 사용자별 id 오름차순 조회")
+    void insertAndSelectAcrossSegmentsTest(){
+        //given
+        MappedPointHistoryStore pointHistoryStore = new MappedPointHistoryStore(directory.toString(), SEGMENT_BYTES, false);
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            pointHistoryStore.insert(i % 2 + 1, 100L + i, i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE, i);
+        }
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+
+        //then
+        assertEquals(List.of(1L, 3L, 5L, 7L, 9L), histories.stream().map(PointHistory::id).toList());
+        assertEquals(new PointHistory(4L, 2L, 103L, TransactionType.USE, 3L), pointHistoryStore.selectAllByUserId(2L).get(1));
+        assertTrue(pointHistoryStore.selectAllByUserId(3L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("매핑 내역 저장소 복구 테스트 - 재시작 후 내역과 다음 id 복구")
+    void recoverTest(){
+        //given
+        MappedPointHistoryStore before = new MappedPointHistoryStore(directory.toString(), SEGMENT_BYTES, false);
+        for (int i = 0; i < 6; i++) {
+            before.insert(1L, 10L, TransactionType.CHARGE, i);
+        }
+        before.close();
+
+        //when
+        MappedPointHistoryStore after = new MappedPointHistoryStore(directory.toString(), SEGMENT_BYTES, false);
+        PointHistory inserted = after.insert(1L, 20L, TransactionType.USE, 6L);
+
+        //then
+        assertEquals(7L, inserted.id());
+        assertEquals(7, after.selectAllByUserId(1L).size());
+    }
+
+    @Test
+    @DisplayName("매핑 내역 저장소 복구 테스트 - 기록 도중 중단된 마지막 레코드는 버림")
+    void recoverTornRecordTest() throws Exception {
+        //given
+        MappedPointHistoryStore before = new MappedPointHistoryStore(directory.toString(), SEGMENT_BYTES, false);
+        for (int i = 0; i < 3; i++) {
+            before.insert(1L, 10L, TransactionType.CHARGE, i);
+        }
+        before.close();
+        // 세 번째 레코드의 체크섬을 지워 체크섬 기록 전에 중단된 상황을 만든다.
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("history-00000.log").toFile(), "rw")) {
+            file.seek(2 * 48 + 44);
+            file.writeInt(0);
+        }
+
+        //when
+        MappedPointHistoryStore after = new MappedPointHistoryStore(directory.toString(), SEGMENT_BYTES, false);
+
+        //then
+        assertEquals(2L, after.size());
+        assertEquals(3L, after.insert(1L, 10L, TransactionType.CHARGE, 3L).id());
+        assertEquals(3, after.selectAllByUserId(1L).size());
+    }
+
+    @Test
+    @DisplayName("매핑 내역 저장소 복구 테스트 - 중간의 손상된 레코드 뒤에 남은 레코드는 이어서 기록한 뒤 재시작해도 되살아나지 않음")
+    void recoverCorruptedMiddleRecordTest() throws Exception {
+        //given
+        MappedPointHistoryStore before = new MappedPointHistoryStore(directory.toString(), SEGMENT_BYTES, false);
+        for (int i = 0; i < 6; i++) {
+            before.insert(1L, 10L, TransactionType.CHARGE, i);
+        }
+        before.close();
+        // 세 번째 레코드를 손상시켜 네 번째 레코드부터는 버려지게 한다.
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("history-00000.log").toFile(), "rw")) {
+            file.seek(2 * 48 + 44);
+            file.writeInt(0);
+        }
+        MappedPointHistoryStore recovered = new MappedPointHistoryStore(directory.toString(), SEGMENT_BYTES, false);
+        PointHistory appended = recovered.insert(1L, 30L, TransactionType.USE, 10L);
+        recovered.close();
+
+        //when
+        MappedPointHistoryStore after = new MappedPointHistoryStore(directory.toString(), SEGMENT_BYTES, false);
+
+        //then
+        assertEquals(3L, appended.id());
+        assertEquals(3L, after.size());
+        assertEquals(List.of(
+                new PointHistory(1L, 1L, 10L, TransactionType.CHARGE, 0L),
+                new PointHistory(2L, 1L, 10L, TransactionType.CHARGE, 1L),
+                new PointHistory(3L, 1L, 30L, TransactionType.USE, 10L)
+        ), after.selectAllByUserId(1L));
+        assertEquals(4L, after.insert(1L, 10L, TransactionType.CHARGE, 11L).id());
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.database.unitTest;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.MappedPointHistoryStore;
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointHistoryTimeRangeTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("내역 시간 범위 조회 테스트 - 기록 순서와 관계없이 사용자별/전체 내역을 시각 순으로 범위만 조회")
+    void timeRangeTest(){
+        for (PointHistoryStore pointHistoryStore : List.of(new ConcurrentPointHistoryStore(), new ColumnarPointHistoryStore(),
+                new MappedPointHistoryStore(directory.toString(), 4800, false))) {
+            //given
+            insertOutOfOrder(pointHistoryStore);
+
+            //when
+            List<PointHistory> userRange = pointHistoryStore.streamByUserIdAndTime(1L, 20L, 40L).toList();
+            List<PointHistory> allRange = pointHistoryStore.streamByTime(20L, 40L).toList();
+
+            //then
+            assertEquals(List.of(4L, 1L), userRange.stream().map(PointHistory::id).toList(), pointHistoryStore.getClass().getSimpleName());
+            assertEquals(List.of(2L, 4L, 1L, 5L), allRange.stream().map(PointHistory::id).toList());
+            assertTrue(pointHistoryStore.streamByUserIdAndTime(3L, 0L, 100L).toList().isEmpty());
+            assertTrue(pointHistoryStore.streamByTime(40L, 40L).toList().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("매핑 내역 저장소 시간 범위 조회 테스트 - 재시작 후 복구한 내역도 시간 범위로 조회")
+    void recoveredTimeRangeTest(){
+        //given
+        insertOutOfOrder(new MappedPointHistoryStore(directory.toString(), 192, false));
+
+        //when
+        MappedPointHistoryStore recovered = new MappedPointHistoryStore(directory.toString(), 192, false);
+
+        //then
+        assertEquals(List.of(2L, 4L, 1L, 5L), recovered.streamByTime(20L, 40L).map(PointHistory::id).toList());
+        assertEquals(new PointHistory(4L, 1L, 40L, TransactionType.USE, 20L), recovered.streamByUserIdAndTime(1L, 20L, 21L).findFirst().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("내역 시간 범위 조회 테스트 - 청크 크기보다 많은 내역을 뒤섞인 시각(같은 시각 포함)으로 기록해도 시각, id 순으로 빠짐없이 조회")
+    void largeOutOfOrderTimeRangeTest(){
+        for (PointHistoryStore pointHistoryStore : List.of(new ConcurrentPointHistoryStore(), new ColumnarPointHistoryStore(),
+                new MappedPointHistoryStore(directory.resolve("large").toString(), 48 * 1024, false))) {
+            //given
+            Random random = new Random(7);
+            List<PointHistory> inserted = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) {
+                // 대부분은 시각 순서대로, 일부는 앞선 시각으로 기록한다.
+                long updateMillis = i % 10 == 0 ? random.nextInt(i + 1) : i;
+                inserted.add(pointHistoryStore.insert(i % 3 + 1, i + 1, TransactionType.CHARGE, updateMillis));
+            }
+            Comparator<PointHistory> order = Comparator.comparingLong(PointHistory::updateMillis).thenComparingLong(PointHistory::id);
+
+            //when
+            List<PointHistory> allRange = pointHistoryStore.streamByTime(1000L, 4000L).toList();
+            List<PointHistory> userRange = pointHistoryStore.streamByUserIdAndTime(2L, 0L, Long.MAX_VALUE).toList();
+            List<PointHistory> limited = pointHistoryStore.streamByTime(Long.MIN_VALUE, Long.MAX_VALUE).limit(3).toList();
+
+            //then
+            assertEquals(inserted.stream().filter(history -> history.updateMillis() >= 1000L && history.updateMillis() < 4000L)
+                    .sorted(order).toList(), allRange, pointHistoryStore.getClass().getSimpleName());
+            assertEquals(inserted.stream().filter(history -> history.userId() == 2L).sorted(order).toList(), userRange);
+            assertEquals(inserted.stream().sorted(order).limit(3).toList(), limited);
+        }
+    }
+
+    // id 순서와 시각 순서가 다르게 기록한다. (id 1:30, 2:20, 3:10, 4:20, 5:35, 6:40)
+    private void insertOutOfOrder(PointHistoryStore pointHistoryStore) {
+        pointHistoryStore.insert(1L, 100L, TransactionType.CHARGE, 30L);
+        pointHistoryStore.insert(2L, 200L, TransactionType.CHARGE, 20L);
+        pointHistoryStore.insert(1L, 10L, TransactionType.CHARGE, 10L);
+        pointHistoryStore.insert(1L, 40L, TransactionType.USE, 20L);
+        pointHistoryStore.insert(2L, 50L, TransactionType.USE, 35L);
+        pointHistoryStore.insert(1L, 60L, TransactionType.CHARGE, 40L);
+    }
+}
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.database.unitTest;
+
+import io.hhplus.tdd.database.PrimitiveUserPointStore;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveUserPointStoreTest {
+
+    @Test
+    @DisplayName("primitive 잔고 저장소 테스트 - 저장한 잔고 조회, 없는 사용자는 0 포인트")
+    void insertAndSelectTest(){
+        //given
+        PrimitiveUserPointStore userPointStore = new PrimitiveUserPointStore();
+
+        //when
+        UserPoint inserted = userPointStore.insertOrUpdate(1L, 100L);
+        userPointStore.insertOrUpdate(1L, 300L);
+        userPointStore.insertOrUpdate(0L, 50L);
+
+        //then
+        assertEquals(100L, inserted.point());
+        assertEquals(300L, userPointStore.selectById(1L).point());
+        assertEquals(50L, userPointStore.selectById(0L).point());
+        assertEquals(0L, userPointStore.selectById(2L).point());
+        assertEquals(2L, userPointStore.size());
+    }
+
+    @Test
+    @DisplayName("primitive 잔고 저장소 동시성 테스트 - 테이블이 커지는 동안 동시 쓰기/조회")
+    void concurrentResizeTest() throws InterruptedException {
+        //given
+        PrimitiveUserPointStore userPointStore = new PrimitiveUserPointStore();
+        int threads = 8;
+        int usersPerThread = 50_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (int t = 0; t < threads; t++) {
+            long offset = (long) t * usersPerThread;
+            executorService.submit(() -> {
+                for (long userId = offset + 1; userId <= offset + usersPerThread; userId++) {
+                    userPointStore.insertOrUpdate(userId, userId);
+                    assertEquals(userId, userPointStore.selectById(userId).point());
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        //then
+        assertEquals((long) threads * usersPerThread, userPointStore.size());
+        for (long userId = 1; userId <= (long) threads * usersPerThread; userId++) {
+            assertEquals(userId, userPointStore.selectById(userId).point());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.database.unitTest;
+
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TablePointHistoryStoreTest {
+
+    private final long fixedTime = 1700000000000L;
+
+    @Test
+    @DisplayName("사용자별 내역 조회 테스트 - 다른 사용자 내역은 포함되지 않음")
+    void selectAllByUserIdTest(){
+        //given
+        TablePointHistoryStore pointHistoryStore = new TablePointHistoryStore(new PointHistoryTable(), PointMetrics.noop());
+        pointHistoryStore.insert(1L, 100L, TransactionType.CHARGE, fixedTime);
+        pointHistoryStore.insert(2L, 200L, TransactionType.CHARGE, fixedTime);
+        pointHistoryStore.insert(1L, 50L, TransactionType.USE, fixedTime);
+
+        //when
+        List<PointHistory> pointHistories = pointHistoryStore.selectAllByUserId(1L);
+
+        //then
+        assertEquals(2, pointHistories.size());
+        assertEquals(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, fixedTime), pointHistories.get(0));
+        assertEquals(new PointHistory(3L, 1L, 50L, TransactionType.USE, fixedTime), pointHistories.get(1));
+    }
+
+    @Test
+    @DisplayName("사용자별 내역 조회 테스트 - 최초 조회 이후에는 테이블 전체 조회 없이 인덱스에서 응답")
+    void selectAllByUserIdIndexedTest(){
+        //given
+        long userId = 1L;
+        PointHistoryTable pointHistoryTable = mock(PointHistoryTable.class);
+        PointHistory first = new PointHistory(1L, userId, 100L, TransactionType.CHARGE, fixedTime);
+        PointHistory second = new PointHistory(2L, userId, 30L, TransactionType.USE, fixedTime);
+        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(List.of(first));
+        when(pointHistoryTable.insert(userId, 30L, TransactionType.USE, fixedTime)).thenReturn(second);
+        TablePointHistoryStore pointHistoryStore = new TablePointHistoryStore(pointHistoryTable, PointMetrics.noop());
+
+        //when
+        pointHistoryStore.selectAllByUserId(userId);
+        pointHistoryStore.insert(userId, 30L, TransactionType.USE, fixedTime);
+        List<PointHistory> pointHistories = pointHistoryStore.selectAllByUserId(userId);
+
+        //then
+        // 새로 추가된 내역이 인덱스에 반영되었는지 체크
+        assertEquals(List.of(first, second), pointHistories);
+        // 테이블 전체 조회는 최초 1회만 발생했는지 체크
+        verify(pointHistoryTable, times(1)).selectAllByUserId(userId);
+    }
+}
@@ -0,0 +1,210 @@
+package io.hhplus.tdd.database.unitTest;
+
+import io.hhplus.tdd.database.WalUserPointStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalUserPointStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private WalUserPointStore open() {
+        return new WalUserPointStore(directory.toString(), 64, 2, 0);
+    }
+
+    @Test
+    @DisplayName("WAL 잔고 저장소 복구 테스트 - 재시작 후 마지막 잔고 복구")
+    void recoverFromWalTest() throws IOException, InterruptedException {
+        //given
+        WalUserPointStore before = open();
+        int users = 50;
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        for (long userId = 1; userId <= users; userId++) {
+            long id = userId;
+            executorService.submit(() -> {
+                for (long point = 1; point <= 20; point++) {
+                    before.insertOrUpdate(id, point * id);
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+        before.close();
+
+        //when
+        WalUserPointStore after = open();
+
+        //then
+        for (long userId = 1; userId <= users; userId++) {
+            assertEquals(20 * userId, after.selectById(userId).point());
+        }
+        assertEquals(0L, after.selectById(users + 1).point());
+        after.close();
+    }
+
+    @Test
+    @DisplayName("WAL 잔고 저장소 스냅샷 테스트 - 스냅샷 이전 WAL 삭제, 스냅샷 + 이후 WAL 로 복구")
+    void recoverFromSnapshotTest() throws IOException {
+        //given
+        WalUserPointStore before = open();
+        before.insertOrUpdate(1L, 100L);
+        before.insertOrUpdate(2L, 200L);
+        before.snapshot();
+        before.insertOrUpdate(1L, 150L);
+        before.close();
+
+        //when
+        WalUserPointStore after = open();
+
+        //then
+        assertTrue(Files.exists(directory.resolve("snapshot.dat")));
+        assertFalse(Files.exists(directory.resolve("wal-00000001.log")));
+        assertEquals(150L, after.selectById(1L).point());
+        assertEquals(200L, after.selectById(2L).point());
+        after.close();
+    }
+
+    @Test
+    @DisplayName("WAL 잔고 저장소 기록 실패 테스트 - fsync 에 실패하면 변경을 거절하고 이후 조회도 거절, 재시작하면 마지막으로 반영된 잔고 복구")
+    void forceFailureTest() throws IOException {
+        //given
+        AtomicBoolean failing = new AtomicBoolean();
+        WalUserPointStore before = new WalUserPointStore(directory.toString(), 64, 2, 0,
+                path -> new FailingChannel(WalUserPointStore.ChannelOpener.DEFAULT.open(path), failing));
+        before.insertOrUpdate(1L, 100L);
+
+        //when
+        failing.set(true);
+        assertThrows(UncheckedIOException.class, () -> before.insertOrUpdate(1L, 200L));
+
+        //then
+        // 디스크에 반영되지 않은 잔고(200)를 응답하지 않는다.
+        assertThrows(IllegalStateException.class, () -> before.selectById(1L));
+        assertThrows(UncheckedIOException.class, () -> before.insertOrUpdate(2L, 300L));
+        before.close();
+        WalUserPointStore after = open();
+        assertEquals(100L, after.selectById(1L).point());
+        assertEquals(0L, after.selectById(2L).point());
+        after.close();
+    }
+
+    // failing 이 켜지면 force(fsync) 에 실패하는 채널 (쓰기는 그대로 반영되지만 디스크 반영이 보장되지 않는 상황)
+    private static class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        private final AtomicBoolean failing;
+
+        private FailingChannel(FileChannel delegate, AtomicBoolean failing) {
+            this.delegate = delegate;
+            this.failing = failing;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            if (failing.get()) {
+                throw new IOException("fsync 실패");
+            }
+            delegate.force(metaData);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
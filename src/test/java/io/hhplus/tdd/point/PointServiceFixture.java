@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.UserPointStore;
+
+/**
+ * 테스트용 PointService 조립
+ * - 저장소만 바꿔 끼우고 나머지 구성 요소는 기본 설정(사용자별 락, 동기 내역 기록)으로 만든다.
+ */
+public class PointServiceFixture {
+    public final UserPointStore userPointStore;
+    public final PointHistoryStore pointHistoryStore;
+    public final UserPointCache userPointCache;
+    public final PointHistoryOutbox pointHistoryOutbox;
+    public final PointSummaryAggregator pointSummaryAggregator;
+    public final PointCommandProcessor pointCommandProcessor;
+    public final UserLockRegistry userLockRegistry;
+    public final PointIdempotencyCache pointIdempotencyCache = new PointIdempotencyCache(10_000, 60_000);
+    public final PointReservationRegistry pointReservationRegistry = new PointReservationRegistry(100);
+    public final PointEventBroadcaster pointEventBroadcaster = new PointEventBroadcaster(1024);
+    public final PointPolicyEngine pointPolicyEngine = new PointPolicyEngine(PointPolicyRules.DEFAULT);
+    public final PointMetrics pointMetrics = PointMetrics.noop();
+
+    public PointServiceFixture(UserPointStore userPointStore, PointHistoryStore pointHistoryStore) {
+        this(userPointStore, pointHistoryStore, new UserLockRegistry(0), new UserPointCache(100));
+    }
+
+    public PointServiceFixture(UserPointStore userPointStore, PointHistoryStore pointHistoryStore,
+                               UserLockRegistry userLockRegistry, UserPointCache userPointCache) {
+        this.userPointStore = userPointStore;
+        this.pointHistoryStore = pointHistoryStore;
+        this.userLockRegistry = userLockRegistry;
+        this.userPointCache = userPointCache;
+        this.pointHistoryOutbox = new PointHistoryOutbox(pointHistoryStore, pointEventBroadcaster);
+        this.pointSummaryAggregator = new PointSummaryAggregator(pointHistoryStore);
+        this.pointCommandProcessor = new PointCommandProcessor(userPointStore, pointHistoryOutbox, userPointCache, pointSummaryAggregator, pointReservationRegistry, pointPolicyEngine, pointMetrics);
+    }
+
+    public static PointServiceFixture concurrent() {
+        return new PointServiceFixture(new ConcurrentUserPointStore(), new ConcurrentPointHistoryStore());
+    }
+
+    // 사용자 락 실행 방식(기본값)
+    public PointService pointService() {
+        return pointService(new LockPointCommandExecutor(userLockRegistry, pointCommandProcessor, pointMetrics));
+    }
+
+    public PointBatchService pointBatchService() {
+        return new PointBatchService(new PointValidation(),
+                new LockPointCommandExecutor(userLockRegistry, pointCommandProcessor, pointMetrics), pointMetrics, 8, 100_000, false);
+    }
+
+    // 만료는 주기 확인 없이 expire 호출로만 처리한다.
+    public PointReservationService pointReservationService(PointCommandExecutor pointCommandExecutor) {
+        return new PointReservationService(pointService(pointCommandExecutor), pointCommandExecutor, pointReservationRegistry,
+                new PointValidation(), pointMetrics, pointPolicyEngine, 60_000, 600_000, 0);
+    }
+
+    // 연결 유지(heartbeat) 주기는 테스트에서 기다리지 않도록 짧게 잡는다.
+    public PointEventService pointEventService(int maxSubscribers) {
+        return new PointEventService(pointEventBroadcaster, pointHistoryStore, pointHistoryOutbox, new PointValidation(),
+                maxSubscribers, 50, false);
+    }
+
+    public PointService pointService(PointCommandExecutor pointCommandExecutor) {
+        return new PointService(userPointStore, pointHistoryStore, new PointValidation(), pointCommandExecutor,
+                userPointCache, pointHistoryOutbox, pointSummaryAggregator, pointIdempotencyCache, pointMetrics);
+    }
+}
@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point.integrationTest;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 가상 스레드 모드 동작 테스트
+ * - 저장소 호출이 막혀 있는 동안에도 가상 스레드는 플랫폼 스레드 풀 크기(Tomcat 기본 최대 200개)보다 많은 요청을 동시에 진행한다.
+ * - 같은 사용자 요청이 사용자 락에서 기다려도 교착 없이 모두 반영된다.
+ * - 처리 시간 비교는 PointVirtualThreadBenchmark (src/jmh) 로 측정한다.
+ * - ./gradlew test -PjavaVersion=21 로 실행한다.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadScalingTest {
+
+    // Tomcat 기본 최대 스레드 수
+    private final int platformThreads = 200;
+    // 동시 요청 사용자 수
+    private final int users = 2000;
+
+    @Test
+    @DisplayName("가상 스레드 동시 충전 테스트 - 저장소 호출이 막힌 요청이 플랫폼 스레드 풀 크기보다 많아도 모두 동시에 진행")
+    void virtualThreadScalingTest() throws Exception {
+        //given
+        // 풀 크기보다 하나 많은 요청이 동시에 저장소 조회에 들어와야 열리는 관문
+        CountDownLatch gate = new CountDownLatch(platformThreads + 1);
+        PointService pointService = pointService(gate);
+        SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("point-virtual-");
+        virtualExecutor.setVirtualThreads(true);
+
+        //when
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (long userId = 1; userId <= users; userId++) {
+            long id = userId;
+            results.add(virtualExecutor.submit(() -> pointService.patchPointCharge(id, 10L, System.currentTimeMillis())));
+        }
+
+        //then
+        for (Future<UserPoint> result : results) {
+            assertEquals(10L, result.get(1, TimeUnit.MINUTES).point());
+        }
+        assertEquals(0, gate.getCount());
+    }
+
+    @Test
+    @DisplayName("가상 스레드 같은 사용자 충전 테스트 - 사용자 락을 기다리는 요청이 많아도 교착 없이 모두 반영")
+    void virtualThreadSameUserTest() throws Exception {
+        //given
+        PointService pointService = new PointServiceFixture(new ConcurrentUserPointStore(), new ConcurrentPointHistoryStore(),
+                new UserLockRegistry(0), new UserPointCache(0)).pointService();
+        SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("point-virtual-");
+        virtualExecutor.setVirtualThreads(true);
+        long userId = 1L;
+        int requests = 1000;
+
+        //when
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            results.add(virtualExecutor.submit(() -> pointService.patchPointCharge(userId, 1L, System.currentTimeMillis())));
+        }
+        for (Future<UserPoint> result : results) {
+            result.get(1, TimeUnit.MINUTES);
+        }
+
+        //then
+        assertEquals(requests, pointService.getUserPoint(userId).point());
+        assertEquals(requests, pointService.getPointHistories(userId).size());
+    }
+
+    private PointService pointService(CountDownLatch gate) {
+        // 조회 시 관문이 열릴 때까지 막히는 저장소
+        ConcurrentUserPointStore userPointStore = new ConcurrentUserPointStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                gate.countDown();
+                try {
+                    if (!gate.await(1, TimeUnit.MINUTES)) {
+                        throw new IllegalStateException("동시에 진행 중인 요청 수가 풀 크기를 넘지 못했습니다.");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.selectById(id);
+            }
+        };
+        return new PointServiceFixture(userPointStore, new ConcurrentPointHistoryStore(),
+                new UserLockRegistry(0), new UserPointCache(0)).pointService();
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupCommitPointCommandExecutorTest {
+
+    private final long fixedTime = 1700000000000L;
+
+    @Test
+    @DisplayName("묶음 처리 테스트 - 규칙을 어기는 요청만 개별 거절")
+    void processAllRejectIndividuallyTest(){
+        //given
+        long userId = 1L;
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointCommandProcessor pointCommandProcessor = fixture.pointCommandProcessor;
+
+        //when
+        // 600 충전 -> 600 충전(최대 잔고 초과) -> 100 사용 -> 700 사용(잔고 부족)
+        List<PointCommandResult> results = pointCommandProcessor.processAll(List.of(
+                PointCommand.charge(userId, 600L, fixedTime),
+                PointCommand.charge(userId, 600L, fixedTime),
+                PointCommand.use(userId, 100L, fixedTime),
+                PointCommand.use(userId, 700L, fixedTime)
+        ));
+
+        //then
+        assertEquals(600L, results.get(0).getOrThrow().point());
+        assertEquals("최대 잔고 초과로 포인트 충전에 실패하였습니다.", results.get(1).error().getMessage());
+        assertEquals(500L, results.get(2).getOrThrow().point());
+        assertEquals("잔고 포인트 부족으로 포인트 사용에 실패하였습니다.", results.get(3).error().getMessage());
+        // 성공한 요청만 반영되었는지 체크
+        assertEquals(500L, fixture.userPointStore.selectById(userId).point());
+        assertEquals(2, fixture.pointHistoryStore.selectAllByUserId(userId).size());
+    }
+
+    @Test
+    @DisplayName("묶음 처리 동시 충전 테스트 - 같은 유저 동시 충전 시 잔고 저장 횟수가 요청 수보다 적음")
+    void concurrentChargeCoalesceTest() throws InterruptedException {
+        //given
+        long userId = 1L;
+        int threads = 20;
+        AtomicInteger writes = new AtomicInteger();
+        // 잔고 저장이 느릴수록 대기열에 요청이 쌓여 한 번에 묶인다.
+        ConcurrentUserPointStore userPointStore = new ConcurrentUserPointStore() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                writes.incrementAndGet();
+                try {
+                    TimeUnit.MILLISECONDS.sleep(20);
+                } catch (InterruptedException ignored) {
+
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        PointServiceFixture fixture = new PointServiceFixture(userPointStore, new ConcurrentPointHistoryStore());
+        PointService pointService = fixture.pointService(
+                new GroupCommitPointCommandExecutor(fixture.userLockRegistry, fixture.pointCommandProcessor, fixture.pointMetrics, 100));
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (int i = 0; i < threads; i++) {
+            executorService.submit(() -> {
+                pointService.patchPointCharge(userId, 10L, System.currentTimeMillis());
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        //then
+        assertEquals(threads * 10L, pointService.getUserPoint(userId).point());
+        assertEquals(threads, pointService.getPointHistories(userId).size());
+        assertTrue(writes.get() < threads);
+    }
+}
@@ -0,0 +1,114 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.point.MailboxPointCommandExecutor;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointServiceFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MailboxPointCommandExecutorTest {
+
+    private MailboxPointCommandExecutor mailboxPointCommandExecutor;
+    private PointService pointService;
+
+    @BeforeEach
+    void init(){
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        mailboxPointCommandExecutor = new MailboxPointCommandExecutor(fixture.pointCommandProcessor, fixture.userLockRegistry, fixture.pointMetrics, 4);
+        pointService = fixture.pointService(mailboxPointCommandExecutor);
+    }
+
+    @AfterEach
+    void shutdown(){
+        mailboxPointCommandExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("메일박스 동시 충전 테스트 - 같은 유저 동시 충전")
+    void concurrentChargeTest() throws InterruptedException {
+        //given
+        long userId = 1L;
+        int threads = 32;
+        int iterations = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (int i = 0; i < threads; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < iterations; j++) {
+                    pointService.patchPointCharge(userId, 1L, System.currentTimeMillis());
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        //then
+        assertEquals((long) threads * iterations, pointService.getUserPoint(userId).point());
+        assertEquals(threads * iterations, pointService.getPointHistories(userId).size());
+    }
+
+    @Test
+    @DisplayName("메일박스 포인트 사용 실패 테스트 - 처리 중 예외가 요청 스레드로 전달")
+    void useLackedBalanceFailTest(){
+        //given
+        long userId = 1L;
+        pointService.patchPointCharge(userId, 100L, System.currentTimeMillis());
+
+        //when & then
+        Exception exception = assertThrows(IllegalStateException.class,
+                ()-> pointService.patchPointUse(userId, 300L, System.currentTimeMillis()));
+
+        assertEquals("잔고 포인트 부족으로 포인트 사용에 실패하였습니다.", exception.getMessage());
+        assertEquals(100L, pointService.getUserPoint(userId).point());
+    }
+
+    @Test
+    @DisplayName("메일박스 이체 테스트 - 메일박스의 충전/사용과 양방향 이체가 겹쳐도 잔고가 내역 합계와 일치")
+    void concurrentTransferTest() throws InterruptedException {
+        //given
+        pointService.patchPointCharge(1L, 500L, System.currentTimeMillis());
+        pointService.patchPointCharge(2L, 500L, System.currentTimeMillis());
+        int threads = 16;
+        int iterations = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (int i = 0; i < threads; i++) {
+            int worker = i;
+            executorService.submit(() -> {
+                for (int j = 0; j < iterations; j++) {
+                    try {
+                        switch (worker % 4) {
+                            case 0 -> pointService.transfer(1L, 2L, 2L, System.currentTimeMillis());
+                            case 1 -> pointService.transfer(2L, 1L, 2L, System.currentTimeMillis());
+                            case 2 -> pointService.patchPointCharge(1L + j % 2, 1L, System.currentTimeMillis());
+                            default -> pointService.patchPointUse(1L + j % 2, 1L, System.currentTimeMillis());
+                        }
+                    } catch (IllegalStateException e) {
+                        // 잔고 한도/부족으로 거절된 요청은 잔고와 내역 모두에 반영되지 않는다.
+                    }
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        //then
+        for (long userId = 1; userId <= 2; userId++) {
+            long historyNet = pointService.getPointHistories(userId).stream()
+                    .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                    .sum();
+            assertEquals(historyNet, pointService.getUserPoint(userId).point());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.PrimitiveUserPointStore;
+import io.hhplus.tdd.point.OptimisticPointCommandExecutor;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointServiceFixture;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OptimisticPointCommandExecutorTest {
+
+    private PointService pointService(PointServiceFixture fixture, int maxRetries) {
+        return fixture.pointService(new OptimisticPointCommandExecutor(fixture.userPointStore, fixture.userLockRegistry,
+                fixture.pointCommandProcessor, fixture.pointMetrics, maxRetries, 1000));
+    }
+
+    @Test
+    @DisplayName("낙관적 실행 동시 충전/사용 테스트 - 같은 유저에 몰려도 잔고가 반영된 내역 합계와 일치 (재시도 없이 락으로 넘어가는 경우 포함)")
+    void concurrentChargeAndUseTest() throws InterruptedException {
+        for (int maxRetries : new int[]{0, 4}) {
+            //given
+            PointServiceFixture fixture = PointServiceFixture.concurrent();
+            PointService pointService = pointService(fixture, maxRetries);
+            long userId = 1L;
+            pointService.patchPointCharge(userId, 500L, System.currentTimeMillis());
+            int threads = 16;
+            int iterations = 200;
+            ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+            //when
+            for (int i = 0; i < threads; i++) {
+                boolean charge = i % 2 == 0;
+                executorService.submit(() -> {
+                    for (int j = 0; j < iterations; j++) {
+                        try {
+                            if (charge) {
+                                pointService.patchPointCharge(userId, 1L, System.currentTimeMillis());
+                            } else {
+                                pointService.patchPointUse(userId, 1L, System.currentTimeMillis());
+                            }
+                        } catch (IllegalStateException e) {
+                            // 잔고 한도/부족으로 거절된 요청은 잔고와 내역 모두에 반영되지 않는다.
+                        }
+                    }
+                });
+            }
+            executorService.shutdown();
+            executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+            //then
+            long historyNet = pointService.getPointHistories(userId).stream()
+                    .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                    .sum();
+            assertEquals(historyNet, pointService.getUserPoint(userId).point());
+            assertEquals(historyNet, pointService.getPointSummary(userId).chargeAmount() - pointService.getPointSummary(userId).useAmount());
+        }
+    }
+
+    @Test
+    @DisplayName("낙관적 실행 포인트 충전 실패 테스트 - 최대 잔고 초과는 재시도 없이 거절")
+    void chargeOverMaxPointFailTest(){
+        //given
+        PointService pointService = pointService(PointServiceFixture.concurrent(), 4);
+        long userId = 1L;
+        pointService.patchPointCharge(userId, 900L, System.currentTimeMillis());
+
+        //when & then
+        Exception exception = assertThrows(IllegalStateException.class,
+                ()-> pointService.patchPointCharge(userId, 200L, System.currentTimeMillis()));
+
+        assertEquals("최대 잔고 초과로 포인트 충전에 실패하였습니다.", exception.getMessage());
+        assertEquals(900L, pointService.getUserPoint(userId).point());
+    }
+
+    @Test
+    @DisplayName("낙관적 실행 테스트 - compare-and-set 을 지원하지 않는 저장소는 사용자 락으로 처리")
+    void unsupportedStoreTest(){
+        //given
+        PointServiceFixture fixture = new PointServiceFixture(new PrimitiveUserPointStore(), new ConcurrentPointHistoryStore());
+        PointService pointService = pointService(fixture, 4);
+
+        //when
+        pointService.patchPointCharge(1L, 300L, System.currentTimeMillis());
+        pointService.patchPointUse(1L, 100L, System.currentTimeMillis());
+
+        //then
+        assertEquals(200L, pointService.getUserPoint(1L).point());
+    }
+
+    @Test
+    @DisplayName("낙관적 실행 이체 테스트 - 락 없이 저장하는 충전/사용과 양방향 이체가 겹쳐도 잔고가 내역 합계와 일치")
+    void concurrentTransferTest() throws InterruptedException {
+        //given
+        PointService pointService = pointService(PointServiceFixture.concurrent(), 4);
+        pointService.patchPointCharge(1L, 500L, System.currentTimeMillis());
+        pointService.patchPointCharge(2L, 500L, System.currentTimeMillis());
+        int threads = 16;
+        int iterations = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (int i = 0; i < threads; i++) {
+            int worker = i;
+            executorService.submit(() -> {
+                for (int j = 0; j < iterations; j++) {
+                    try {
+                        switch (worker % 4) {
+                            case 0 -> pointService.transfer(1L, 2L, 2L, System.currentTimeMillis());
+                            case 1 -> pointService.transfer(2L, 1L, 2L, System.currentTimeMillis());
+                            case 2 -> pointService.patchPointCharge(1L + j % 2, 1L, System.currentTimeMillis());
+                            default -> pointService.patchPointUse(1L + j % 2, 1L, System.currentTimeMillis());
+                        }
+                    } catch (IllegalStateException e) {
+                        // 잔고 한도/부족으로 거절된 요청은 잔고와 내역 모두에 반영되지 않는다.
+                    }
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        //then
+        for (long userId = 1; userId <= 2; userId++) {
+            long historyNet = pointService.getPointHistories(userId).stream()
+                    .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                    .sum();
+            assertEquals(historyNet, pointService.getUserPoint(userId).point());
+        }
+    }
+}
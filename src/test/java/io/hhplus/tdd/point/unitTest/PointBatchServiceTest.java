@@ -0,0 +1,109 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointBatchServiceTest {
+
+    private PointService pointService;
+    private PointBatchService pointBatchService;
+
+    @BeforeEach
+    void init(){
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        pointService = fixture.pointService();
+        pointBatchService = fixture.pointBatchService();
+    }
+
+    @Test
+    @DisplayName("일괄 처리 테스트 - 요청 순서대로 건별 결과 반환, 규칙 위반 건만 실패")
+    void processTest(){
+        //given
+        List<PointBatchItem> items = List.of(
+                new PointBatchItem(1L, TransactionType.CHARGE, 500L),
+                new PointBatchItem(2L, TransactionType.CHARGE, 300L),
+                new PointBatchItem(1L, TransactionType.USE, 700L),
+                new PointBatchItem(1L, TransactionType.USE, 200L),
+                new PointBatchItem(-1L, TransactionType.CHARGE, 100L)
+        );
+
+        //when
+        List<PointBatchResult> results = pointBatchService.process(items);
+
+        //then
+        assertEquals(5, results.size());
+        assertEquals(500L, results.get(0).userPoint().point());
+        assertEquals(300L, results.get(1).userPoint().point());
+        assertEquals("잔고 포인트 부족으로 포인트 사용에 실패하였습니다.", results.get(2).error().message());
+        assertEquals(300L, results.get(3).userPoint().point());
+        assertEquals("사용자 ID가 유효하지 않습니다.", results.get(4).error().message());
+        assertEquals(300L, pointService.getUserPoint(1L).point());
+        assertEquals(2, pointService.getPointHistories(1L).size());
+    }
+
+    @Test
+    @DisplayName("일괄 처리 테스트 - 여러 유저 병렬 처리")
+    void processManyUsersTest(){
+        //given
+        int users = 1000;
+        List<PointBatchItem> items = new ArrayList<>();
+        for (long userId = 1; userId <= users; userId++) {
+            items.add(new PointBatchItem(userId, TransactionType.CHARGE, 100L));
+            items.add(new PointBatchItem(userId, TransactionType.USE, 30L));
+        }
+
+        //when
+        List<PointBatchResult> results = pointBatchService.process(items);
+
+        //then
+        assertTrue(results.stream().allMatch(result -> result.error() == null));
+        for (long userId = 1; userId <= users; userId++) {
+            assertEquals(70L, pointService.getUserPoint(userId).point());
+        }
+    }
+
+    @Test
+    @DisplayName("일괄 처리 테스트 - 사용자 수와 관계없이 작업자 수만큼의 스레드로 처리")
+    void boundedWorkerTest(){
+        //given
+        int users = 10_000;
+        int concurrency = 4;
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        PointCommandExecutor recordingExecutor = new PointCommandExecutor() {
+            @Override
+            public UserPoint execute(PointCommand command) {
+                threads.add(Thread.currentThread());
+                return new UserPoint(command.userId(), command.amount(), command.updateMillis());
+            }
+
+            @Override
+            public PointTransferResult transfer(PointTransfer transfer) {
+                throw new IllegalStateException("일괄 처리는 이체를 호출하지 않습니다.");
+            }
+        };
+        PointBatchService boundedBatchService = new PointBatchService(new PointValidation(), recordingExecutor,
+                PointMetrics.noop(), concurrency, 100_000, false);
+        List<PointBatchItem> items = new ArrayList<>();
+        for (long userId = 1; userId <= users; userId++) {
+            items.add(new PointBatchItem(userId, TransactionType.CHARGE, 100L));
+        }
+
+        //when
+        List<PointBatchResult> results = boundedBatchService.process(items);
+        boundedBatchService.shutdown();
+
+        //then
+        assertEquals(users, results.size());
+        assertTrue(results.stream().allMatch(result -> result.error() == null));
+        assertTrue(threads.size() <= concurrency);
+    }
+}
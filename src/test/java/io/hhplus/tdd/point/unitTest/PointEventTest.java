@@ -0,0 +1,223 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointEventTest {
+
+    @Test
+    @DisplayName("이벤트 발행 테스트 - 충전/사용이 반영될 때마다 내역 id 와 반영 후 잔고를 담은 이벤트가 순서대로 발행")
+    void publishTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointService pointService = fixture.pointService();
+        long userId = 1L;
+        long from = fixture.pointEventBroadcaster.nextSequence();
+
+        //when
+        pointService.patchPointCharge(userId, 300L, 10L);
+        pointService.patchPointUse(userId, 100L, 20L);
+        assertThrows(IllegalStateException.class, () -> pointService.patchPointUse(userId, 1000L, 30L));
+
+        //then
+        List<PointEvent> events = new ArrayList<>();
+        assertEquals(from + 2, fixture.pointEventBroadcaster.read(from, 10, events));
+        List<PointHistory> pointHistories = pointService.getPointHistories(userId);
+        assertEquals(new PointEvent(pointHistories.get(0).id(), userId, TransactionType.CHARGE, 300L, 300L, 10L), events.get(0));
+        assertEquals(new PointEvent(pointHistories.get(1).id(), userId, TransactionType.USE, 100L, 200L, 20L), events.get(1));
+    }
+
+    @Test
+    @DisplayName("이벤트 버퍼 테스트 - 버퍼 크기보다 뒤처진 위치는 읽지 못함")
+    void laggedReadTest(){
+        //given
+        PointEventBroadcaster broadcaster = new PointEventBroadcaster(3);
+
+        //when
+        for (long i = 1; i <= 5; i++) {
+            broadcaster.publish(new PointEvent(i, 1L, TransactionType.CHARGE, 10L, 10L * i, i));
+        }
+
+        //then
+        // 크기는 2의 거듭제곱(4)으로 올림
+        List<PointEvent> events = new ArrayList<>();
+        assertEquals(-1, broadcaster.read(0, 10, events));
+        assertEquals(1, broadcaster.oldestSequence());
+        assertEquals(5, broadcaster.read(1, 10, events));
+        assertEquals(List.of(2L, 3L, 4L, 5L), events.stream().map(PointEvent::historyId).toList());
+    }
+
+    @Test
+    @DisplayName("이벤트 구독 테스트 - 다른 사용자의 이벤트는 받지 않고, 지난 내역은 저장소에서 이어 받은 뒤 실시간 이벤트를 빠짐없이 받음")
+    void subscribeReplayTest() throws InterruptedException {
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointService pointService = fixture.pointService();
+        PointEventService pointEventService = fixture.pointEventService(10);
+        long userId = 1L;
+        pointService.patchPointCharge(userId, 100L, 10L);
+        long afterHistoryId = pointService.getPointHistories(userId).get(0).id();
+        pointService.patchPointCharge(userId, 100L, 20L);
+        pointService.patchPointCharge(2L, 100L, 30L);
+        RecordingSink sink = new RecordingSink();
+
+        //when
+        PointEventService.Subscription subscription = pointEventService.subscribe(userId, afterHistoryId, sink);
+        pointService.patchPointUse(userId, 50L, 40L);
+        pointService.patchPointCharge(2L, 100L, 50L);
+
+        //then
+        PointEvent replayed = sink.events.poll(5, TimeUnit.SECONDS);
+        PointEvent live = sink.events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(replayed);
+        assertNotNull(live);
+        // 저장소에서 이어 받은 내역은 당시 잔고를 알 수 없음
+        assertEquals(20L, replayed.updateMillis());
+        assertNull(replayed.point());
+        assertEquals(40L, live.updateMillis());
+        assertEquals(Long.valueOf(150L), live.point());
+        subscription.cancel();
+        assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+        assertTrue(sink.events.isEmpty());
+        assertEquals(0, pointEventService.subscribers());
+    }
+
+    @Test
+    @DisplayName("이벤트 구독 테스트 - 전체 구독은 서로 다른 사용자의 내역이 id 순서와 다르게 발행돼도 빠짐없이 발행 순서대로 받음")
+    void allUsersOutOfOrderTest() throws InterruptedException {
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointEventService pointEventService = fixture.pointEventService(10);
+        RecordingSink sink = new RecordingSink();
+        PointEventService.Subscription subscription = pointEventService.subscribe(null, null, sink);
+
+        //when
+        // 두 사용자가 동시에 기록해 id 6 의 이벤트가 id 5 보다 먼저 발행된 경우
+        fixture.pointEventBroadcaster.publish(new PointEvent(6L, 2L, TransactionType.CHARGE, 10L, 10L, 1L));
+        fixture.pointEventBroadcaster.publish(new PointEvent(5L, 1L, TransactionType.CHARGE, 10L, 10L, 1L));
+
+        //then
+        PointEvent first = sink.events.poll(5, TimeUnit.SECONDS);
+        PointEvent second = sink.events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(6L, first.historyId());
+        assertEquals(5L, second.historyId());
+        subscription.cancel();
+    }
+
+    @Test
+    @DisplayName("이벤트 구독 테스트 - 전체 구독을 이어 받으면 그 내역의 이벤트 다음 순번부터 받고, 버퍼에 없는 내역이면 바로 lagged")
+    void allUsersResumeTest() throws InterruptedException {
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointEventService pointEventService = fixture.pointEventService(10);
+        fixture.pointEventBroadcaster.publish(new PointEvent(4L, 1L, TransactionType.CHARGE, 10L, 10L, 1L));
+        fixture.pointEventBroadcaster.publish(new PointEvent(6L, 2L, TransactionType.CHARGE, 10L, 10L, 1L));
+        fixture.pointEventBroadcaster.publish(new PointEvent(5L, 1L, TransactionType.CHARGE, 10L, 20L, 1L));
+        RecordingSink sink = new RecordingSink();
+        RecordingSink missingSink = new RecordingSink();
+
+        //when
+        PointEventService.Subscription subscription = pointEventService.subscribe(null, 6L, sink);
+        pointEventService.subscribe(null, 100L, missingSink);
+
+        //then
+        // id 6 다음에 발행된 id 5 를 받음
+        PointEvent resumed = sink.events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(resumed);
+        assertEquals(5L, resumed.historyId());
+        assertTrue(missingSink.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(Long.valueOf(100L), missingSink.laggedHistoryId);
+        assertTrue(missingSink.events.isEmpty());
+        subscription.cancel();
+    }
+
+    @Test
+    @DisplayName("이벤트 구독 테스트 - 버퍼보다 뒤처진 느린 구독자는 마지막으로 받은 내역 id 와 함께 lagged 를 받고 종료, 충전/사용은 기다리지 않음")
+    void slowSubscriberTest() throws InterruptedException {
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointService pointService = fixture.pointService();
+        PointEventService pointEventService = fixture.pointEventService(10);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink() {
+            @Override
+            public void send(PointEvent event) throws IOException {
+                super.send(event);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        pointEventService.subscribe(null, null, sink);
+
+        //when
+        pointService.patchPointCharge(1L, 1L, 0L);
+        PointEvent first = sink.events.poll(5, TimeUnit.SECONDS);
+        // 구독자가 첫 이벤트를 보내는 중에 버퍼(1024)보다 많이 발행
+        for (int i = 0; i < 2000; i++) {
+            pointService.patchPointCharge(2L + i % 10, 1L, i);
+        }
+        release.countDown();
+
+        //then
+        assertNotNull(first);
+        assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(Long.valueOf(first.historyId()), sink.laggedHistoryId);
+        assertEquals(0, pointEventService.subscribers());
+    }
+
+    @Test
+    @DisplayName("이벤트 구독 테스트 - 최대 구독자 수를 넘으면 거절")
+    void maxSubscribersTest(){
+        //given
+        PointEventService pointEventService = PointServiceFixture.concurrent().pointEventService(1);
+        PointEventService.Subscription subscription = pointEventService.subscribe(null, null, new RecordingSink());
+
+        //when
+        Exception exception = assertThrows(IllegalStateException.class,
+                () -> pointEventService.subscribe(1L, null, new RecordingSink()));
+
+        //then
+        assertEquals("포인트 이벤트 구독자 수가 최대 1명을 초과하였습니다.", exception.getMessage());
+        subscription.cancel();
+    }
+
+    private static class RecordingSink implements PointEventSink {
+        private final LinkedBlockingQueue<PointEvent> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile Long laggedHistoryId;
+
+        @Override
+        public void send(PointEvent event) throws IOException {
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void lagged(Long lastHistoryId) {
+            laggedHistoryId = lastHistoryId;
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
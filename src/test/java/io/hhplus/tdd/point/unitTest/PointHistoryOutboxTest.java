@@ -0,0 +1,122 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.point.PointEventBroadcaster;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryOutbox;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointHistoryOutboxTest {
+
+    @Test
+    @DisplayName("비동기 내역 기록 테스트 - flush 후 사용자별 내역이 넣은 순서대로 모두 기록")
+    void asyncAppendFlushTest() throws InterruptedException {
+        //given
+        int users = 8;
+        int events = 500;
+        ConcurrentPointHistoryStore pointHistoryStore = new ConcurrentPointHistoryStore();
+        // 큐가 가득 차 대기하는 경우도 함께 확인하도록 작은 크기로 설정
+        PointHistoryOutbox pointHistoryOutbox = new PointHistoryOutbox(pointHistoryStore, new PointEventBroadcaster(0), true, 64);
+        ExecutorService executorService = Executors.newFixedThreadPool(users);
+
+        //when
+        // 사용자마다 한 스레드가 순서대로 기록 (사용자 락 안에서 호출되는 상황과 동일)
+        for (long userId = 1; userId <= users; userId++) {
+            long id = userId;
+            executorService.submit(() -> {
+                for (int i = 1; i <= events; i++) {
+                    pointHistoryOutbox.append(id, 10L, TransactionType.CHARGE, i, 10L * i);
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        //then
+        for (long userId = 1; userId <= users; userId++) {
+            pointHistoryOutbox.flush(userId);
+            List<PointHistory> pointHistories = pointHistoryStore.selectAllByUserId(userId);
+            assertEquals(events, pointHistories.size());
+            for (int i = 0; i < events; i++) {
+                // 넣은 순서(updateMillis = 순번)대로 기록되었는지 체크
+                assertEquals(i + 1L, pointHistories.get(i).updateMillis());
+            }
+        }
+        pointHistoryOutbox.shutdown();
+    }
+
+    @Test
+    @DisplayName("동기 내역 기록 테스트 - 비동기 미설정 시 바로 기록")
+    void syncAppendTest(){
+        //given
+        ConcurrentPointHistoryStore pointHistoryStore = new ConcurrentPointHistoryStore();
+        PointHistoryOutbox pointHistoryOutbox = new PointHistoryOutbox(pointHistoryStore);
+
+        //when
+        pointHistoryOutbox.append(1L, 10L, TransactionType.USE, 1700000000000L, 0L);
+
+        //then
+        assertEquals(1, pointHistoryStore.selectAllByUserId(1L).size());
+        assertEquals(0, pointHistoryOutbox.pending());
+    }
+
+    @Test
+    @DisplayName("내역 기록 실패 테스트 - 다시 시도해도 실패한 내역은 실패 목록에 남고, 저장소가 복구되면 이후 내역과 순서대로 기록")
+    void failedAppendRetryTest(){
+        //given
+        AtomicBoolean available = new AtomicBoolean(false);
+        ConcurrentPointHistoryStore pointHistoryStore = new ConcurrentPointHistoryStore() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (!available.get()) {
+                    throw new IllegalStateException("저장소 장애");
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        PointHistoryOutbox pointHistoryOutbox = new PointHistoryOutbox(pointHistoryStore);
+
+        //when
+        pointHistoryOutbox.append(1L, 10L, TransactionType.CHARGE, 1L, 10L);
+        boolean flushedWhileDown = pointHistoryOutbox.flush(1L);
+        int failedWhileDown = pointHistoryOutbox.failed();
+        available.set(true);
+        // 실패 목록이 있는 사용자의 다음 내역은 실패 목록 뒤에 기록
+        pointHistoryOutbox.append(1L, 5L, TransactionType.USE, 2L, 5L);
+
+        //then
+        assertFalse(flushedWhileDown);
+        assertEquals(1, failedWhileDown);
+        assertTrue(pointHistoryOutbox.flush(1L));
+        assertEquals(0, pointHistoryOutbox.failed());
+        List<PointHistory> pointHistories = pointHistoryStore.selectAllByUserId(1L);
+        assertEquals(List.of(1L, 2L), pointHistories.stream().map(PointHistory::updateMillis).toList());
+    }
+
+    @Test
+    @DisplayName("비동기 내역 기록 종료 테스트 - 종료 전 넣은 내역은 모두 기록하고, 종료 후 넣는 내역은 바로 실패")
+    void appendAfterShutdownTest() throws InterruptedException {
+        //given
+        ConcurrentPointHistoryStore pointHistoryStore = new ConcurrentPointHistoryStore();
+        PointHistoryOutbox pointHistoryOutbox = new PointHistoryOutbox(pointHistoryStore, new PointEventBroadcaster(0), true, 4);
+        pointHistoryOutbox.append(1L, 10L, TransactionType.CHARGE, 1L, 10L);
+
+        //when
+        pointHistoryOutbox.shutdown();
+
+        //then
+        assertEquals(1, pointHistoryStore.selectAllByUserId(1L).size());
+        assertThrows(IllegalStateException.class,
+                () -> pointHistoryOutbox.append(1L, 10L, TransactionType.CHARGE, 2L, 20L));
+    }
+}
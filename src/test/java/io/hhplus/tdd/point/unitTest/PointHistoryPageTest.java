@@ -0,0 +1,109 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointHistoryPageTest {
+
+    private PointService pointService;
+    private final long userId = 1L;
+
+    // 충전 10건(updateMillis 1~10), 사용 5건(updateMillis 11~15) 을 기록해 둔다.
+    @BeforeEach
+    void init(){
+        pointService = PointServiceFixture.concurrent().pointService();
+        for (long i = 1; i <= 10; i++) {
+            pointService.patchPointCharge(userId, 10L, i);
+        }
+        for (long i = 11; i <= 15; i++) {
+            pointService.patchPointUse(userId, 10L, i);
+        }
+    }
+
+    @Test
+    @DisplayName("내역 페이지 조회 테스트 - after 커서로 끝까지 순회")
+    void afterCursorTest(){
+        //given
+        Long cursor = null;
+        int pages = 0;
+        int count = 0;
+
+        //when
+        do {
+            PointHistoryPage page = pointService.getPointHistoryPage(userId,
+                    new PointHistoryQuery(cursor, null, null, null, null), 4, false);
+            count += page.items().size();
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        //then
+        assertEquals(15, count);
+        assertEquals(4, pages);
+    }
+
+    @Test
+    @DisplayName("내역 페이지 조회 테스트 - before 커서는 최신순, 유형/시간 필터 적용")
+    void beforeCursorFilterTest(){
+        //given
+        PointHistoryQuery query = new PointHistoryQuery(null, Long.MAX_VALUE, TransactionType.CHARGE, 3L, 9L);
+
+        //when
+        PointHistoryPage page = pointService.getPointHistoryPage(userId, query, 100, false);
+
+        //then
+        List<Long> updateMillis = page.items().stream().map(PointHistory::updateMillis).toList();
+        assertEquals(List.of(8L, 7L, 6L, 5L, 4L, 3L), updateMillis);
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("내역 스트림 조회 테스트 - 커서 이후 내역만 순회")
+    void streamTest(){
+        //given
+        long after = pointService.getPointHistories(userId).get(9).id();
+
+        //when
+        List<PointHistory> histories = pointService.streamPointHistories(userId,
+                new PointHistoryQuery(after, null, null, null, null), false).toList();
+
+        //then
+        assertEquals(5, histories.size());
+        assertTrue(histories.stream().allMatch(history -> history.type() == TransactionType.USE));
+    }
+
+    @Test
+    @DisplayName("내역 페이지 조회 실패 테스트 - 조회 개수가 유효하지 않음")
+    void invalidLimitTest(){
+        //when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> pointService.getPointHistoryPage(userId, PointHistoryQuery.ALL, 0, false));
+
+        //then
+        assertEquals("조회 개수가 유효하지 않습니다.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("내역 시간 범위 조회 테스트 - 유저별/전체 내역을 기간(from 이상 ~ to 미만)과 개수로 조회")
+    void timeRangeTest(){
+        //given
+        pointService.patchPointCharge(2L, 10L, 5L);
+
+        //when
+        List<PointHistory> userRange = pointService.getPointHistoriesByTime(userId, 5L, 12L, 100, false);
+        List<PointHistory> allRange = pointService.getAllPointHistoriesByTime(5L, 12L, 3);
+
+        //then
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L, 10L, 11L), userRange.stream().map(PointHistory::updateMillis).toList());
+        assertEquals(List.of(1L, 2L, 1L), allRange.stream().map(PointHistory::userId).toList());
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> pointService.getPointHistoriesByTime(userId, 12L, 5L, 100, false));
+        assertEquals("조회 기간이 유효하지 않습니다.", exception.getMessage());
+    }
+}
@@ -0,0 +1,101 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointIdempotencyTest {
+
+    @Test
+    @DisplayName("멱등 키 테스트 - 같은 키로 재시도한 충전은 한 번만 반영하고 처음 결과로 응답")
+    void duplicateChargeTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointService pointService = fixture.pointService();
+        long userId = 1L;
+
+        //when
+        UserPoint first = pointService.patchPointCharge(userId, 100L, 10L, "charge-1");
+        UserPoint retried = pointService.patchPointCharge(userId, 100L, 20L, "charge-1");
+        pointService.patchPointCharge(userId, 100L, 30L, "charge-2");
+
+        //then
+        assertEquals(first, retried);
+        assertEquals(200L, pointService.getUserPoint(userId).point());
+        assertEquals(2, pointService.getPointHistories(userId).size());
+        assertEquals(1L, fixture.pointIdempotencyCache.replays());
+    }
+
+    @Test
+    @DisplayName("멱등 키 동시성 테스트 - 동시에 온 중복 요청은 처리 중인 한 건의 결과를 함께 받음")
+    void concurrentDuplicateChargeTest() throws InterruptedException {
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointService pointService = fixture.pointService();
+        long userId = 1L;
+        int threads = 16;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (int i = 0; i < threads; i++) {
+            executorService.submit(() -> pointService.patchPointCharge(userId, 100L, System.currentTimeMillis(), "charge-1"));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        //then
+        assertEquals(100L, pointService.getUserPoint(userId).point());
+        assertEquals(1, pointService.getPointHistories(userId).size());
+    }
+
+    @Test
+    @DisplayName("멱등 키 테스트 - 실패한 요청은 기억하지 않고, 같은 키로 다른 금액을 보내면 거절")
+    void failedAndMismatchedRequestTest(){
+        //given
+        PointService pointService = PointServiceFixture.concurrent().pointService();
+        long userId = 1L;
+
+        //when
+        assertThrows(IllegalStateException.class, () -> pointService.patchPointUse(userId, 100L, 10L, "use-1"));
+        pointService.patchPointCharge(userId, 300L, 20L);
+        UserPoint retried = pointService.patchPointUse(userId, 100L, 30L, "use-1");
+
+        //then
+        assertEquals(200L, retried.point());
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> pointService.patchPointUse(userId, 50L, 40L, "use-1"));
+        assertEquals("같은 멱등 키로 다른 요청을 보낼 수 없습니다.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> pointService.patchPointUse(userId, 50L, 40L, " "));
+    }
+
+    @Test
+    @DisplayName("멱등 키 캐시 테스트 - 기간이 지났거나 최대 개수를 넘은 오래된 키는 정리")
+    void expireAndEvictTest(){
+        //given
+        AtomicLong clock = new AtomicLong();
+        PointIdempotencyCache cache = new PointIdempotencyCache(2, 1000, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        PointCommand command = PointCommand.charge(1L, 100L, 0L);
+
+        //when
+        cache.execute("a", command, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+        cache.execute("b", command, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+        cache.execute("c", command, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+        UserPoint evicted = cache.execute("a", command, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+        clock.set(TimeUnit.MILLISECONDS.toNanos(1000));
+        UserPoint expired = cache.execute("a", command, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+
+        //then
+        assertEquals(4L, evicted.point());
+        assertEquals(5L, expired.point());
+        assertEquals(1, cache.size());
+    }
+}
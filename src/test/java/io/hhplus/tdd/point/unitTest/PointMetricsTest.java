@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import io.hhplus.tdd.point.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PointService pointService;
+
+    @BeforeEach
+    void init(){
+        meterRegistry = new SimpleMeterRegistry();
+        PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+        ConcurrentUserPointStore userPointStore = new ConcurrentUserPointStore();
+        ConcurrentPointHistoryStore pointHistoryStore = new ConcurrentPointHistoryStore();
+        UserPointCache userPointCache = new UserPointCache(100);
+        PointHistoryOutbox pointHistoryOutbox = new PointHistoryOutbox(pointHistoryStore);
+        PointSummaryAggregator pointSummaryAggregator = new PointSummaryAggregator(pointHistoryStore);
+        PointReservationRegistry pointReservationRegistry = new PointReservationRegistry(100);
+        PointPolicyEngine pointPolicyEngine = new PointPolicyEngine(PointPolicyRules.DEFAULT);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointStore, pointHistoryOutbox, userPointCache, pointSummaryAggregator, pointReservationRegistry, pointPolicyEngine, pointMetrics);
+        pointService = new PointService(userPointStore, pointHistoryStore, new PointValidation(),
+                new LockPointCommandExecutor(new UserLockRegistry(0), pointCommandProcessor, pointMetrics),
+                userPointCache, pointHistoryOutbox, pointSummaryAggregator, new PointIdempotencyCache(10_000, 60_000), pointMetrics);
+    }
+
+    @Test
+    @DisplayName("계측 테스트 - 충전/사용 처리 시간과 락 대기/보유 시간 기록")
+    void operationTimerTest(){
+        //given
+        long userId = 1L;
+
+        //when
+        pointService.patchPointCharge(userId, 500L, System.currentTimeMillis());
+        pointService.patchPointUse(userId, 200L, System.currentTimeMillis());
+
+        //then
+        assertEquals(1L, meterRegistry.get("point.operation").tag("operation", "charge").timer().count());
+        assertEquals(1L, meterRegistry.get("point.operation").tag("operation", "use").timer().count());
+        assertEquals(1L, meterRegistry.get("point.lock.wait").tag("operation", "charge").timer().count());
+        assertEquals(1L, meterRegistry.get("point.lock.hold").tag("operation", "use").timer().count());
+        // 락을 잡지 않는 조회에는 락 시간 계측을 등록하지 않는다.
+        assertNull(meterRegistry.find("point.lock.wait").tag("operation", "get").timer());
+        assertNull(meterRegistry.find("point.lock.hold").tag("operation", "histories").timer());
+    }
+
+    @Test
+    @DisplayName("계측 테스트 - 거절 사유별 집계")
+    void rejectedCounterTest(){
+        //given
+        long userId = 1L;
+        pointService.patchPointCharge(userId, 1000L, System.currentTimeMillis());
+
+        //when
+        assertThrows(IllegalStateException.class, () -> pointService.patchPointCharge(userId, 1L, System.currentTimeMillis()));
+        assertThrows(IllegalStateException.class, () -> pointService.patchPointUse(userId, 2000L, System.currentTimeMillis()));
+        assertThrows(IllegalArgumentException.class, () -> pointService.patchPointCharge(userId, -1L, System.currentTimeMillis()));
+
+        //then
+        assertEquals(1.0, meterRegistry.get("point.rejected").tag("reason", "max_point").counter().count());
+        assertEquals(1.0, meterRegistry.get("point.rejected").tag("reason", "insufficient_balance").counter().count());
+        assertEquals(1.0, meterRegistry.get("point.rejected").tag("reason", "validation").counter().count());
+        // 거절된 요청도 처리 시간에 포함된다.
+        assertEquals(3L, meterRegistry.get("point.operation").tag("operation", "charge").timer().count());
+    }
+}
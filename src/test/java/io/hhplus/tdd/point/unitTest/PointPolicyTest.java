@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointPolicyTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    @Test
+    @DisplayName("포인트 정책 테스트 - 등급별 최대 잔고와 1회 충전/사용 한도 적용")
+    void tierLimitTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        fixture.pointPolicyEngine.update(new PointPolicyRules("basic", Map.of(
+                "basic", new PointTierLimit(1000L, 0, 0, 0, 0),
+                "vip", new PointTierLimit(10_000L, 3000L, 1000L, 0, 0)
+        ), Map.of(2L, "vip")));
+        PointService pointService = fixture.pointService();
+
+        //when
+        UserPoint vip = pointService.patchPointCharge(2L, 3000L, 10L);
+        Exception chargeLimit = assertThrows(IllegalStateException.class, () -> pointService.patchPointCharge(2L, 3001L, 20L));
+        Exception useLimit = assertThrows(IllegalStateException.class, () -> pointService.patchPointUse(2L, 1001L, 30L));
+        Exception maxBalance = assertThrows(IllegalStateException.class, () -> pointService.patchPointCharge(1L, 1001L, 40L));
+
+        //then
+        assertEquals(3000L, vip.point());
+        assertEquals("1회 충전 한도 초과로 포인트 충전에 실패하였습니다.", chargeLimit.getMessage());
+        assertEquals("1회 사용 한도 초과로 포인트 사용에 실패하였습니다.", useLimit.getMessage());
+        assertEquals("최대 잔고 초과로 포인트 충전에 실패하였습니다.", maxBalance.getMessage());
+        assertEquals(3000L, pointService.getUserPoint(2L).point());
+        assertEquals(1, pointService.getPointHistories(2L).size());
+    }
+
+    @Test
+    @DisplayName("포인트 정책 테스트 - 일일 사용 한도는 최근 24시간 누적으로 검증하고, 거절된 요청은 누적하지 않음")
+    void dailyLimitTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        fixture.pointPolicyEngine.update(new PointPolicyRules("basic", Map.of(
+                "basic", new PointTierLimit(10_000L, 0, 0, 0, 500L)
+        ), null));
+        PointService pointService = fixture.pointService();
+        long userId = 1L;
+        pointService.patchPointCharge(userId, 2000L, 0L);
+
+        //when
+        pointService.patchPointUse(userId, 300L, 0L);
+        Exception exception = assertThrows(IllegalStateException.class, () -> pointService.patchPointUse(userId, 300L, HOUR));
+        pointService.patchPointUse(userId, 200L, 2 * HOUR);
+        assertThrows(IllegalStateException.class, () -> pointService.patchPointUse(userId, 1L, 23 * HOUR));
+        // 첫 사용(0시 구간)이 24시간 창을 벗어나 그만큼 다시 쓸 수 있음
+        pointService.patchPointUse(userId, 300L, 24 * HOUR);
+
+        //then
+        assertEquals("일일 사용 한도 초과로 포인트 사용에 실패하였습니다.", exception.getMessage());
+        assertEquals(2000L - 800L, pointService.getUserPoint(userId).point());
+        assertEquals(500L, fixture.pointPolicyEngine.dailyAmount(userId, TransactionType.USE, 24 * HOUR));
+    }
+
+    @Test
+    @DisplayName("포인트 정책 테스트 - 예약을 해제하거나 만료되면 예약 금액만큼 일일 사용 누적이 되돌아감")
+    void reservationReleaseDailyLimitTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        fixture.pointPolicyEngine.update(new PointPolicyRules("basic", Map.of(
+                "basic", new PointTierLimit(10_000L, 0, 0, 0, 500L)
+        ), null));
+        LockPointCommandExecutor executor = new LockPointCommandExecutor(fixture.userLockRegistry, fixture.pointCommandProcessor, fixture.pointMetrics);
+        PointService pointService = fixture.pointService(executor);
+        PointReservationService pointReservationService = fixture.pointReservationService(executor);
+        long userId = 1L;
+        pointService.patchPointCharge(userId, 2000L, 0L);
+
+        //when
+        // 예약한 구간(0시)이 아닌 다음 구간에 해제해도 예약 시각의 누적에서 뺀다.
+        PointReservation released = pointReservationService.hold(userId, 400L, null, 0L);
+        pointService.patchPointUse(userId, 100L, HOUR);
+        pointReservationService.release(userId, released.reservationId(), 2 * HOUR);
+        long afterRelease = fixture.pointPolicyEngine.dailyAmount(userId, TransactionType.USE, 2 * HOUR);
+        // 만료도 같은 방식으로 되돌리므로 한도만큼 예약을 반복할 수 있다.
+        pointReservationService.hold(userId, 400L, 1000L, 3 * HOUR);
+        pointReservationService.expire(3 * HOUR + 1000L);
+        PointReservation captured = pointReservationService.hold(userId, 400L, null, 4 * HOUR);
+        pointReservationService.capture(userId, captured.reservationId());
+        Exception exception = assertThrows(IllegalStateException.class, () -> pointReservationService.hold(userId, 1L, null, 5 * HOUR));
+
+        //then
+        assertEquals(100L, afterRelease);
+        assertEquals("일일 사용 한도 초과로 포인트 사용에 실패하였습니다.", exception.getMessage());
+        assertEquals(500L, fixture.pointPolicyEngine.dailyAmount(userId, TransactionType.USE, 5 * HOUR));
+        assertEquals(2000L - 500L, pointService.getUserPoint(userId).point());
+    }
+
+    @Test
+    @DisplayName("포인트 정책 테스트 - 정책을 바꾸면 이후 요청부터 적용되고, 잘못된 정책은 거절하고 기존 정책 유지")
+    void updatePolicyTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointService pointService = fixture.pointService();
+        long userId = 1L;
+        pointService.patchPointCharge(userId, 1000L, 10L);
+
+        //when
+        fixture.pointPolicyEngine.update(new PointPolicyRules("gold", Map.of(
+                "gold", new PointTierLimit(2000L, 0, 0, 0, 0)
+        ), null));
+        UserPoint userPoint = pointService.patchPointCharge(userId, 1000L, 20L);
+        assertThrows(IllegalArgumentException.class, () -> fixture.pointPolicyEngine.update(new PointPolicyRules("silver", Map.of(
+                "gold", new PointTierLimit(9000L, 0, 0, 0, 0)
+        ), null)));
+        assertThrows(IllegalArgumentException.class, () -> fixture.pointPolicyEngine.update(new PointPolicyRules("gold", Map.of(
+                "gold", new PointTierLimit(-1L, 0, 0, 0, 0)
+        ), null)));
+
+        //then
+        assertEquals(2000L, userPoint.point());
+        assertEquals("gold", fixture.pointPolicyEngine.rules().defaultTier());
+        assertThrows(IllegalStateException.class, () -> pointService.patchPointCharge(userId, 1L, 30L));
+    }
+}
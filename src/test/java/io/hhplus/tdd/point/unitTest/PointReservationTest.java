@@ -0,0 +1,171 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointReservationTest {
+
+    private final long userId = 1L;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+    private PointReservationService pointReservationService;
+
+    @BeforeEach
+    void init(){
+        fixture = PointServiceFixture.concurrent();
+        LockPointCommandExecutor executor = new LockPointCommandExecutor(fixture.userLockRegistry, fixture.pointCommandProcessor, fixture.pointMetrics);
+        pointService = fixture.pointService(executor);
+        pointReservationService = fixture.pointReservationService(executor);
+        pointService.patchPointCharge(userId, 500L, 0L);
+    }
+
+    @Test
+    @DisplayName("포인트 예약 테스트 - 예약하면 사용 가능 잔고에서 빠지고, 확정해도 잔고와 내역은 그대로")
+    void holdAndCaptureTest(){
+        //when
+        PointReservation reservation = pointReservationService.hold(userId, 300L, null, 10L);
+        PointBalance held = pointReservationService.getPointBalance(userId);
+        pointReservationService.capture(userId, reservation.reservationId());
+
+        //then
+        assertEquals(200L, held.point());
+        assertEquals(300L, held.held());
+        PointBalance captured = pointReservationService.getPointBalance(userId);
+        assertEquals(200L, captured.point());
+        assertEquals(0L, captured.held());
+        List<PointHistory> histories = pointService.getPointHistories(userId);
+        assertEquals(2, histories.size());
+        assertEquals(TransactionType.USE, histories.get(1).type());
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> pointReservationService.release(userId, reservation.reservationId(), 20L));
+        assertEquals("해당 포인트 예약을 찾을 수 없습니다.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("포인트 예약 실패 테스트 - 사용 가능 잔고보다 큰 금액은 예약 시점에 거절")
+    void holdLackedBalanceFailTest(){
+        //given
+        pointReservationService.hold(userId, 400L, null, 10L);
+
+        //when
+        Exception exception = assertThrows(IllegalStateException.class, () -> pointReservationService.hold(userId, 200L, null, 20L));
+
+        //then
+        assertEquals("잔고 포인트 부족으로 포인트 사용에 실패하였습니다.", exception.getMessage());
+        assertEquals(400L, pointReservationService.getPointBalance(userId).held());
+    }
+
+    @Test
+    @DisplayName("포인트 예약 해제 테스트 - 해제하면 되돌려 받고, 예약 중인 금액은 최대 잔고 검증에 포함")
+    void releaseTest(){
+        //given
+        PointReservation reservation = pointReservationService.hold(userId, 300L, null, 10L);
+
+        //when
+        // 잔고 200 + 예약 300 + 충전 600 은 최대 잔고(1000) 초과
+        Exception exception = assertThrows(IllegalStateException.class, () -> pointService.patchPointCharge(userId, 600L, 20L));
+        pointService.patchPointCharge(userId, 500L, 30L);
+        UserPoint released = pointReservationService.release(userId, reservation.reservationId(), 40L);
+
+        //then
+        assertEquals("최대 잔고 초과로 포인트 충전에 실패하였습니다.", exception.getMessage());
+        assertEquals(1000L, released.point());
+        assertEquals(0L, pointReservationService.getPointBalance(userId).held());
+        assertEquals(TransactionType.CHARGE, pointService.getPointHistories(userId).get(3).type());
+    }
+
+    @Test
+    @DisplayName("포인트 예약 만료 테스트 - 유지 시간이 지난 예약만 되돌려 받고, 한 바퀴보다 먼 예약은 유지")
+    void expireTest(){
+        //given
+        PointReservation shortHold = pointReservationService.hold(userId, 100L, 1_000L, 0L);
+        PointReservation longHold = pointReservationService.hold(userId, 100L, 100_000L, 0L);
+
+        //when
+        int beforeExpiry = pointReservationService.expire(999L);
+        int expired = pointReservationService.expire(1_000L);
+        // 타이머 휠 한 바퀴(512칸 x 100ms)를 지나도 유지 시간이 남은 예약은 그대로 둔다.
+        int afterOneRound = pointReservationService.expire(60_000L);
+
+        //then
+        assertEquals(0, beforeExpiry);
+        assertEquals(1, expired);
+        assertEquals(0, afterOneRound);
+        assertEquals(400L, pointReservationService.getPointBalance(userId).point());
+        assertEquals(100L, pointReservationService.getPointBalance(userId).held());
+        assertThrows(IllegalArgumentException.class, () -> pointReservationService.capture(userId, shortHold.reservationId()));
+        assertEquals(longHold, pointReservationService.capture(userId, longHold.reservationId()));
+        assertEquals(0, fixture.pointReservationRegistry.size());
+    }
+
+    @Test
+    @DisplayName("포인트 예약 만료 테스트 - 칸(tick) 중간에 확인해도 같은 칸에서 나중에 만료되는 예약을 다음 확인에서 만료")
+    void expireMidTickTest(){
+        //given
+        // 만료 시각 1050 은 1000 ~ 1099 칸에 들어간다.
+        PointReservation reservation = pointReservationService.hold(userId, 100L, 1_050L, 0L);
+
+        //when
+        int beforeExpiry = pointReservationService.expire(1_020L);
+        int expired = pointReservationService.expire(1_100L);
+
+        //then
+        assertEquals(0, beforeExpiry);
+        assertEquals(1, expired);
+        assertEquals(500L, pointReservationService.getPointBalance(userId).point());
+        assertEquals(0L, pointReservationService.getPointBalance(userId).held());
+        assertThrows(IllegalArgumentException.class, () -> pointReservationService.capture(userId, reservation.reservationId()));
+    }
+
+    @Test
+    @DisplayName("포인트 예약 해제 실패 테스트 - 되돌려 주지 못하면 예약과 잡아 둔 금액을 유지하고 해제/만료에서 다시 시도")
+    void refundFailureRetryTest(){
+        //given
+        AtomicBoolean failing = new AtomicBoolean();
+        PointServiceFixture failingFixture = new PointServiceFixture(new ConcurrentUserPointStore() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (failing.get()) {
+                    throw new IllegalStateException("잔고 저장 실패");
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        }, new ConcurrentPointHistoryStore());
+        LockPointCommandExecutor executor = new LockPointCommandExecutor(failingFixture.userLockRegistry, failingFixture.pointCommandProcessor, failingFixture.pointMetrics);
+        PointService failingPointService = failingFixture.pointService(executor);
+        PointReservationService failingReservationService = failingFixture.pointReservationService(executor);
+        failingPointService.patchPointCharge(userId, 500L, 0L);
+        PointReservation released = failingReservationService.hold(userId, 300L, null, 10L);
+        PointReservation expiring = failingReservationService.hold(userId, 100L, 1_000L, 10L);
+
+        //when
+        failing.set(true);
+        assertThrows(IllegalStateException.class, () -> failingReservationService.release(userId, released.reservationId(), 20L));
+        int failedExpiry = failingReservationService.expire(1_010L);
+        PointBalance failedBalance = failingReservationService.getPointBalance(userId);
+        failing.set(false);
+        UserPoint retriedRelease = failingReservationService.release(userId, released.reservationId(), 30L);
+        int retriedExpiry = failingReservationService.expire(1_200L);
+
+        //then
+        assertEquals(1, failedExpiry);
+        assertEquals(100L, failedBalance.point());
+        assertEquals(400L, failedBalance.held());
+        assertEquals(400L, retriedRelease.point());
+        assertEquals(1, retriedExpiry);
+        assertEquals(500L, failingReservationService.getPointBalance(userId).point());
+        assertEquals(0L, failingReservationService.getPointBalance(userId).held());
+        assertThrows(IllegalArgumentException.class, () -> failingReservationService.capture(userId, expiring.reservationId()));
+        assertEquals(0, failingFixture.pointReservationRegistry.size());
+    }
+}
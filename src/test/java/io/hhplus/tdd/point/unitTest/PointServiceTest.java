@@ -1,6 +1,8 @@
 package io.hhplus.tdd.point.unitTest;
 
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.TableUserPointStore;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.*;
 import org.junit.jupiter.api.Assertions;
@@ -32,7 +34,6 @@ public class PointServiceTest {
     @Mock
     private PointHistoryTable pointHistoryTable;
 
-    @InjectMocks
     private PointService pointService;
 
     @Mock
@@ -46,6 +47,18 @@ public class PointServiceTest {
     // 리팩토링 : 공통으로 쓰이는 기대값은 테스트 실행전에 생성
     @BeforeEach
     void init(){
+        PointMetrics pointMetrics = PointMetrics.noop();
+        TableUserPointStore userPointStore = new TableUserPointStore(userPointTable, pointMetrics);
+        TablePointHistoryStore pointHistoryStore = new TablePointHistoryStore(pointHistoryTable, pointMetrics);
+        UserPointCache userPointCache = new UserPointCache(100);
+        PointHistoryOutbox pointHistoryOutbox = new PointHistoryOutbox(pointHistoryStore);
+        PointSummaryAggregator pointSummaryAggregator = new PointSummaryAggregator(pointHistoryStore);
+        PointReservationRegistry pointReservationRegistry = new PointReservationRegistry(100);
+        PointPolicyEngine pointPolicyEngine = new PointPolicyEngine(PointPolicyRules.DEFAULT);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointStore, pointHistoryOutbox, userPointCache, pointSummaryAggregator, pointReservationRegistry, pointPolicyEngine, pointMetrics);
+        pointService = new PointService(userPointStore, pointHistoryStore, pointValidation,
+                new LockPointCommandExecutor(new UserLockRegistry(0), pointCommandProcessor, pointMetrics),
+                userPointCache, pointHistoryOutbox, pointSummaryAggregator, new PointIdempotencyCache(10_000, 60_000), pointMetrics);
         mockUserPoint = new UserPoint(1L, 700L, System.currentTimeMillis());
         mockPointHistory = List.of(
                 new PointHistory(1L, 1L, 700L, TransactionType.CHARGE, System.currentTimeMillis()),
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.database.MappedPointHistoryStore;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointSummaryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("누적 요약 테스트 - 성공한 충전/사용만 금액, 건수, 처음/마지막 시각에 반영")
+    void summaryTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointService pointService = fixture.pointService();
+        long userId = 1L;
+
+        //when
+        pointService.patchPointCharge(userId, 500L, 10L);
+        pointService.patchPointUse(userId, 200L, 20L);
+        assertThrows(IllegalStateException.class, () -> pointService.patchPointUse(userId, 1000L, 30L));
+        pointService.patchPointCharge(userId, 100L, 40L);
+        PointSummary summary = pointService.getPointSummary(userId);
+
+        //then
+        assertEquals(new PointSummary(userId, 600L, 2L, 200L, 1L, 10L, 40L), summary);
+        assertEquals(3L, summary.count());
+        assertEquals(PointSummary.empty(2L), pointService.getPointSummary(2L));
+    }
+
+    @Test
+    @DisplayName("누적 요약 테스트 - 일괄 처리(group commit)로 반영한 요청도 요약에 반영")
+    void batchSummaryTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointBatchService pointBatchService = fixture.pointBatchService();
+
+        //when
+        pointBatchService.process(List.of(
+                new PointBatchItem(1L, TransactionType.CHARGE, 300L),
+                new PointBatchItem(1L, TransactionType.USE, 500L),
+                new PointBatchItem(1L, TransactionType.USE, 100L),
+                new PointBatchItem(2L, TransactionType.CHARGE, 50L)));
+
+        //then
+        PointSummary summary = fixture.pointSummaryAggregator.get(1L);
+        assertEquals(300L, summary.chargeAmount());
+        assertEquals(100L, summary.useAmount());
+        assertEquals(2L, summary.count());
+        assertEquals(50L, fixture.pointSummaryAggregator.get(2L).chargeAmount());
+    }
+
+    @Test
+    @DisplayName("누적 요약 검증 테스트 - 내역과 같으면 통과, 요약 없이 기록된 내역이 있으면 불일치")
+    void verifyTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointService pointService = fixture.pointService();
+        PointSummaryVerifier verifier = new PointSummaryVerifier(fixture.pointHistoryStore, fixture.pointHistoryOutbox,
+                fixture.pointSummaryAggregator, 0);
+        pointService.patchPointCharge(1L, 500L, 10L);
+        pointService.patchPointCharge(2L, 500L, 10L);
+
+        //when
+        List<Long> beforeTampering = verifier.verifyAll();
+        fixture.pointHistoryStore.insert(2L, 100L, TransactionType.USE, 20L);
+        List<Long> afterTampering = verifier.verifyAll();
+
+        //then
+        assertTrue(beforeTampering.isEmpty());
+        assertEquals(List.of(2L), afterTampering);
+    }
+
+    @Test
+    @DisplayName("누적 요약 복구 테스트 - 재시작 후에도 남는 내역 저장소라면 남은 내역으로 요약 복구")
+    void replayTest(){
+        //given
+        MappedPointHistoryStore before = new MappedPointHistoryStore(directory.toString(), 1 << 16, false);
+        before.insert(1L, 300L, TransactionType.CHARGE, 10L);
+        before.insert(1L, 100L, TransactionType.USE, 20L);
+        before.close();
+
+        //when
+        PointSummaryAggregator aggregator = new PointSummaryAggregator(
+                new MappedPointHistoryStore(directory.toString(), 1 << 16, false));
+
+        //then
+        assertEquals(new PointSummary(1L, 300L, 1L, 100L, 1L, 10L, 20L), aggregator.get(1L));
+    }
+}
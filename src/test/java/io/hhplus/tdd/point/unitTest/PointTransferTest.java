@@ -0,0 +1,125 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointTransferTest {
+
+    @Test
+    @DisplayName("포인트 이체 테스트 - 두 유저의 잔고와 짝이 되는 사용/충전 내역이 함께 반영")
+    void transferTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointService pointService = fixture.pointService();
+        pointService.patchPointCharge(1L, 300L, 10L);
+        fixture.userPointStore.insertOrUpdate(2L, 100L);
+
+        //when
+        PointTransferResult result = pointService.transfer(1L, 2L, 200L, 20L);
+
+        //then
+        assertEquals(100L, result.sender().point());
+        assertEquals(300L, result.receiver().point());
+        assertEquals(300L, pointService.getUserPoint(2L).point());
+        PointHistory sent = pointService.getPointHistories(1L).get(1);
+        List<PointHistory> received = pointService.getPointHistories(2L);
+        assertEquals(TransactionType.USE, sent.type());
+        assertEquals(1, received.size());
+        assertEquals(TransactionType.CHARGE, received.get(0).type());
+        assertEquals(sent.amount(), received.get(0).amount());
+        assertEquals(sent.updateMillis(), received.get(0).updateMillis());
+        assertEquals(200L, pointService.getPointSummary(2L).chargeAmount());
+    }
+
+    @Test
+    @DisplayName("포인트 이체 실패 테스트 - 잔고 부족이나 받는 유저 최대 잔고 초과면 두 유저 모두 변경 없음")
+    void transferRejectedTest(){
+        //given
+        PointServiceFixture fixture = PointServiceFixture.concurrent();
+        PointService pointService = fixture.pointService();
+        fixture.userPointStore.insertOrUpdate(1L, 300L);
+        fixture.userPointStore.insertOrUpdate(2L, 900L);
+
+        //when
+        Exception lacked = assertThrows(IllegalStateException.class, () -> pointService.transfer(1L, 2L, 400L, 10L));
+        Exception exceeded = assertThrows(IllegalStateException.class, () -> pointService.transfer(1L, 2L, 200L, 10L));
+        Exception self = assertThrows(IllegalArgumentException.class, () -> pointService.transfer(1L, 1L, 100L, 10L));
+
+        //then
+        assertEquals("잔고 포인트 부족으로 포인트 사용에 실패하였습니다.", lacked.getMessage());
+        assertEquals("최대 잔고 초과로 포인트 충전에 실패하였습니다.", exceeded.getMessage());
+        assertEquals("보내는 사용자와 받는 사용자가 같습니다.", self.getMessage());
+        assertEquals(300L, pointService.getUserPoint(1L).point());
+        assertEquals(900L, pointService.getUserPoint(2L).point());
+        assertTrue(fixture.pointHistoryStore.selectAllByUserId(2L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("포인트 이체 동시성 테스트 - 사용자별 락으로 임의의 유저 사이 양방향 이체가 교착 없이 끝나고 총합 유지")
+    void concurrentTransferPerUserLockTest() throws InterruptedException {
+        assertConcurrentTransfers(new UserLockRegistry(0));
+    }
+
+    @Test
+    @DisplayName("포인트 이체 동시성 테스트 - 스트라이프 락을 공유하는 유저끼리도 교착 없이 끝나고 총합 유지")
+    void concurrentTransferStripedLockTest() throws InterruptedException {
+        assertConcurrentTransfers(new UserLockRegistry(4));
+    }
+
+    private void assertConcurrentTransfers(UserLockRegistry userLockRegistry) throws InterruptedException {
+        //given
+        PointServiceFixture fixture = new PointServiceFixture(new ConcurrentUserPointStore(), new ConcurrentPointHistoryStore(),
+                userLockRegistry, new UserPointCache(100));
+        PointService pointService = fixture.pointService();
+        int users = 16;
+        for (long userId = 1; userId <= users; userId++) {
+            fixture.userPointStore.insertOrUpdate(userId, 500L);
+        }
+        int threads = 16;
+        int transfers = 2000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (int i = 0; i < threads; i++) {
+            executorService.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int j = 0; j < transfers; j++) {
+                    long senderId = random.nextLong(1, users + 1L);
+                    long receiverId = random.nextLong(1, users);
+                    if (receiverId >= senderId) {
+                        receiverId++;
+                    }
+                    try {
+                        pointService.transfer(senderId, receiverId, random.nextLong(1, 100), j);
+                    } catch (IllegalStateException e) {
+                        // 잔고 부족/최대 잔고 초과로 거절된 이체
+                    }
+                }
+            });
+        }
+        executorService.shutdown();
+
+        //then
+        assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        long total = 0;
+        for (long userId = 1; userId <= users; userId++) {
+            long point = pointService.getUserPoint(userId).point();
+            // 잔고는 처음 잔고 + 내역 합계와 같아야 한다.
+            long net = fixture.pointHistoryStore.sumByUserId(userId, null, null).netAmount();
+            assertEquals(500L + net, point);
+            total += point;
+        }
+        assertEquals(500L * users, total);
+    }
+}
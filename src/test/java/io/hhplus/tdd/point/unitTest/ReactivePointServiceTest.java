@@ -0,0 +1,76 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointServiceFixture;
+import io.hhplus.tdd.point.ReactivePointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReactivePointServiceTest {
+
+    private ReactivePointService reactivePointService;
+
+    @BeforeEach
+    void init(){
+        reactivePointService = new ReactivePointService(PointServiceFixture.concurrent().pointService(), 8, 10_000);
+    }
+
+    @AfterEach
+    void shutdown(){
+        reactivePointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("reactive 동시 충전 테스트 - 같은 유저 요청을 한꺼번에 구독해도 순서대로 반영")
+    void concurrentChargeTest(){
+        //given
+        long userId = 1L;
+        int requests = 500;
+        List<Mono<UserPoint>> charges = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            charges.add(reactivePointService.patchPointCharge(userId, 1L, i));
+        }
+
+        //when
+        List<UserPoint> results = Flux.merge(charges).collectList().block();
+
+        //then
+        assertEquals(requests, results.size());
+        assertEquals((long) requests, reactivePointService.getUserPoint(userId).block().point());
+        List<PointHistory> histories = reactivePointService.getPointHistories(userId, false).collectList().block();
+        assertEquals(requests, histories.size());
+        for (int i = 0; i < requests; i++) {
+            assertEquals(i, histories.get(i).updateMillis());
+        }
+        assertEquals(0, reactivePointService.size());
+    }
+
+    @Test
+    @DisplayName("reactive 포인트 사용 실패 테스트 - 실패한 요청은 오류로 끝나고 다음 요청은 이어서 처리")
+    void useLackedBalanceFailTest(){
+        //given
+        long userId = 1L;
+        reactivePointService.patchPointCharge(userId, 100L, 1L).block();
+
+        //when
+        Mono<UserPoint> failed = reactivePointService.patchPointUse(userId, 300L, 2L);
+        Mono<UserPoint> next = reactivePointService.patchPointUse(userId, 50L, 3L);
+
+        //then
+        Exception exception = assertThrows(IllegalStateException.class, failed::block);
+        assertEquals("잔고 포인트 부족으로 포인트 사용에 실패하였습니다.", exception.getMessage());
+        assertEquals(50L, next.block().point());
+        assertEquals(TransactionType.USE, reactivePointService.getPointHistories(userId, false).collectList().block().get(1).type());
+    }
+}
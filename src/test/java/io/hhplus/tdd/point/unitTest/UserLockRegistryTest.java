@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryStore;
+import io.hhplus.tdd.database.ConcurrentUserPointStore;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointServiceFixture;
+import io.hhplus.tdd.point.UserLockRegistry;
+import io.hhplus.tdd.point.UserPointCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserLockRegistryTest {
+
+    private final long userId = 1L;
+    private final int threads = 32;
+    private final int iterations = 500;
+
+    @Test
+    @DisplayName("사용자별 락 스트레스 테스트 - 같은 유저 동시 충전/사용 후 최종 포인트 일치")
+    void perUserLockStressTest() throws InterruptedException {
+        //given
+        UserLockRegistry userLockRegistry = new UserLockRegistry(0);
+
+        //when & then
+        assertFinalPoint(userLockRegistry);
+        // 모든 스레드가 락을 해제한 뒤 락 객체가 정리되었는지 체크
+        assertEquals(0, userLockRegistry.size());
+    }
+
+    @Test
+    @DisplayName("스트라이프 락 스트레스 테스트 - 같은 유저 동시 충전/사용 후 최종 포인트 일치")
+    void stripedLockStressTest() throws InterruptedException {
+        //given
+        UserLockRegistry userLockRegistry = new UserLockRegistry(10);
+
+        //when & then
+        assertFinalPoint(userLockRegistry);
+        // 스트라이프 수가 2의 거듭제곱으로 고정되는지 체크
+        assertEquals(16, userLockRegistry.size());
+    }
+
+    @Test
+    @DisplayName("사용자별 락 테스트 - 락 대기 중인 스레드가 있으면 같은 락을 공유")
+    void sharedLockWhileWaitingTest() throws InterruptedException {
+        //given
+        UserLockRegistry userLockRegistry = new UserLockRegistry(0);
+        long[] counter = new long[1];
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        // 보호되지 않으면 유실이 생기는 읽기-쓰기 연산을 같은 유저 락으로 반복
+        for (int i = 0; i < threads * iterations; i++) {
+            executorService.submit(() -> {
+                userLockRegistry.lock(userId);
+                try {
+                    long current = counter[0];
+                    Thread.yield();
+                    counter[0] = current + 1;
+                } finally {
+                    userLockRegistry.unlock(userId);
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        //then
+        userLockRegistry.lock(userId);
+        try {
+            assertEquals((long) threads * iterations, counter[0]);
+        } finally {
+            userLockRegistry.unlock(userId);
+        }
+    }
+
+    // 동일 유저에 충전 1 -> 사용 1 을 동시에 반복해도 초기 포인트로 돌아와야 한다.
+    private void assertFinalPoint(UserLockRegistry userLockRegistry) throws InterruptedException {
+        PointService pointService = new PointServiceFixture(new ConcurrentUserPointStore(), new ConcurrentPointHistoryStore(),
+                userLockRegistry, new UserPointCache(100)).pointService();
+        pointService.patchPointCharge(userId, 500L, System.currentTimeMillis());
+        long initPoint = pointService.getUserPoint(userId).point();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < iterations; j++) {
+                    pointService.patchPointCharge(userId, 1L, System.currentTimeMillis());
+                    pointService.patchPointUse(userId, 1L, System.currentTimeMillis());
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        long finalPoint = pointService.getUserPoint(userId).point();
+        assertEquals(initPoint, finalPoint);
+        // 충전/사용 내역이 빠짐없이 기록되었는지 체크
+        assertEquals(1 + 2L * threads * iterations, pointService.getPointHistories(userId).size());
+    }
+}
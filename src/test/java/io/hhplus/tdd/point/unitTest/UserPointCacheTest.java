@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point.unitTest;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserPointCacheTest {
+
+    @Test
+    @DisplayName("캐시 조회 테스트 - 최초 조회만 저장소를 거치고 이후는 캐시에서 응답")
+    void getOrLoadTest(){
+        //given
+        UserPointCache userPointCache = new UserPointCache(100);
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            userPointCache.getOrLoad(1L, id -> {
+                loads.incrementAndGet();
+                return new UserPoint(id, 100L, System.currentTimeMillis());
+            });
+        }
+
+        //then
+        assertEquals(1, loads.get());
+        assertEquals(2L, userPointCache.stats().hits());
+        assertEquals(1L, userPointCache.stats().misses());
+    }
+
+    @Test
+    @DisplayName("캐시 갱신 테스트 - put 된 잔고는 저장소 조회 없이 응답")
+    void putTest(){
+        //given
+        UserPointCache userPointCache = new UserPointCache(100);
+        UserPoint userPoint = new UserPoint(1L, 300L, System.currentTimeMillis());
+
+        //when
+        userPointCache.put(userPoint);
+        UserPoint cached = userPointCache.getOrLoad(1L, id -> fail("저장소를 조회하면 안 됩니다."));
+
+        //then
+        assertEquals(userPoint, cached);
+    }
+
+    @Test
+    @DisplayName("캐시 제거 테스트 - 최대 크기를 넘으면 가장 오래 조회되지 않은 잔고부터 제거")
+    void evictionTest(){
+        //given
+        // 최대 크기 1 : 세그먼트 1개, 용량 1
+        UserPointCache userPointCache = new UserPointCache(1);
+
+        //when
+        userPointCache.put(new UserPoint(1L, 100L, System.currentTimeMillis()));
+        userPointCache.put(new UserPoint(2L, 200L, System.currentTimeMillis()));
+
+        //then
+        assertEquals(1L, userPointCache.stats().evictions());
+        assertEquals(1, userPointCache.stats().size());
+        assertEquals(200L, userPointCache.getOrLoad(2L, id -> null).point());
+    }
+
+    @Test
+    @DisplayName("캐시 조회 테스트 - 저장소 조회 중 잔고가 바뀌면 오래된 값을 채우지 않음")
+    void staleLoadTest(){
+        //given
+        UserPointCache userPointCache = new UserPointCache(100);
+        UserPoint updated = new UserPoint(1L, 500L, System.currentTimeMillis());
+
+        //when
+        // 저장소 조회(100) 도중 충전으로 500이 반영된 상황
+        UserPoint loaded = userPointCache.getOrLoad(1L, id -> {
+            userPointCache.put(updated);
+            return new UserPoint(id, 100L, System.currentTimeMillis());
+        });
+
+        //then
+        assertEquals(100L, loaded.point());
+        assertEquals(updated, userPointCache.getOrLoad(1L, id -> null));
+    }
+}